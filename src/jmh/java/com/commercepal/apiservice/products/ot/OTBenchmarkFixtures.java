@@ -0,0 +1,109 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.pricing.ProductPriceService;
+import com.commercepal.apiservice.products.service.ReviewTransformService;
+import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeRateSnapshot;
+import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeService;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Recorded OT payloads and Spring-free wiring of the transform services for the benchmarks.
+ * <p>
+ * Fixtures live under {@code src/jmh/resources/fixtures} and have the exact shape of the provider
+ * responses: {@code ot-search-frame.json} is one search page ({@code body.Result.Items.Content}),
+ * {@code ot-batch-get-item-full-info.json} one {@code BatchGetItemFullInfo} result with item,
+ * provider reviews and recommended items.
+ */
+final class OTBenchmarkFixtures {
+
+  static final String SEARCH_FRAME = "fixtures/ot-search-frame.json";
+  static final String ITEM_FULL_INFO = "fixtures/ot-batch-get-item-full-info.json";
+
+  private OTBenchmarkFixtures() {
+  }
+
+  /**
+   * Raw response body, as received from the provider.
+   */
+  static byte[] load(String fixture) {
+    try (InputStream in = OTBenchmarkFixtures.class.getClassLoader()
+        .getResourceAsStream(fixture)) {
+      if (in == null) {
+        throw new IllegalStateException("Benchmark fixture not found: " + fixture);
+      }
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Parses a response body the same way {@code StructuredHttpResponse#body()} does.
+   */
+  static JSONObject parse(byte[] body) {
+    return new JSONObject(new JSONTokener(new ByteArrayInputStream(body)));
+  }
+
+  /**
+   * {@code body.Result} of a provider response.
+   */
+  static JSONObject result(JSONObject response) {
+    return response.getJSONObject("body").getJSONObject("Result");
+  }
+
+  static OTProductTransformServiceOT searchTransformService() {
+    return new OTProductTransformServiceOT(new ProductPriceService(), new FixedRateExchange());
+  }
+
+  static OTProductDetailTransformService detailTransformService() {
+    ForeignExchangeService exchange = new FixedRateExchange();
+    ProductPriceService priceService = new ProductPriceService();
+    return new OTProductDetailTransformService(priceService, exchange,
+        new ReviewTransformService(),
+        new OTProductTransformServiceOT(priceService, exchange),
+        // Descriptions parse inline once, then come from the content-hash cache as in production
+        new OTProductDescriptionService(new ConcurrentMapCacheManager(), Runnable::run));
+  }
+
+  /**
+   * Exchange service with constant rates, so the benchmarks measure the transform rather than the
+   * database lookup.
+   */
+  private static final class FixedRateExchange extends ForeignExchangeService {
+
+    private static final ForeignExchangeRateSnapshot RATES;
+
+    static {
+      Map<SupportedCurrency, BigDecimal> rates = new EnumMap<>(SupportedCurrency.class);
+      rates.put(SupportedCurrency.ETB, new BigDecimal("57.500000"));
+      rates.put(SupportedCurrency.AED, new BigDecimal("3.672500"));
+      rates.put(SupportedCurrency.KES, new BigDecimal("129.000000"));
+      rates.put(SupportedCurrency.SOS, new BigDecimal("571.000000"));
+      RATES = ForeignExchangeRateSnapshot.of(1L, rates);
+    }
+
+    FixedRateExchange() {
+      super(null, null, null, null, null);
+    }
+
+    @Override
+    public BigDecimal getUsdToTargetRate(SupportedCurrency targetCurrency) {
+      return RATES.usdToTarget(targetCurrency);
+    }
+
+    @Override
+    public ForeignExchangeRateSnapshot getRateSnapshot() {
+      return RATES;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.dto.ProductDetailResponse;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Detail hot path: one {@code BatchGetItemFullInfo} result (variants, promotions, attributes,
+ * reviews and recommended items) through {@link OTProductDetailTransformService#transform}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDetailTransformBenchmark {
+
+  @Param({"ETHIOPIA", "INTERNATIONAL"})
+  private SupportedCountry country;
+
+  private SupportedCurrency currency;
+  private OTProductDetailTransformService transformService;
+  private byte[] rawResponse;
+  private JSONObject result;
+  private UnpricedProductDetail cached;
+
+  @Setup
+  public void setUp() {
+    currency = country.getDefaultCurrency();
+    transformService = OTBenchmarkFixtures.detailTransformService();
+    rawResponse = OTBenchmarkFixtures.load(OTBenchmarkFixtures.ITEM_FULL_INFO);
+    result = OTBenchmarkFixtures.result(OTBenchmarkFixtures.parse(rawResponse));
+    cached = transformService.transformUnpriced(result.optJSONObject("Item"),
+        result.optJSONObject("ProviderReviews"), result.optJSONObject("RecommendedItems"));
+  }
+
+  /**
+   * Parse of the raw body followed by the transform, as the detail service handles it.
+   */
+  @Benchmark
+  public ProductDetailResponse parseAndTransform() {
+    return transform(OTBenchmarkFixtures.result(OTBenchmarkFixtures.parse(rawResponse)));
+  }
+
+  /**
+   * Transform of an already parsed result.
+   */
+  @Benchmark
+  public ProductDetailResponse transform() {
+    return transform(result);
+  }
+
+  /**
+   * Pricing a cached, currency-neutral detail on read, as the detail service does on a cache hit.
+   */
+  @Benchmark
+  public ProductDetailResponse priceCached() {
+    return transformService.price(cached, country, currency);
+  }
+
+  private ProductDetailResponse transform(JSONObject resultData) {
+    return transformService.transform(resultData.optJSONObject("Item"),
+        resultData.optJSONObject("ProviderReviews"), resultData.optJSONObject("RecommendedItems"),
+        country, currency);
+  }
+}
@@ -0,0 +1,108 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.products.pricing.PricingKernel;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Search hot path: every item of a provider search page goes through
+ * {@link OTProductTransformServiceOT#transform} and
+ * {@link OTBaseProductTransformService#calculatePricing}.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec}; the {@code gc} profiler adds the
+ * allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchTransformBenchmark {
+
+  @Param({"ETHIOPIA", "INTERNATIONAL"})
+  private SupportedCountry country;
+
+  private SupportedCurrency currency;
+  private OTProductTransformServiceOT transformService;
+  private byte[] rawFrame;
+  private JSONArray items;
+  private JSONObject firstItem;
+
+  @Setup
+  public void setUp() {
+    currency = country.getDefaultCurrency();
+    transformService = OTBenchmarkFixtures.searchTransformService();
+    rawFrame = OTBenchmarkFixtures.load(OTBenchmarkFixtures.SEARCH_FRAME);
+    items = searchItems(OTBenchmarkFixtures.parse(rawFrame));
+    firstItem = items.getJSONObject(0);
+  }
+
+  /**
+   * Whole page as the list service handles it: parse the raw body, then transform every item.
+   */
+  @Benchmark
+  public List<ProductCardResponse> parseAndTransformFrame() {
+    return transformAll(searchItems(OTBenchmarkFixtures.parse(rawFrame)));
+  }
+
+  /**
+   * Transform of an already parsed page.
+   */
+  @Benchmark
+  public List<ProductCardResponse> transformFrame() {
+    return transformAll(items);
+  }
+
+  /**
+   * Pricing alone for every item of the page, with one kernel per page as the list service does.
+   */
+  @Benchmark
+  public void calculatePricing(Blackhole blackhole) {
+    PricingKernel kernel = transformService.pricingKernel(country, currency);
+    for (int i = 0; i < items.length(); i++) {
+      JSONObject item = items.getJSONObject(i);
+      blackhole.consume(transformService.calculatePricing(item.optJSONObject("Price"),
+          item.optJSONObject("PromotionPrice"), kernel));
+    }
+  }
+
+  /**
+   * One product card.
+   */
+  @Benchmark
+  public ProductCardResponse transformItem() {
+    return transformService.transform(firstItem, country, currency);
+  }
+
+  private List<ProductCardResponse> transformAll(JSONArray content) {
+    PricingKernel kernel = transformService.pricingKernel(country, currency);
+    List<ProductCardResponse> cards = new ArrayList<>(content.length());
+    for (int i = 0; i < content.length(); i++) {
+      cards.add(transformService.transform(content.getJSONObject(i), kernel));
+    }
+    return cards;
+  }
+
+  private static JSONArray searchItems(JSONObject response) {
+    return OTBenchmarkFixtures.result(response).getJSONObject("Items").getJSONArray("Content");
+  }
+}
@@ -1,9 +1,12 @@
 package com.commercepal.apiservice.cart;
 
 import com.commercepal.apiservice.cart.dto.AddToCartRequest;
+import com.commercepal.apiservice.cart.dto.CartBatchRequest;
+import com.commercepal.apiservice.cart.dto.CartDeltaResponse;
 import com.commercepal.apiservice.cart.dto.CartResponse;
 import com.commercepal.apiservice.cart.dto.UpdateCartItemRequest;
 import com.commercepal.apiservice.cart.service.CartService;
+import com.commercepal.apiservice.cart.service.CartVersionCache;
 import com.commercepal.apiservice.users.customer.Customer;
 import com.commercepal.apiservice.utils.CurrentUserService;
 import com.commercepal.apiservice.utils.response.PagedResponse;
@@ -16,8 +19,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,7 +32,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -91,18 +100,73 @@ public class CartController {
       - Items with price drops
       - Unavailable items
       - Total savings
+      
+      **Conditional reads:**
+      The cart version is returned as a strong `ETag`. Send it back in `If-None-Match` to get
+      `304 Not Modified` without a body while the cart is unchanged.
       """, security = @SecurityRequirement(name = "Bearer Authentication"))
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Cart retrieved successfully", content = @Content(schema = @Schema(implementation = CartResponse.class))),
+      @ApiResponse(responseCode = "304", description = "Cart unchanged since the ETag in If-None-Match"),
       @ApiResponse(responseCode = "401", description = "Authentication required")
   })
-  public ResponseEntity<ResponseWrapper<CartResponse>> getCart() {
+  public ResponseEntity<ResponseWrapper<CartResponse>> getCart(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     log.debug("Getting cart");
 
+    Optional<String> known = knownETag(ifNoneMatch);
+    if (known.isPresent()) {
+      return notModified(known.get());
+    }
+
     Customer customer = currentUserService.getCurrentCustomer();
     CartResponse cart = cartService.getCart(customer);
 
-    return ResponseWrapper.success("Cart retrieved successfully", cart);
+    String eTag = CartVersionCache.eTag(cart.cartId(), cart.version());
+    if (matches(ifNoneMatch, eTag)) {
+      return notModified(eTag);
+    }
+    return ResponseEntity.ok().eTag(eTag)
+        .body(new ResponseWrapper<>("Cart retrieved successfully", cart));
+  }
+
+  @GetMapping(params = "since")
+  @Operation(summary = "Get Cart Changes", description = """
+      Retrieve the changes of the cart since a version the client holds (the `version` of an
+      earlier response).
+      
+      **Response includes:**
+      - Current version and totals
+      - Items added or changed since that version
+      - IDs of all items now in the cart; cached items not listed were removed
+      
+      If `cartId` differs from the client's cached cart (e.g. after checkout), the full cart must
+      be fetched again. Supports `If-None-Match` like Get Cart.
+      """, security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Cart changes retrieved successfully", content = @Content(schema = @Schema(implementation = CartDeltaResponse.class))),
+      @ApiResponse(responseCode = "304", description = "Cart unchanged since the ETag in If-None-Match"),
+      @ApiResponse(responseCode = "401", description = "Authentication required")
+  })
+  public ResponseEntity<ResponseWrapper<CartDeltaResponse>> getCartChanges(
+      @RequestParam long since,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    log.debug("Getting cart changes since version {}", since);
+
+    Optional<String> known = knownETag(ifNoneMatch);
+    if (known.isPresent()) {
+      return notModified(known.get());
+    }
+
+    Customer customer = currentUserService.getCurrentCustomer();
+    CartDeltaResponse changes = cartService.getCartChanges(customer, since);
+
+    String eTag = CartVersionCache.eTag(changes.cartId(), changes.version());
+    if (matches(ifNoneMatch, eTag)) {
+      return notModified(eTag);
+    }
+    return ResponseEntity.ok().eTag(eTag)
+        .body(new ResponseWrapper<>("Cart changes retrieved successfully", changes));
   }
 
   @PutMapping("/items/{itemId}")
@@ -133,6 +197,34 @@ public class CartController {
     return ResponseWrapper.success("Cart item updated successfully", cart);
   }
 
+  @PostMapping("/items/batch")
+  @Operation(summary = "Apply Cart Item Changes", description = """
+      Apply several item changes in one request, e.g. from an "edit cart" screen.
+      
+      **Operations (applied in order):**
+      - UPDATE: change quantity and/or variant, same rules as Update Cart Item
+      - REMOVE: remove the item
+      
+      All operations are applied together or, if one fails, none are.
+      
+      **Response:**
+      Returns complete cart with all items and totals.
+      """, security = @SecurityRequirement(name = "Bearer Authentication"))
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Cart items updated successfully", content = @Content(schema = @Schema(implementation = CartResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid request"),
+      @ApiResponse(responseCode = "404", description = "Cart item not found")
+  })
+  public ResponseEntity<ResponseWrapper<CartResponse>> applyBatch(
+      @Valid @RequestBody CartBatchRequest request) {
+    log.info("Applying {} cart item operations", request.operations().size());
+
+    Customer customer = currentUserService.getCurrentCustomer();
+    CartResponse cart = cartService.applyBatch(customer, request);
+
+    return ResponseWrapper.success("Cart items updated successfully", cart);
+  }
+
   @DeleteMapping("/items/{itemId}")
   @Operation(summary = "Remove Cart Item", description = "Remove an item from the cart", security = @SecurityRequirement(name = "Bearer Authentication"))
   @ApiResponses(value = {
@@ -184,4 +276,29 @@ public class CartController {
 
     return ResponseWrapper.success("Cart validated successfully", cart);
   }
+
+  /**
+   * The latest known cart ETag if the client already has it, checked without loading the cart or
+   * the customer.
+   */
+  private Optional<String> knownETag(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return Optional.empty();
+    }
+    return cartService.findCartETag(currentUserService.getCurrentCustomerId())
+        .filter(eTag -> matches(ifNoneMatch, eTag));
+  }
+
+  private static boolean matches(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    ETag current = ETag.create(eTag);
+    return ETag.parse(ifNoneMatch).stream()
+        .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+  }
+
+  private static <T> ResponseEntity<ResponseWrapper<T>> notModified(String eTag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+  }
 }
@@ -87,6 +87,9 @@ CREATE TABLE dbo.carts
     converted_at                    DATETIME2(7)        NULL,
     order_number                    NVARCHAR(50)        NULL,
 
+    -- CONTENT VERSION (cart ETag, delta responses)
+    content_version                 BIGINT              NOT NULL        DEFAULT 0,
+
     -- CONSTRAINTS
     CONSTRAINT pk_carts PRIMARY KEY CLUSTERED (id),
     CONSTRAINT fk_cart_customer FOREIGN KEY (customer_id) REFERENCES dbo.customers(id),
@@ -223,6 +226,9 @@ CREATE TABLE dbo.cart_items
     price_dropped                   BIT                 NOT NULL        DEFAULT 0,
     price_drop_notified             BIT                 NOT NULL        DEFAULT 0,
 
+    -- CONTENT VERSION (carts.content_version of the item's last change)
+    changed_in_version              BIGINT              NOT NULL        DEFAULT 0,
+
     -- CONSTRAINTS
     CONSTRAINT pk_cart_items PRIMARY KEY CLUSTERED (id),
     CONSTRAINT fk_cart_item_cart FOREIGN KEY (cart_id) REFERENCES dbo.carts(id),
@@ -0,0 +1,16 @@
+package com.commercepal.apiservice.cart.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request to change several cart items at once.
+ */
+@Schema(name = "CartBatchRequest", description = "Item changes applied in order, all or none")
+public record CartBatchRequest(
+    @Schema(description = "Operations, applied in order") @NotEmpty @Size(max = 100) @Valid List<CartItemOperation> operations) {
+
+}
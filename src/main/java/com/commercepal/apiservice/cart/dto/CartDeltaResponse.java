@@ -0,0 +1,39 @@
+package com.commercepal.apiservice.cart.dto;
+
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * Changes of a shopping cart since a content version the client holds.
+ */
+@Builder
+@Schema(name = "CartDeltaResponse", description = "Cart totals and the items changed since a version")
+public record CartDeltaResponse(
+
+    @Schema(description = "Cart ID; if it differs from the client's, the delta is against another cart and the full cart must be fetched") Long cartId,
+
+    @Schema(description = "Current content version, also sent as the ETag") Long version,
+
+    @Schema(description = "Version the changes are relative to") Long sinceVersion,
+
+    @Schema(description = "Total number of items") Integer totalItems,
+
+    @Schema(description = "Subtotal amount") BigDecimal subtotal,
+
+    @Schema(description = "Estimated total") BigDecimal estimatedTotal,
+
+    @Schema(description = "Currency") SupportedCurrency currency,
+
+    @Schema(description = "Last activity timestamp") LocalDateTime lastActivityAt,
+
+    @Schema(description = "Total savings from price drops") BigDecimal totalSavings,
+
+    @Schema(description = "Items added or changed since the version") List<CartItemResponse> changedItems,
+
+    @Schema(description = "IDs of all items now in the cart; items not listed were removed") List<Long> itemIds) {
+
+}
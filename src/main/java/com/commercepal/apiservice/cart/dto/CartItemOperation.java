@@ -0,0 +1,25 @@
+package com.commercepal.apiservice.cart.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One change of an existing cart item within a batch request.
+ */
+@Schema(name = "CartItemOperation", description = "Change of one cart item: update (quantity and/or variant) or remove")
+public record CartItemOperation(
+
+    @Schema(description = "Operation type", example = "UPDATE") @NotNull Type type,
+
+    @Schema(description = "Cart item ID", example = "1024") @NotNull Long itemId,
+
+    @Schema(description = "New quantity for UPDATE (null to keep current)", example = "2", minimum = "1", nullable = true) @Min(value = 1, message = "Quantity must be at least 1") Integer quantity,
+
+    @Schema(description = "Replace with new variant/config ID for UPDATE (null to keep current)", example = "100887021411", nullable = true) String replaceConfigId) {
+
+  public enum Type {
+    UPDATE,
+    REMOVE
+  }
+}
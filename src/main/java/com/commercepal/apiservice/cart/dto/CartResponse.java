@@ -16,6 +16,8 @@ public record CartResponse(
 
     @Schema(description = "Cart ID") Long cartId,
 
+    @Schema(description = "Content version, also sent as the ETag") Long version,
+
     @Schema(description = "Total number of items") Integer totalItems,
 
     @Schema(description = "Subtotal amount") BigDecimal subtotal,
@@ -0,0 +1,269 @@
+package com.commercepal.apiservice.cart.hot;
+
+import com.commercepal.apiservice.cart.model.Cart;
+import com.commercepal.apiservice.cart.model.CartItem;
+import com.commercepal.apiservice.cart.model.CartStatus;
+import com.commercepal.apiservice.cart.model.StockStatus;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * In-memory copy of a customer's active cart, held in the hot cart store.
+ * <p>
+ * Items added here get negative temporary ids until the cart is written back; the ids the
+ * database then assigns are remembered, so a client still holding a temporary id keeps working.
+ * {@link #version} increases with every change of the stored copy; {@link #contentVersion}
+ * continues the cart's persistent content version and increases with every change a client can
+ * see.
+ */
+@Data
+@NoArgsConstructor
+public class HotCart {
+
+  private Long cartId;
+  private Long customerId;
+  private SupportedCurrency currency;
+  private String country;
+  private Integer totalItems = 0;
+  private BigDecimal subtotal = BigDecimal.ZERO;
+  private BigDecimal estimatedTotal = BigDecimal.ZERO;
+  private LocalDateTime lastActivityAt;
+  private List<HotCartItem> items = new ArrayList<>();
+
+  /** Database ids of items written back, by the temporary id they were created with */
+  private Map<Long, Long> persistedIds = new HashMap<>();
+
+  private long nextTempId = -1;
+  private long version;
+  private long contentVersion;
+
+  /**
+   * Copy of an item, with the persistent fields of {@link CartItem}.
+   */
+  @Data
+  @NoArgsConstructor
+  public static class HotCartItem {
+
+    private Long id;
+    private String productId;
+    private String productName;
+    private String productImageUrl;
+    private String configId;
+    private Integer quantity;
+    private SupportedCurrency currency;
+    private String country;
+    private BigDecimal unitPrice;
+    private BigDecimal priceWhenAdded;
+    private BigDecimal currentPrice;
+    private BigDecimal basePriceInUSD;
+    private BigDecimal exchangeRate;
+    private String provider;
+    private StockStatus stockStatus;
+    private Boolean isAvailable;
+    private LocalDateTime addedAt;
+    private LocalDateTime lastPriceCheckAt;
+    private Boolean priceDropped;
+    private Boolean priceDropNotified;
+    private Long changedInVersion;
+
+    public static HotCartItem from(CartItem item) {
+      HotCartItem copy = new HotCartItem();
+      copy.setId(item.getId());
+      copy.setProductId(item.getProductId());
+      copy.setProductName(item.getProductName());
+      copy.setProductImageUrl(item.getProductImageUrl());
+      copy.setConfigId(item.getConfigId());
+      copy.setQuantity(item.getQuantity());
+      copy.setCurrency(item.getCurrency());
+      copy.setCountry(item.getCountry());
+      copy.setUnitPrice(item.getUnitPrice());
+      copy.setPriceWhenAdded(item.getPriceWhenAdded());
+      copy.setCurrentPrice(item.getCurrentPrice());
+      copy.setBasePriceInUSD(item.getBasePriceInUSD());
+      copy.setExchangeRate(item.getExchangeRate());
+      copy.setProvider(item.getProvider());
+      copy.setStockStatus(item.getStockStatus());
+      copy.setIsAvailable(item.getIsAvailable());
+      copy.setAddedAt(item.getAddedAt());
+      copy.setLastPriceCheckAt(item.getLastPriceCheckAt());
+      copy.setPriceDropped(item.getPriceDropped());
+      copy.setPriceDropNotified(item.getPriceDropNotified());
+      copy.setChangedInVersion(item.getChangedInVersion());
+      return copy;
+    }
+
+    /**
+     * Copies the fields onto a persistent item (not the id or the cart).
+     */
+    void applyTo(CartItem item) {
+      item.setProductId(productId);
+      item.setProductName(productName);
+      item.setProductImageUrl(productImageUrl);
+      item.setConfigId(configId);
+      item.setQuantity(quantity);
+      item.setCurrency(currency);
+      item.setCountry(country);
+      item.setUnitPrice(unitPrice);
+      item.setPriceWhenAdded(priceWhenAdded);
+      item.setCurrentPrice(currentPrice);
+      item.setBasePriceInUSD(basePriceInUSD);
+      item.setExchangeRate(exchangeRate);
+      item.setProvider(provider);
+      item.setStockStatus(stockStatus);
+      item.setIsAvailable(isAvailable);
+      item.setAddedAt(addedAt);
+      item.setLastPriceCheckAt(lastPriceCheckAt);
+      item.setPriceDropped(priceDropped);
+      item.setPriceDropNotified(priceDropNotified);
+      item.setChangedInVersion(changedInVersion != null ? changedInVersion : 0L);
+    }
+
+    CartItem toEntity() {
+      CartItem item = new CartItem();
+      applyTo(item);
+      return item;
+    }
+
+    BigDecimal subtotal() {
+      if (unitPrice == null || quantity == null) {
+        return BigDecimal.ZERO;
+      }
+      return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+  }
+
+  /**
+   * Copy of a loaded cart and its items.
+   */
+  public static HotCart from(Cart cart) {
+    HotCart hot = new HotCart();
+    hot.setCartId(cart.getId());
+    hot.setCustomerId(cart.getCustomer() != null ? cart.getCustomer().getId() : null);
+    hot.setCurrency(cart.getCurrency());
+    hot.setCountry(cart.getCountry());
+    hot.setTotalItems(cart.getTotalItems());
+    hot.setSubtotal(cart.getSubtotal());
+    hot.setEstimatedTotal(cart.getEstimatedTotal());
+    hot.setLastActivityAt(cart.getLastActivityAt());
+    hot.setContentVersion(cart.getContentVersion() != null ? cart.getContentVersion() : 0L);
+    for (CartItem item : cart.getItems()) {
+      hot.getItems().add(HotCartItem.from(item));
+    }
+    return hot;
+  }
+
+  /**
+   * Item with the given product and configuration.
+   */
+  public Optional<HotCartItem> findItem(String productId, String configId) {
+    return items.stream()
+        .filter(item -> Objects.equals(item.getProductId(), productId)
+            && Objects.equals(item.getConfigId(), configId))
+        .findFirst();
+  }
+
+  /**
+   * Item by id, accepting the temporary id of an item that has been written back since.
+   */
+  public Optional<HotCartItem> findItem(Long itemId) {
+    if (itemId == null) {
+      return Optional.empty();
+    }
+    Long id = persistedIds.getOrDefault(itemId, itemId);
+    return items.stream().filter(item -> id.equals(item.getId())).findFirst();
+  }
+
+  /**
+   * Adds a new item under a temporary id.
+   */
+  public void addItem(HotCartItem item) {
+    item.setId(nextTempId--);
+    markChanged(item);
+    if (item.getAddedAt() == null) {
+      item.setAddedAt(LocalDateTime.now());
+    }
+    items.add(item);
+    touch();
+  }
+
+  public void removeItem(HotCartItem item) {
+    items.remove(item);
+    touch();
+  }
+
+  public void clearItems() {
+    items.clear();
+    touch();
+  }
+
+  /**
+   * Stamps an item as changed in the current content version.
+   */
+  public void markChanged(HotCartItem item) {
+    item.setChangedInVersion(contentVersion);
+  }
+
+  public void touch() {
+    lastActivityAt = LocalDateTime.now();
+  }
+
+  /**
+   * Recomputes the totals from the items, like the database path does.
+   */
+  public void recalculateTotals() {
+    subtotal = items.stream().map(HotCartItem::subtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    totalItems = items.stream().mapToInt(item -> item.getQuantity() != null
+        ? item.getQuantity() : 0).sum();
+    estimatedTotal = subtotal;
+  }
+
+  /**
+   * Replaces temporary item ids by the database ids assigned on write-back. Clients see the new
+   * ids, so this is a content change.
+   */
+  void applyPersistedIds(Map<Long, Long> assignedIds) {
+    persistedIds.putAll(assignedIds);
+    contentVersion++;
+    for (HotCartItem item : items) {
+      Long assigned = assignedIds.get(item.getId());
+      if (assigned != null) {
+        item.setId(assigned);
+        markChanged(item);
+      }
+    }
+  }
+
+  /**
+   * Detached entity view, for mapping to responses. Never persisted.
+   */
+  public Cart toEntity() {
+    Cart cart = Cart.builder()
+        .status(CartStatus.ACTIVE)
+        .currency(currency)
+        .country(country)
+        .totalItems(totalItems)
+        .subtotal(subtotal)
+        .estimatedTotal(estimatedTotal)
+        .abandonedNotificationSent(false)
+        .contentVersion(contentVersion)
+        .build();
+    cart.setId(cartId);
+    for (HotCartItem hotItem : items) {
+      CartItem item = hotItem.toEntity();
+      item.setId(hotItem.getId());
+      item.setCart(cart);
+      cart.getItems().add(item);
+    }
+    cart.setLastActivityAt(lastActivityAt);
+    return cart;
+  }
+}
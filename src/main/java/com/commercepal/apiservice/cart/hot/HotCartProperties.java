@@ -0,0 +1,37 @@
+package com.commercepal.apiservice.cart.hot;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds cart.hot-store.* from application.yml (env placeholders resolved by Spring). Tuning knobs
+ * for {@link HotCartStore}; see the "cart" section there.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cart.hot-store")
+public class HotCartProperties {
+
+  /** cart.hot-store.enabled (serve cart mutations from Redis and write them back later) */
+  private boolean enabled = false;
+
+  /** cart.hot-store.write-delay (how long a changed cart waits before being written back) */
+  private Duration writeDelay = Duration.ofSeconds(5);
+
+  /** cart.hot-store.flush-batch-size (carts written back per transaction) */
+  private int flushBatchSize = 50;
+
+  /** cart.hot-store.idle-ttl (hot copies expire this long after their last change) */
+  private Duration idleTtl = Duration.ofHours(2);
+
+  /** cart.hot-store.max-update-attempts (retries of a mutation that raced another one) */
+  private int maxUpdateAttempts = 10;
+
+  /**
+   * cart.hot-store.max-write-back-failures (failed write-backs after which a cart is reported as
+   * stuck; it is still retried, at most write-delay x this apart, and kept from expiring)
+   */
+  private int maxWriteBackFailures = 10;
+}
@@ -0,0 +1,415 @@
+package com.commercepal.apiservice.cart.hot;
+
+import com.commercepal.apiservice.cart.hot.HotCartWriter.WriteResult;
+import com.commercepal.apiservice.shared.exceptions.business.CartException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional write-behind store for active carts ({@code cart.hot-store.enabled}).
+ * <p>
+ * A customer's cart is copied to Redis on first use. Mutations and totals are then applied to that
+ * copy without touching the database: each one reads the copy, changes it, and stores it only if
+ * its version is unchanged (a compare-and-set script), retrying if it raced another request from
+ * any node. A changed cart is queued in a sorted set by the time it was first changed; once it has
+ * waited {@code write-delay}, one node claims it and {@link HotCartWriter} writes it back, in
+ * batches of {@code flush-batch-size} carts per transaction. A claimed cart is marked as being
+ * written so that {@link #flushAndEvict} can wait for it.
+ * <p>
+ * Everything that reads or writes carts in the database (validation, checkout, the refresh job)
+ * calls {@link #flushAndEvict} first, or skips carts that are hot. Pending changes are lost if
+ * Redis loses the copy before it is written back.
+ * <p>
+ * A cart whose write-back fails is re-queued with a growing delay and its copy kept from
+ * expiring; after {@code max-write-back-failures} it is logged and counted as stuck
+ * ({@code cart.hot.writeback{result=stuck}}), which should alert.
+ */
+@Slf4j
+@Component
+public class HotCartStore {
+
+  private static final String KEY_PREFIX = "cart:hot:";
+  private static final String WRITING_PREFIX = "cart:hot:writing:";
+  private static final String DIRTY_KEY = "cart:hot:dirty";
+  private static final long WRITING_TTL_MILLIS = 30_000;
+  private static final long FLUSH_WAIT_MILLIS = 20;
+  private static final int FLUSH_WAIT_ATTEMPTS = 100;
+
+  // Stores the cart if its version is still ARGV[1] ('0': absent). With ARGV[5] = '1' it also
+  // queues the cart for write-back, keeping the time it was first queued
+  private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>("""
+      local current = redis.call('HGET', KEYS[1], 'version')
+      if (current or '0') ~= ARGV[1] then
+        return 0
+      end
+      redis.call('HSET', KEYS[1], 'version', ARGV[2], 'cart', ARGV[3])
+      redis.call('PEXPIRE', KEYS[1], ARGV[4])
+      if ARGV[5] == '1' then
+        redis.call('ZADD', KEYS[2], 'NX', ARGV[6], ARGV[7])
+      end
+      return 1
+      """, Long.class);
+
+  private static final RedisScript<Long> COMPARE_AND_DELETE = new DefaultRedisScript<>("""
+      if redis.call('HGET', KEYS[1], 'version') == ARGV[1] then
+        return redis.call('DEL', KEYS[1])
+      end
+      return 0
+      """, Long.class);
+
+  // Takes a queued cart for write-back and marks it as being written
+  private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>("""
+      if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then
+        redis.call('SET', KEYS[2], '1', 'PX', ARGV[2])
+        return 1
+      end
+      return 0
+      """, Long.class);
+
+  // Re-queues a cart whose write-back failed, keeping its copy from expiring. Scored ARGV[4] x
+  // (failures - 1) after now (ARGV[2]), failures capped at ARGV[5]; flushDue adds write-delay
+  private static final RedisScript<Long> REQUEUE = new DefaultRedisScript<>("""
+      if redis.call('EXISTS', KEYS[1]) == 0 then
+        return 0
+      end
+      local failures = redis.call('HINCRBY', KEYS[1], 'failures', 1)
+      redis.call('PEXPIRE', KEYS[1], ARGV[1])
+      local backoff = tonumber(ARGV[4]) * (math.min(failures, tonumber(ARGV[5])) - 1)
+      redis.call('ZADD', KEYS[2], 'NX', tonumber(ARGV[2]) + backoff, ARGV[3])
+      return failures
+      """, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final HotCartWriter writer;
+  private final HotCartProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Counter writtenBack;
+  private final Counter writeBackFailures;
+  private final Counter writeBackStuck;
+  private final Counter updateConflicts;
+
+  public HotCartStore(StringRedisTemplate redisTemplate, HotCartWriter writer,
+      HotCartProperties properties, MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.writer = writer;
+    this.properties = properties;
+    this.objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    this.writtenBack = writeBackCounter(meterRegistry, "written");
+    this.writeBackFailures = writeBackCounter(meterRegistry, "failed");
+    this.writeBackStuck = writeBackCounter(meterRegistry, "stuck");
+    this.updateConflicts = Counter.builder("cart.hot.update.conflicts")
+        .description("Hot cart mutations retried after racing another one")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * The customer's hot cart, copied from the database with {@code loader} if not hot yet.
+   */
+  public HotCart get(Long customerId, Supplier<HotCart> loader) {
+    for (int attempt = 0; attempt < properties.getMaxUpdateAttempts(); attempt++) {
+      HotCart cart = read(customerId);
+      if (cart != null) {
+        return cart;
+      }
+      HotCart loaded = loader.get();
+      loaded.setVersion(1);
+      if (compareAndSet(customerId, 0, loaded, false)) {
+        return loaded;
+      }
+      // Loaded by a concurrent request meanwhile
+    }
+    throw new CartException("Cart is busy, please retry");
+  }
+
+  /**
+   * The customer's hot cart, if it is hot.
+   */
+  public Optional<HotCart> peek(Long customerId) {
+    return Optional.ofNullable(read(customerId));
+  }
+
+  /**
+   * Applies a mutation to the customer's hot cart under a new content version, recomputes its
+   * totals and queues it for write-back. If it races another mutation it is applied again to a
+   * fresh copy, so it must not have side effects besides changing the cart; it should stamp the
+   * items it changes with {@link HotCart#markChanged}.
+   *
+   * @return The changed cart
+   */
+  public HotCart update(Long customerId, Supplier<HotCart> loader, Consumer<HotCart> mutation) {
+    for (int attempt = 0; attempt < properties.getMaxUpdateAttempts(); attempt++) {
+      HotCart cart = get(customerId, loader);
+      long version = cart.getVersion();
+      cart.setContentVersion(cart.getContentVersion() + 1);
+      mutation.accept(cart);
+      cart.recalculateTotals();
+      cart.setVersion(version + 1);
+      if (compareAndSet(customerId, version, cart, true)) {
+        return cart;
+      }
+      updateConflicts.increment();
+    }
+    throw new CartException("Cart is busy, please retry");
+  }
+
+  /**
+   * Whether the customer's cart is currently held in the store.
+   */
+  public boolean isHot(Long customerId) {
+    return isEnabled() && customerId != null
+        && Boolean.TRUE.equals(redisTemplate.hasKey(key(customerId)));
+  }
+
+  /**
+   * Writes the customer's pending changes back now and drops the hot copy, making the database the
+   * source of truth again. Waits for a write-back already running on another node.
+   *
+   * @throws CartException If the changes could not be written back; the database copy is behind
+   */
+  public void flushAndEvict(Long customerId) {
+    if (!isEnabled() || customerId == null) {
+      return;
+    }
+    for (int attempt = 0; attempt < FLUSH_WAIT_ATTEMPTS; attempt++) {
+      HotCart cart = read(customerId);
+      if (cart == null) {
+        return;
+      }
+      if (Boolean.TRUE.equals(redisTemplate.hasKey(WRITING_PREFIX + customerId))) {
+        sleepQuietly();
+        continue;
+      }
+      if (claim(customerId)) {
+        if (!writeBack(List.of(customerId))) {
+          throw new CartException("Cart is busy, please retry");
+        }
+        continue;
+      }
+      if (compareAndDelete(customerId, cart.getVersion())) {
+        return;
+      }
+    }
+    log.warn("Could not evict hot cart of customer {}, database copy may be behind", customerId);
+    throw new CartException("Cart is busy, please retry");
+  }
+
+  /**
+   * Writes back the carts that have waited {@code write-delay}, a batch at a time.
+   */
+  @Scheduled(fixedDelayString = "${cart.hot-store.flush-interval-ms:1000}")
+  public void flushDue() {
+    if (!isEnabled()) {
+      return;
+    }
+    int batchSize = Math.max(1, properties.getFlushBatchSize());
+    long dueBefore = System.currentTimeMillis() - properties.getWriteDelay().toMillis();
+    while (true) {
+      Set<String> due = redisTemplate.opsForZSet().rangeByScore(DIRTY_KEY, 0, dueBefore, 0,
+          batchSize);
+      if (due == null || due.isEmpty()) {
+        return;
+      }
+      List<Long> claimed = new ArrayList<>();
+      for (String customerId : due) {
+        if (claim(Long.valueOf(customerId))) {
+          claimed.add(Long.valueOf(customerId));
+        }
+      }
+      writeBack(claimed);
+      if (due.size() < batchSize) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Writes back claimed carts in one transaction; if that fails, one by one, re-queuing the carts
+   * that still fail.
+   *
+   * @return Whether all carts were written back
+   */
+  private boolean writeBack(List<Long> customerIds) {
+    List<HotCart> carts = new ArrayList<>();
+    for (Long customerId : customerIds) {
+      HotCart cart = read(customerId);
+      if (cart != null) {
+        carts.add(cart);
+      } else {
+        release(customerId);
+      }
+    }
+    if (carts.isEmpty()) {
+      return true;
+    }
+
+    Map<Long, WriteResult> results;
+    try {
+      results = writer.write(carts);
+    } catch (RuntimeException e) {
+      if (carts.size() > 1) {
+        boolean written = true;
+        for (HotCart cart : carts) {
+          written &= writeBack(List.of(cart.getCustomerId()));
+        }
+        return written;
+      }
+      Long customerId = carts.get(0).getCustomerId();
+      writeBackFailures.increment();
+      requeue(customerId, e);
+      release(customerId);
+      return false;
+    }
+
+    for (HotCart cart : carts) {
+      WriteResult result = results.get(cart.getCustomerId());
+      if (result != null) {
+        redisTemplate.opsForHash().delete(key(cart.getCustomerId()), "failures");
+        applyResult(cart, result);
+        writtenBack.increment();
+      }
+      release(cart.getCustomerId());
+    }
+    return true;
+  }
+
+  /**
+   * Queues a cart whose write-back failed again, due after write-delay x its failures so far
+   * (capped at max-write-back-failures).
+   */
+  private void requeue(Long customerId, RuntimeException error) {
+    int maxFailures = Math.max(1, properties.getMaxWriteBackFailures());
+    Long failures = redisTemplate.execute(REQUEUE, List.of(key(customerId), DIRTY_KEY),
+        String.valueOf(properties.getIdleTtl().toMillis()),
+        String.valueOf(System.currentTimeMillis()), String.valueOf(customerId),
+        String.valueOf(properties.getWriteDelay().toMillis()), String.valueOf(maxFailures));
+    if (failures == null || failures == 0) {
+      log.warn("Hot cart write-back failed for customer {}, copy gone: {}", customerId,
+          error.getMessage());
+      return;
+    }
+    if (failures >= maxFailures) {
+      writeBackStuck.increment();
+      log.error("Hot cart write-back failed {} times for customer {}, still retrying: {}",
+          failures, customerId, error.getMessage());
+    } else {
+      log.warn("Hot cart write-back failed for customer {}, re-queued: {}", customerId,
+          error.getMessage());
+    }
+  }
+
+  private void applyResult(HotCart written, WriteResult result) {
+    Long customerId = written.getCustomerId();
+    if (!result.active()) {
+      // Converted or removed meanwhile: the copy is stale
+      compareAndDelete(customerId, written.getVersion());
+      return;
+    }
+    if (result.assignedIds().isEmpty()) {
+      return;
+    }
+    for (int attempt = 0; attempt < properties.getMaxUpdateAttempts(); attempt++) {
+      HotCart current = read(customerId);
+      if (current == null) {
+        return;
+      }
+      long version = current.getVersion();
+      current.applyPersistedIds(result.assignedIds());
+      current.setVersion(version + 1);
+      // Queued again so that the database reaches the new content version too
+      if (compareAndSet(customerId, version, current, true)) {
+        return;
+      }
+    }
+    log.warn("Could not record written-back item ids for customer {}", customerId);
+  }
+
+  private HotCart read(Long customerId) {
+    Object json = redisTemplate.opsForHash().get(key(customerId), "cart");
+    if (json == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json.toString(), HotCart.class);
+    } catch (JsonProcessingException e) {
+      log.warn("Dropping unreadable hot cart of customer {}: {}", customerId, e.getMessage());
+      redisTemplate.delete(key(customerId));
+      return null;
+    }
+  }
+
+  private boolean compareAndSet(Long customerId, long expectedVersion, HotCart cart,
+      boolean queue) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(cart);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize hot cart", e);
+    }
+    Long stored = redisTemplate.execute(COMPARE_AND_SET, List.of(key(customerId), DIRTY_KEY),
+        String.valueOf(expectedVersion), String.valueOf(cart.getVersion()), json,
+        String.valueOf(properties.getIdleTtl().toMillis()), queue ? "1" : "0",
+        String.valueOf(System.currentTimeMillis()), String.valueOf(customerId));
+    return Long.valueOf(1).equals(stored);
+  }
+
+  private boolean compareAndDelete(Long customerId, long expectedVersion) {
+    Long deleted = redisTemplate.execute(COMPARE_AND_DELETE, List.of(key(customerId)),
+        String.valueOf(expectedVersion));
+    return Long.valueOf(1).equals(deleted);
+  }
+
+  private boolean claim(Long customerId) {
+    Long claimed = redisTemplate.execute(CLAIM, List.of(DIRTY_KEY, WRITING_PREFIX + customerId),
+        String.valueOf(customerId), String.valueOf(WRITING_TTL_MILLIS));
+    return Long.valueOf(1).equals(claimed);
+  }
+
+  private void release(Long customerId) {
+    redisTemplate.delete(WRITING_PREFIX + customerId);
+  }
+
+  private static String key(Long customerId) {
+    return KEY_PREFIX + customerId;
+  }
+
+  private static void sleepQuietly() {
+    try {
+      Thread.sleep(FLUSH_WAIT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Counter writeBackCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("cart.hot.writeback")
+        .description("Hot carts written back to the database")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,127 @@
+package com.commercepal.apiservice.cart.hot;
+
+import com.commercepal.apiservice.cart.hot.HotCart.HotCartItem;
+import com.commercepal.apiservice.cart.model.Cart;
+import com.commercepal.apiservice.cart.model.CartItem;
+import com.commercepal.apiservice.cart.repository.CartRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes hot carts back to {@code carts}/{@code cart_items}.
+ * <p>
+ * A batch of carts is loaded with one query and reconciled in one transaction: items still in the
+ * hot copy are updated, new ones inserted and missing ones deleted, and the totals copied. Updates
+ * are sent in JDBC batches; inserts are not (identity ids), but a typical write-back inserts few
+ * items.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotCartWriter {
+
+  private final CartRepository cartRepository;
+
+  /**
+   * Outcome of writing back one cart.
+   *
+   * @param assignedIds Database ids of the inserted items, by the id they had in the hot copy
+   * @param active      False if the cart is gone or no longer active (e.g. converted); nothing
+   *                    was written and the hot copy should be dropped
+   */
+  public record WriteResult(Map<Long, Long> assignedIds, boolean active) {
+
+  }
+
+  /**
+   * Writes the carts back in one transaction of their own, so that a caller rolling back (e.g. a
+   * failed checkout) does not undo a write-back whose hot copy has been dropped.
+   *
+   * @return Outcome by customer id
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public Map<Long, WriteResult> write(List<HotCart> carts) {
+    Map<Long, Cart> loaded = cartRepository.findAllWithItemsByIdIn(
+            carts.stream().map(HotCart::getCartId).toList())
+        .stream()
+        .collect(Collectors.toMap(Cart::getId, Function.identity()));
+
+    Map<Long, WriteResult> results = new HashMap<>();
+    Map<Long, Map<Long, CartItem>> inserted = new HashMap<>();
+    for (HotCart hot : carts) {
+      Cart cart = loaded.get(hot.getCartId());
+      if (cart == null || !cart.isActive()) {
+        log.info("Hot cart {} no longer active, not written back", hot.getCartId());
+        results.put(hot.getCustomerId(), new WriteResult(Map.of(), false));
+        continue;
+      }
+      inserted.put(hot.getCustomerId(), reconcile(cart, hot));
+    }
+
+    // Inserts the new items, assigning their ids
+    cartRepository.flush();
+
+    inserted.forEach((customerId, items) -> {
+      Map<Long, Long> assignedIds = new HashMap<>();
+      items.forEach((hotId, item) -> assignedIds.put(hotId, item.getId()));
+      results.put(customerId, new WriteResult(assignedIds, true));
+    });
+    return results;
+  }
+
+  /**
+   * Makes the persistent cart match the hot copy.
+   *
+   * @return Inserted items, by their id in the hot copy
+   */
+  private Map<Long, CartItem> reconcile(Cart cart, HotCart hot) {
+    Map<Long, CartItem> persisted = new HashMap<>();
+    for (CartItem item : cart.getItems()) {
+      persisted.put(item.getId(), item);
+    }
+
+    // Before adding items, which are stamped with it
+    cart.setContentVersion(hot.getContentVersion());
+
+    Map<Long, CartItem> inserted = new HashMap<>();
+    for (HotCartItem hotItem : hot.getItems()) {
+      CartItem item = hotItem.getId() != null && hotItem.getId() > 0
+          ? persisted.remove(hotItem.getId())
+          : null;
+      if (item != null) {
+        hotItem.applyTo(item);
+        continue;
+      }
+      // New, or deleted from the database meanwhile
+      item = hotItem.toEntity();
+      cart.addItem(item);
+      if (hotItem.getId() != null) {
+        inserted.put(hotItem.getId(), item);
+      }
+    }
+
+    // Removed from the hot copy
+    for (CartItem removed : persisted.values()) {
+      cart.removeItem(removed);
+    }
+
+    cart.setCurrency(hot.getCurrency());
+    cart.setCountry(hot.getCountry());
+    cart.setTotalItems(hot.getTotalItems());
+    cart.setSubtotal(hot.getSubtotal());
+    cart.setEstimatedTotal(hot.getEstimatedTotal());
+    cart.updateLastActivity();
+    if (hot.getLastActivityAt() != null) {
+      cart.setLastActivityAt(hot.getLastActivityAt());
+    }
+    return inserted;
+  }
+}
@@ -135,6 +135,14 @@ public class Cart extends BaseAuditEntity {
   @Column(name = "last_notification_at")
   private LocalDateTime lastNotificationAt;
 
+  /**
+   * Version of the cart content, increased by every change of its items or totals. Sent to clients
+   * as the cart's ETag
+   */
+  @Column(name = "content_version", nullable = false)
+  @Builder.Default
+  private Long contentVersion = 0L;
+
   /**
    * Cart items
    */
@@ -149,6 +157,7 @@ public class Cart extends BaseAuditEntity {
   public void addItem(CartItem item) {
     items.add(item);
     item.setCart(this);
+    markChanged(item);
     updateLastActivity();
   }
 
@@ -169,6 +178,20 @@ public class Cart extends BaseAuditEntity {
     updateLastActivity();
   }
 
+  /**
+   * Start a new content version; items added or marked changed afterwards are stamped with it
+   */
+  public void nextContentVersion() {
+    this.contentVersion = (contentVersion != null ? contentVersion : 0L) + 1;
+  }
+
+  /**
+   * Stamp an item as changed in the current content version
+   */
+  public void markChanged(CartItem item) {
+    item.setChangedInVersion(contentVersion);
+  }
+
   /**
    * Update last activity timestamp
    */
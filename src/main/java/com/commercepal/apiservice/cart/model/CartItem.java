@@ -166,6 +166,13 @@ public class CartItem extends BaseAuditEntity {
   @Column(name = "price_drop_notified", nullable = false)
   private Boolean priceDropNotified;
 
+  /**
+   * Cart content version in which this item last changed (see Cart#contentVersion)
+   */
+  @Column(name = "changed_in_version", nullable = false)
+  @Builder.Default
+  private Long changedInVersion = 0L;
+
   /**
    * Calculate subtotal for this item
    */
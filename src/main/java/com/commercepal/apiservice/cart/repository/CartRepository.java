@@ -4,8 +4,10 @@ import com.commercepal.apiservice.cart.model.Cart;
 import com.commercepal.apiservice.cart.model.CartStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -182,4 +184,23 @@ public interface CartRepository extends JpaRepository<Cart, Long>, JpaSpecificat
   List<Cart> findActiveCartsModifiedBetween(
       @Param("start") LocalDateTime start,
       @Param("end") LocalDateTime end);
+
+  /**
+   * Ids of active carts modified between two timestamps, in id order after {@code afterId}
+   * (keyset paging; the page size comes from the pageable)
+   */
+  @Query("SELECT c.id FROM Cart c WHERE c.status = 'ACTIVE' " +
+      "AND c.updatedAt BETWEEN :start AND :end " +
+      "AND c.id > :afterId ORDER BY c.id")
+  List<Long> findActiveCartIdsModifiedBetween(
+      @Param("start") LocalDateTime start,
+      @Param("end") LocalDateTime end,
+      @Param("afterId") Long afterId,
+      Pageable pageable);
+
+  /**
+   * Find carts by ID with their items loaded
+   */
+  @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.id IN :ids")
+  List<Cart> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
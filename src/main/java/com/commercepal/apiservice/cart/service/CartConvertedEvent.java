@@ -0,0 +1,8 @@
+package com.commercepal.apiservice.cart.service;
+
+/**
+ * Published when a customer's cart is converted to an order.
+ */
+public record CartConvertedEvent(Long customerId, Long cartId) {
+
+}
@@ -1,5 +1,6 @@
 package com.commercepal.apiservice.cart.service;
 
+import com.commercepal.apiservice.cart.dto.CartDeltaResponse;
 import com.commercepal.apiservice.cart.dto.CartItemResponse;
 import com.commercepal.apiservice.cart.dto.CartResponse;
 import com.commercepal.apiservice.cart.model.Cart;
@@ -23,26 +24,27 @@ public class CartMapper {
   public CartResponse toCartResponse(Cart cart) {
     log.debug("Mapping cart {} to response", cart.getId());
 
-    List<CartItemResponse> items = cart.getItems().stream()
+    List<CartItemResponse> items = activeItems(cart).stream()
         .map(this::toCartItemResponse)
         .collect(Collectors.toList());
 
-    List<CartItemResponse> priceDropItems = cart.getItems().stream()
+    List<CartItemResponse> priceDropItems = activeItems(cart).stream()
         .filter(CartItem::hasPriceDropped)
         .map(this::toCartItemResponse)
         .collect(Collectors.toList());
 
-    List<CartItemResponse> unavailableItems = cart.getItems().stream()
+    List<CartItemResponse> unavailableItems = activeItems(cart).stream()
         .filter(item -> !item.getIsAvailable())
         .map(this::toCartItemResponse)
         .collect(Collectors.toList());
 
-    BigDecimal totalSavings = cart.getItems().stream()
+    BigDecimal totalSavings = activeItems(cart).stream()
         .map(CartItem::getSavingsAmount)
         .reduce(BigDecimal.ZERO, BigDecimal::add);
 
     return CartResponse.builder()
         .cartId(cart.getId())
+        .version(cart.getContentVersion())
         .totalItems(cart.getTotalItems())
         .items(items)
         .subtotal(cart.getSubtotal())
@@ -55,6 +57,43 @@ public class CartMapper {
         .build();
   }
 
+  /**
+   * Convert Cart entity to the changes since a content version. All items are listed as changed if
+   * {@code since} is ahead of the cart
+   */
+  public CartDeltaResponse toCartDeltaResponse(Cart cart, long since) {
+    long version = cart.getContentVersion() != null ? cart.getContentVersion() : 0L;
+    long changedAfter = since <= version ? since : -1;
+
+    List<CartItemResponse> changedItems = activeItems(cart).stream()
+        .filter(item -> item.getChangedInVersion() == null
+            || item.getChangedInVersion() > changedAfter)
+        .map(this::toCartItemResponse)
+        .collect(Collectors.toList());
+
+    List<Long> itemIds = activeItems(cart).stream()
+        .map(CartItem::getId)
+        .collect(Collectors.toList());
+
+    BigDecimal totalSavings = activeItems(cart).stream()
+        .map(CartItem::getSavingsAmount)
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return CartDeltaResponse.builder()
+        .cartId(cart.getId())
+        .version(version)
+        .sinceVersion(since)
+        .totalItems(cart.getTotalItems())
+        .subtotal(cart.getSubtotal())
+        .estimatedTotal(cart.getEstimatedTotal())
+        .currency(cart.getCurrency())
+        .lastActivityAt(cart.getLastActivityAt())
+        .totalSavings(totalSavings)
+        .changedItems(changedItems)
+        .itemIds(itemIds)
+        .build();
+  }
+
   /**
    * Convert CartItem entity to CartItemResponse DTO
    */
@@ -77,4 +116,13 @@ public class CartMapper {
         .savingsAmount(item.getSavingsAmount())
         .build();
   }
+
+  /**
+   * Items of the cart, without those soft-deleted (merged away) in the current transaction.
+   */
+  private static List<CartItem> activeItems(Cart cart) {
+    return cart.getItems().stream()
+        .filter(item -> !item.isDeleted())
+        .collect(Collectors.toList());
+  }
 }
@@ -1,9 +1,15 @@
 package com.commercepal.apiservice.cart.service;
 
 import com.commercepal.apiservice.cart.dto.AddToCartRequest;
+import com.commercepal.apiservice.cart.dto.CartBatchRequest;
+import com.commercepal.apiservice.cart.dto.CartDeltaResponse;
+import com.commercepal.apiservice.cart.dto.CartItemOperation;
 import com.commercepal.apiservice.cart.dto.CartItemRequest;
 import com.commercepal.apiservice.cart.dto.CartResponse;
 import com.commercepal.apiservice.cart.dto.UpdateCartItemRequest;
+import com.commercepal.apiservice.cart.hot.HotCart;
+import com.commercepal.apiservice.cart.hot.HotCart.HotCartItem;
+import com.commercepal.apiservice.cart.hot.HotCartStore;
 import com.commercepal.apiservice.cart.model.Cart;
 import com.commercepal.apiservice.cart.model.CartItem;
 import com.commercepal.apiservice.cart.model.CartStatus;
@@ -21,13 +27,20 @@ import com.commercepal.apiservice.shared.exceptions.business.BadRequestException
 import com.commercepal.apiservice.shared.exceptions.resource.ResourceNotFoundException;
 import com.commercepal.apiservice.users.customer.Customer;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Professional shopping cart service with comprehensive features.
@@ -35,6 +48,13 @@ import org.springframework.transaction.annotation.Transactional;
  * Features: - Cart persistence across sessions - Guest and authenticated user support - Price
  * tracking and updates - Stock validation - Item management (add, update, remove) - Automatic total
  * calculations
+ * <p>
+ * With {@code cart.hot-store.enabled}, carts are read and changed in the {@link HotCartStore} and
+ * written back to the database later; validation flushes them back first.
+ * <p>
+ * Every change starts a new content version of the cart and stamps the items it changes, so that
+ * reads can be conditional ({@link #findCartETag}) or limited to the changes since a version
+ * ({@link #getCartChanges}).
  *
  * @author CommercePal
  * @version 1.0
@@ -50,6 +70,9 @@ public class CartService {
   private final OTProductDetailService productDetailService;
   private final CartMapper cartMapper;
   private final ForeignExchangeService foreignExchangeService;
+  private final TransactionTemplate transactionTemplate;
+  private final HotCartStore hotCartStore;
+  private final CartVersionCache cartVersionCache;
 
   /**
    * Get or create cart for customer
@@ -94,13 +117,10 @@ public class CartService {
   /**
    * Add item to cart
    */
-  @Transactional
   public CartResponse addToCart(Customer customer, AddToCartRequest request) {
     log.info("=== ADD TO CART ===");
     log.info("Customer: {}", customer.getId());
 
-    Cart cart = getOrCreateCart(customer);
-
     if (request.items() == null || request.items().isEmpty()) {
       throw new BadRequestException("Request must contain at least one item");
     }
@@ -112,8 +132,6 @@ public class CartService {
         .map(CartItemRequest::country)
         .orElse(SupportedCountry.ETHIOPIA.getCode());
 
-    cart.setCountry(cartCountry);
-
     log.info("Processing bulk add to cart request with {} items", request.items().size());
     // Deduplicate items based on ProductID + ConfigID (Keep the first occurrence)
     var uniqueItems = request.items().stream()
@@ -123,21 +141,105 @@ public class CartService {
             (existing, replacement) -> existing // Merge function: Keep existing
         )).values();
 
-    for (CartItemRequest itemRequest : uniqueItems) {
-      processSingleItemAdd(cart, itemRequest);
+    if (hotCartStore.isEnabled()) {
+      return addToHotCart(customer, cartCountry, uniqueItems);
     }
 
-    // Recalculate totals
-    calculateAndUpdateTotals(cart);
+    return recorded(customer, transactionTemplate.execute(status -> {
+      Cart cart = getOrCreateCart(customer);
+      cart.setCountry(cartCountry);
+      cart.nextContentVersion();
 
-    Cart savedCart = cartRepository.save(cart);
-    log.info("=== ADD TO CART COMPLETE === Total items: {}", savedCart.getTotalItems());
+      for (CartItemRequest itemRequest : uniqueItems) {
+        processSingleItemAdd(cart, itemRequest);
+      }
 
-    return cartMapper.toCartResponse(savedCart);
+      // Recalculate totals
+      calculateAndUpdateTotals(cart);
+
+      Cart savedCart = cartRepository.save(cart);
+      log.info("=== ADD TO CART COMPLETE === Total items: {}", savedCart.getTotalItems());
+
+      return cartMapper.toCartResponse(savedCart);
+    }));
+  }
+
+  /**
+   * Adds to the hot cart. The product details are fetched before the change, which may be retried
+   * if it races another one.
+   */
+  private CartResponse addToHotCart(Customer customer, String cartCountry,
+      Collection<CartItemRequest> itemRequests) {
+    HotCart current = hotCartStore.get(customer.getId(), () -> loadHotCart(customer));
+
+    List<ResolvedItem> resolvedItems = new ArrayList<>();
+    for (CartItemRequest itemRequest : itemRequests) {
+      resolvedItems.add(resolveItem(itemRequest, current.getCurrency(), cartCountry));
+    }
+
+    HotCart cart = hotCartStore.update(customer.getId(), () -> loadHotCart(customer), hot -> {
+      hot.setCountry(cartCountry);
+      for (ResolvedItem resolved : resolvedItems) {
+        hot.findItem(resolved.request().productId(), resolved.configId())
+            .ifPresentOrElse(
+                existing -> {
+                  updateExistingHotItem(existing, resolved);
+                  hot.markChanged(existing);
+                },
+                () -> hot.addItem(HotCartItem.from(buildItem(resolved, null, cartCountry))));
+      }
+    });
+    log.info("=== ADD TO CART COMPLETE === Total items: {}", cart.getTotalItems());
+
+    return cartMapper.toCartResponse(cart.toEntity());
   }
 
   @Transactional
   protected void processSingleItemAdd(Cart cart, CartItemRequest request) {
+    ResolvedItem resolved = resolveItem(request, cart.getCurrency(), cart.getCountry());
+
+    // ─────────────────────────────────────────────────────────────
+    // 4. Find existing item (DB is the source of truth)
+    // ─────────────────────────────────────────────────────────────
+    Optional<CartItem> existingOpt =
+        cartItemRepository.findByCartIdAndProductIdAndConfigId(
+            cart.getId(),
+            request.productId(),
+            resolved.configId()
+        );
+
+    if (existingOpt.isPresent()) {
+      updateExistingItem(
+          existingOpt.get(),
+          resolved.quantity(),
+          resolved.currentPrice(),
+          resolved.basePriceUsd(),
+          resolved.exchangeRate(),
+          resolved.product()
+      );
+      cart.markChanged(existingOpt.get());
+      return;
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // 5. Create new item (single persistence path)
+
+    // Important: ONLY add to cart, rely on cascade
+    cart.addItem(buildItem(resolved, cart, cart.getCountry()));
+  }
+
+  /**
+   * An item to add, with its product details and prices.
+   */
+  private record ResolvedItem(CartItemRequest request, int quantity, String configId,
+                              SupportedCurrency currency, ProductDetailResponse product,
+                              BigDecimal currentPrice, BigDecimal basePriceUsd,
+                              BigDecimal exchangeRate) {
+
+  }
+
+  private ResolvedItem resolveItem(CartItemRequest request, SupportedCurrency cartCurrency,
+      String cartCountry) {
 
     // ─────────────────────────────────────────────────────────────
     // 1. Validate input
@@ -160,11 +262,11 @@ public class CartService {
     // ─────────────────────────────────────────────────────────────
     SupportedCurrency currency = request.currency() != null
         ? SupportedCurrency.fromCode(request.currency())
-        : cart.getCurrency();
+        : cartCurrency;
 
     SupportedCountry country = request.country() != null
         ? SupportedCountry.fromCode(request.country())
-        : SupportedCountry.fromCode(cart.getCountry());
+        : SupportedCountry.fromCode(cartCountry);
 
     // ─────────────────────────────────────────────────────────────
     // 3. Fetch authoritative product data
@@ -182,76 +284,101 @@ public class CartService {
 
     BigDecimal exchangeRate = safeExchangeRate(currency);
 
-    // ─────────────────────────────────────────────────────────────
-    // 4. Find existing item (DB is the source of truth)
-    // ─────────────────────────────────────────────────────────────
-    Optional<CartItem> existingOpt =
-        cartItemRepository.findByCartIdAndProductIdAndConfigId(
-            cart.getId(),
-            request.productId(),
-            normalizedConfigId
-        );
-
-    if (existingOpt.isPresent()) {
-      updateExistingItem(
-          existingOpt.get(),
-          quantity,
-          currentPrice,
-          basePriceUsd,
-          exchangeRate,
-          product
-      );
-      return;
-    }
+    return new ResolvedItem(request, quantity, normalizedConfigId, currency, product,
+        currentPrice, basePriceUsd, exchangeRate);
+  }
 
-    // ─────────────────────────────────────────────────────────────
-    // 5. Create new item (single persistence path)
+  private CartItem buildItem(ResolvedItem resolved, Cart cart, String cartCountry) {
+    CartItemRequest request = resolved.request();
+    ProductDetailResponse product = resolved.product();
 
-    CartItem newItem = CartItem.builder()
+    return CartItem.builder()
         .cart(cart)                                   // NOT NULL
         .productId(request.productId())              // NOT NULL
         .productName(product.title())                     // NOT NULL
         .productImageUrl(product.mainImage().main())                    // nullable OK
-        .configId(normalizedConfigId)                 // NOT NULL (CRITICAL)
-        .quantity(quantity)                       // NOT NULL
-        .unitPrice(currentPrice)                         // NOT NULL
-        .priceWhenAdded(currentPrice)                    // NOT NULL
-        .currentPrice(currentPrice)
-        .basePriceInUSD(basePriceUsd)                    // nullable OK
-        .exchangeRate(exchangeRate)
-        .currency(currency)
+        .configId(resolved.configId())                 // NOT NULL (CRITICAL)
+        .quantity(resolved.quantity())                       // NOT NULL
+        .unitPrice(resolved.currentPrice())                         // NOT NULL
+        .priceWhenAdded(resolved.currentPrice())                    // NOT NULL
+        .currentPrice(resolved.currentPrice())
+        .basePriceInUSD(resolved.basePriceUsd())                    // nullable OK
+        .exchangeRate(resolved.exchangeRate())
+        .currency(resolved.currency())
         .country(request.country() != null ? request.country()
-            : cart.getCountry())             // NOT NULL
+            : cartCountry)             // NOT NULL
         .provider(product.provider())                           // NOT NULL
         .stockStatus(StockStatus.IN_STOCK)
         .isAvailable(true)
         .priceDropped(false)
         .priceDropNotified(false)
         .build();
-
-    // Important: ONLY add to cart, rely on cascade
-    cart.addItem(newItem);
   }
 
   /**
    * Get cart for customer
    */
-  @Transactional(readOnly = true)
   public CartResponse getCart(Customer customer) {
     log.debug("Getting cart for customer: {}", customer.getId());
 
-    Cart cart = getOrCreateCart(customer);
-    return cartMapper.toCartResponse(cart);
+    if (hotCartStore.isEnabled()) {
+      HotCart cart = hotCartStore.get(customer.getId(), () -> loadHotCart(customer));
+      return cartMapper.toCartResponse(cart.toEntity());
+    }
+
+    return recorded(customer, transactionTemplate.execute(
+        status -> cartMapper.toCartResponse(getOrCreateCart(customer))));
+  }
+
+  /**
+   * Changes of the customer's cart since a content version the client holds: totals, the items
+   * changed since, and the ids of all items (so removals can be applied).
+   */
+  public CartDeltaResponse getCartChanges(Customer customer, long since) {
+    log.debug("Getting cart changes since version {} for customer: {}", since, customer.getId());
+
+    if (hotCartStore.isEnabled()) {
+      HotCart cart = hotCartStore.get(customer.getId(), () -> loadHotCart(customer));
+      return cartMapper.toCartDeltaResponse(cart.toEntity(), since);
+    }
+
+    CartDeltaResponse delta = transactionTemplate.execute(
+        status -> cartMapper.toCartDeltaResponse(getOrCreateCart(customer), since));
+    cartVersionCache.record(customer.getId(), delta.cartId(), delta.version());
+    return delta;
+  }
+
+  /**
+   * ETag of the customer's cart if its latest version is known without a database read (the hot
+   * copy, or the version cache), for answering conditional reads.
+   */
+  public Optional<String> findCartETag(Long customerId) {
+    if (hotCartStore.isEnabled()) {
+      return hotCartStore.peek(customerId)
+          .map(cart -> CartVersionCache.eTag(cart.getCartId(), cart.getContentVersion()));
+    }
+    return cartVersionCache.find(customerId);
   }
 
   /**
    * Update cart item
    */
-  @Transactional
   public CartResponse updateCartItem(
       Customer customer,
       Long itemId,
       UpdateCartItemRequest request
+  ) {
+    if (hotCartStore.isEnabled()) {
+      return updateHotCartItem(customer, itemId, request);
+    }
+    return recorded(customer, transactionTemplate.execute(
+        status -> updateCartItemInDatabase(customer, itemId, request)));
+  }
+
+  private CartResponse updateCartItemInDatabase(
+      Customer customer,
+      Long itemId,
+      UpdateCartItemRequest request
   ) {
     Cart cart = getOrCreateCart(customer);
 
@@ -262,6 +389,8 @@ public class CartService {
       throw new BadRequestException("Cart item does not belong to customer");
     }
 
+    cart.nextContentVersion();
+
     // Normalize
     String targetConfigId = request.replaceConfigId() != null
         ? request.replaceConfigId()
@@ -284,6 +413,7 @@ public class CartService {
       CartItem existing = collision.get();
 
       existing.setQuantity(existing.getQuantity() + targetQuantity);
+      cart.markChanged(existing);
 
       // Soft delete old item
       item.softDelete("customer");
@@ -295,6 +425,7 @@ public class CartService {
       // 👉 SAFE UPDATE
       item.setQuantity(targetQuantity);
       item.setConfigId(targetConfigId);
+      cart.markChanged(item);
 
       if (request.replaceConfigId() != null) {
         ProductDetailResponse product = fetchProductDetails(
@@ -313,13 +444,81 @@ public class CartService {
     return cartMapper.toCartResponse(cartRepository.save(cart));
   }
 
+  /**
+   * Same rules as {@link #updateCartItemInDatabase}, on the hot cart. A replacement configuration
+   * is priced before the change, which may be retried if it races another one.
+   */
+  private CartResponse updateHotCartItem(
+      Customer customer,
+      Long itemId,
+      UpdateCartItemRequest request
+  ) {
+    ProductDetailResponse product = null;
+    if (request.replaceConfigId() != null) {
+      HotCart current = hotCartStore.get(customer.getId(), () -> loadHotCart(customer));
+      HotCartItem item = current.findItem(itemId)
+          .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
+      product = fetchProductDetails(
+          item.getProductId(),
+          SupportedCountry.fromCode(current.getCountry()),
+          current.getCurrency());
+    }
+    ProductDetailResponse replacement = product;
+
+    HotCart cart = hotCartStore.update(customer.getId(), () -> loadHotCart(customer), hot -> {
+      HotCartItem item = hot.findItem(itemId)
+          .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
+
+      String targetConfigId = request.replaceConfigId() != null
+          ? request.replaceConfigId()
+          : item.getConfigId();
+
+      int targetQuantity = request.quantity() != null
+          ? request.quantity()
+          : item.getQuantity();
+
+      Optional<HotCartItem> collision = hot.findItem(item.getProductId(), targetConfigId);
+
+      if (collision.isPresent() && !collision.get().getId().equals(item.getId())) {
+        HotCartItem existing = collision.get();
+        existing.setQuantity(existing.getQuantity() + targetQuantity);
+        hot.markChanged(existing);
+        hot.removeItem(item);
+      } else {
+        item.setQuantity(targetQuantity);
+        item.setConfigId(targetConfigId);
+        hot.markChanged(item);
+
+        if (replacement != null) {
+          item.setCurrentPrice(replacement.pricing().currentPrice());
+          item.setUnitPrice(replacement.pricing().currentPrice());
+        }
+        hot.touch();
+      }
+    });
+
+    return cartMapper.toCartResponse(cart.toEntity());
+  }
+
   /**
    * Remove item from cart
    */
-  @Transactional
   public CartResponse removeCartItem(Customer customer, Long itemId) {
     log.info("Removing cart item: {}", itemId);
 
+    if (hotCartStore.isEnabled()) {
+      HotCart cart = hotCartStore.update(customer.getId(), () -> loadHotCart(customer),
+          hot -> hot.removeItem(hot.findItem(itemId)
+              .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"))));
+      log.info("Cart item removed successfully");
+      return cartMapper.toCartResponse(cart.toEntity());
+    }
+
+    return recorded(customer,
+        transactionTemplate.execute(status -> removeCartItemInDatabase(customer, itemId)));
+  }
+
+  private CartResponse removeCartItemInDatabase(Customer customer, Long itemId) {
     Cart cart = getOrCreateCart(customer);
 
     CartItem item = cartItemRepository.findById(itemId)
@@ -329,6 +528,7 @@ public class CartService {
       throw new BadRequestException("Cart item does not belong to customer");
     }
 
+    cart.nextContentVersion();
     cart.removeItem(item);
     cartItemRepository.delete(item);
 
@@ -339,74 +539,358 @@ public class CartService {
     return cartMapper.toCartResponse(savedCart);
   }
 
+  /**
+   * Apply several item changes (quantity, variant, removal) in order, as one change of the cart.
+   * <p>
+   * Variants being replaced are priced with one batched lookup before the transaction; then all
+   * items are loaded with one query, the operations applied in memory, the totals recomputed once
+   * and the changed items flushed together (JDBC batching). Either every operation applies or none
+   * does.
+   */
+  public CartResponse applyBatch(Customer customer, CartBatchRequest request) {
+    List<CartItemOperation> operations = request.operations();
+    log.info("Applying {} cart operations for customer: {}", operations.size(), customer.getId());
+
+    if (hotCartStore.isEnabled()) {
+      return applyBatchToHotCart(customer, operations);
+    }
+
+    Set<Long> repricedIds = repricedItemIds(operations);
+    Map<String, ProductDetailResponse> products = Map.of();
+    if (!repricedIds.isEmpty()) {
+      CartLookup lookup = transactionTemplate.execute(status -> {
+        Cart cart = getOrCreateCart(customer);
+        return new CartLookup(
+            cart.getItems().stream()
+                .filter(item -> repricedIds.contains(item.getId()))
+                .map(CartItem::getProductId)
+                .collect(Collectors.toSet()),
+            SupportedCountry.fromCode(cart.getCountry()),
+            cart.getCurrency());
+      });
+      products = lookupProducts(lookup);
+    }
+    Map<String, ProductDetailResponse> prices = products;
+
+    return recorded(customer, transactionTemplate.execute(status -> {
+      Cart cart = getOrCreateCart(customer);
+      cart.nextContentVersion();
+      for (CartItemOperation operation : operations) {
+        applyOperation(cart, operation, prices);
+      }
+
+      calculateAndUpdateTotals(cart);
+      Cart savedCart = cartRepository.save(cart);
+
+      log.info("Cart operations applied - Total items: {}", savedCart.getTotalItems());
+      return cartMapper.toCartResponse(savedCart);
+    }));
+  }
+
+  /**
+   * {@link #applyBatch} on the hot cart.
+   */
+  private CartResponse applyBatchToHotCart(Customer customer,
+      List<CartItemOperation> operations) {
+    Set<Long> repricedIds = repricedItemIds(operations);
+    Map<String, ProductDetailResponse> products = Map.of();
+    if (!repricedIds.isEmpty()) {
+      HotCart current = hotCartStore.get(customer.getId(), () -> loadHotCart(customer));
+      products = lookupProducts(new CartLookup(
+          repricedIds.stream()
+              .map(current::findItem)
+              .flatMap(Optional::stream)
+              .map(HotCartItem::getProductId)
+              .collect(Collectors.toSet()),
+          SupportedCountry.fromCode(current.getCountry()),
+          current.getCurrency()));
+    }
+    Map<String, ProductDetailResponse> prices = products;
+
+    HotCart cart = hotCartStore.update(customer.getId(), () -> loadHotCart(customer), hot -> {
+      for (CartItemOperation operation : operations) {
+        applyOperation(hot, operation, prices);
+      }
+    });
+
+    log.info("Cart operations applied - Total items: {}", cart.getTotalItems());
+    return cartMapper.toCartResponse(cart.toEntity());
+  }
+
   /**
    * Clear all items from cart
    */
-  @Transactional
   public void clearCart(Customer customer) {
     log.info("Clearing cart for customer: {}", customer.getId());
 
-    Cart cart = getOrCreateCart(customer);
+    if (hotCartStore.isEnabled()) {
+      hotCartStore.update(customer.getId(), () -> loadHotCart(customer), HotCart::clearItems);
+      log.info("Cart cleared successfully");
+      return;
+    }
+
+    Cart cleared = transactionTemplate.execute(status -> {
+      Cart cart = getOrCreateCart(customer);
 
-    cartItemRepository.deleteByCartId(cart.getId());
-    cart.clearItems();
-    cart.setTotalItems(0);
-    cart.setSubtotal(BigDecimal.ZERO);
-    cart.setEstimatedTotal(BigDecimal.ZERO);
+      cartItemRepository.deleteByCartId(cart.getId());
+      cart.nextContentVersion();
+      cart.clearItems();
+      cart.setTotalItems(0);
+      cart.setSubtotal(BigDecimal.ZERO);
+      cart.setEstimatedTotal(BigDecimal.ZERO);
 
-    cartRepository.save(cart);
+      return cartRepository.save(cart);
+    });
+    cartVersionCache.record(customer.getId(), cleared.getId(), cleared.getContentVersion());
     log.info("Cart cleared successfully");
   }
 
   /**
-   * Validate cart and get response
+   * Validate cart and get response.
+   * <p>
+   * Not transactional: the product details of all items are fetched in parallel (see
+   * {@link OTProductDetailService#getProductDetailsForOrder}) without holding a database
+   * connection, then prices, stock and availability are applied in one short transaction. Items
+   * added while the details were being fetched are left for the next validation.
+   * <p>
+   * A hot cart is written back and dropped from the store first, so validation works on the
+   * database copy and the next change loads it fresh.
    */
-  @Transactional
   public CartResponse validateAndGetCart(Customer customer) {
     log.info("Validating cart for customer: {}", customer.getId());
 
-    Cart cart = getOrCreateCart(customer);
+    hotCartStore.flushAndEvict(customer.getId());
+
+    CartLookup lookup = transactionTemplate.execute(status -> {
+      Cart cart = getOrCreateCart(customer);
+      return new CartLookup(
+          cart.getItems().stream().map(CartItem::getProductId).collect(Collectors.toSet()),
+          SupportedCountry.fromCode(cart.getCountry()),
+          cart.getCurrency());
+    });
+
+    // One batched lookup for the whole cart instead of a provider call per item
+    Map<String, ProductDetailResponse> products = productDetailService.getProductDetailsForOrder(
+        lookup.productIds(), lookup.country(), lookup.currency());
+
+    return recorded(customer, transactionTemplate.execute(status -> {
+      Cart cart = getOrCreateCart(customer);
+      List<CartItem> changed = new ArrayList<>();
+      for (CartItem item : cart.getItems()) {
+        if (lookup.productIds().contains(item.getProductId())
+            && applyValidation(item, products.get(item.getProductId()))) {
+          changed.add(item);
+        }
+      }
+      // A validation that changes nothing keeps the version, so ETags and deltas stay valid
+      if (!changed.isEmpty()) {
+        cart.nextContentVersion();
+        changed.forEach(cart::markChanged);
+      }
+      // Dirty items are flushed together (JDBC batching) on commit
+      cartItemRepository.saveAll(cart.getItems());
 
-    // Validate all items (check stock, prices, availability)
-    for (CartItem item : cart.getItems()) {
-      try {
-        ProductDetailResponse product = fetchProductDetails(
-            item.getProductId(),
-            SupportedCountry.fromCode(cart.getCountry()),
-            cart.getCurrency());
+      calculateAndUpdateTotals(cart);
+      Cart savedCart = cartRepository.save(cart);
 
-        // Update current price
-        item.setCurrentPrice(product.pricing().currentPrice());
+      log.info("Cart validation complete");
+      return cartMapper.toCartResponse(savedCart);
+    }));
+  }
 
-        // Check if price dropped
-        if (item.hasPriceDropped()) {
-          item.setPriceDropped(true);
-          log.info("Price drop detected for item: {}, Savings: {}",
-              item.getProductId(), item.getSavingsAmount());
-        }
+  /**
+   * What {@link #validateAndGetCart} needs to look up, read in its first transaction.
+   */
+  private record CartLookup(Set<String> productIds, SupportedCountry country,
+                            SupportedCurrency currency) {
 
-        // Update availability
-        item.setIsAvailable(true);
-        item.setStockStatus(StockStatus.IN_STOCK);
+  }
 
-      } catch (Exception e) {
-        log.warn("Item validation failed for: {}, Error: {}",
-            item.getProductId(), e.getMessage());
-        item.setIsAvailable(false);
-        item.setStockStatus(StockStatus.UNKNOWN);
-      }
+  // ==================== Private Helper Methods ====================
 
-      cartItemRepository.save(item);
+  private static Set<Long> repricedItemIds(List<CartItemOperation> operations) {
+    return operations.stream()
+        .filter(operation -> operation.type() == CartItemOperation.Type.UPDATE
+            && operation.replaceConfigId() != null)
+        .map(CartItemOperation::itemId)
+        .collect(Collectors.toSet());
+  }
+
+  private Map<String, ProductDetailResponse> lookupProducts(CartLookup lookup) {
+    if (lookup.productIds().isEmpty()) {
+      return Map.of();
     }
+    return productDetailService.getProductDetailsForOrder(
+        lookup.productIds(), lookup.country(), lookup.currency());
+  }
 
-    calculateAndUpdateTotals(cart);
-    Cart savedCart = cartRepository.save(cart);
+  /**
+   * Apply one batch operation, with the same rules as {@link #updateCartItem} and
+   * {@link #removeCartItem}
+   *
+   * @param products Details of the products whose variant is replaced
+   */
+  private void applyOperation(Cart cart, CartItemOperation operation,
+      Map<String, ProductDetailResponse> products) {
+    // Items merged away earlier in the batch are soft-deleted but still in the collection
+    CartItem item = cart.getItems().stream()
+        .filter(candidate -> !candidate.isDeleted() && operation.itemId().equals(candidate.getId()))
+        .findFirst()
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Cart item not found: " + operation.itemId()));
 
-    log.info("Cart validation complete");
-    return cartMapper.toCartResponse(savedCart);
+    if (operation.type() == CartItemOperation.Type.REMOVE) {
+      cart.removeItem(item);
+      return;
+    }
+
+    String targetConfigId = operation.replaceConfigId() != null
+        ? operation.replaceConfigId()
+        : item.getConfigId();
+
+    int targetQuantity = operation.quantity() != null
+        ? operation.quantity()
+        : item.getQuantity();
+
+    Optional<CartItem> collision = cart.getItems().stream()
+        .filter(candidate -> candidate != item && !candidate.isDeleted()
+            && candidate.matches(item.getProductId(), targetConfigId))
+        .findFirst();
+
+    if (collision.isPresent()) {
+      // Merge into the item that already has the target variant; soft delete the old one
+      CartItem existing = collision.get();
+      existing.setQuantity(existing.getQuantity() + targetQuantity);
+      cart.markChanged(existing);
+      item.softDelete("customer");
+      cart.updateLastActivity();
+      return;
+    }
+
+    item.setQuantity(targetQuantity);
+    item.setConfigId(targetConfigId);
+    if (operation.replaceConfigId() != null) {
+      BigDecimal price = replacementPrice(products, item.getProductId());
+      item.setCurrentPrice(price);
+      item.setUnitPrice(price);
+    }
+    cart.markChanged(item);
   }
 
-  // ==================== Private Helper Methods ====================
+  /**
+   * {@link #applyOperation(Cart, CartItemOperation, Map)} on the hot cart.
+   */
+  private void applyOperation(HotCart hot, CartItemOperation operation,
+      Map<String, ProductDetailResponse> products) {
+    HotCartItem item = hot.findItem(operation.itemId())
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Cart item not found: " + operation.itemId()));
+
+    if (operation.type() == CartItemOperation.Type.REMOVE) {
+      hot.removeItem(item);
+      return;
+    }
+
+    String targetConfigId = operation.replaceConfigId() != null
+        ? operation.replaceConfigId()
+        : item.getConfigId();
+
+    int targetQuantity = operation.quantity() != null
+        ? operation.quantity()
+        : item.getQuantity();
+
+    Optional<HotCartItem> collision = hot.findItem(item.getProductId(), targetConfigId);
+
+    if (collision.isPresent() && !collision.get().getId().equals(item.getId())) {
+      HotCartItem existing = collision.get();
+      existing.setQuantity(existing.getQuantity() + targetQuantity);
+      hot.markChanged(existing);
+      hot.removeItem(item);
+      return;
+    }
+
+    item.setQuantity(targetQuantity);
+    item.setConfigId(targetConfigId);
+    if (operation.replaceConfigId() != null) {
+      BigDecimal price = replacementPrice(products, item.getProductId());
+      item.setCurrentPrice(price);
+      item.setUnitPrice(price);
+    }
+    hot.markChanged(item);
+    hot.touch();
+  }
+
+  private static BigDecimal replacementPrice(Map<String, ProductDetailResponse> products,
+      String productId) {
+    ProductDetailResponse product = products.get(productId);
+    if (product == null) {
+      throw new BadRequestException("Product not found or unavailable: " + productId);
+    }
+    return product.pricing().currentPrice();
+  }
+
+  /**
+   * Records the committed version of a cart just returned from the database path.
+   */
+  private CartResponse recorded(Customer customer, CartResponse response) {
+    cartVersionCache.record(customer.getId(), response.cartId(), response.version());
+    return response;
+  }
+
+  /**
+   * Copies the customer's cart (created if missing) for the hot cart store.
+   */
+  private HotCart loadHotCart(Customer customer) {
+    return transactionTemplate.execute(status -> HotCart.from(getOrCreateCart(customer)));
+  }
+
+  /**
+   * Update price, stock and availability of an item from its current product details
+   *
+   * @param product Current details, null if the product could not be fetched
+   * @return True if the price, price drop flag, stock status or availability changed
+   */
+  private boolean applyValidation(CartItem item, ProductDetailResponse product) {
+    BigDecimal previousPrice = item.getCurrentPrice();
+    Boolean previousPriceDropped = item.getPriceDropped();
+    Boolean previousAvailable = item.getIsAvailable();
+    StockStatus previousStockStatus = item.getStockStatus();
+    try {
+      if (product == null) {
+        throw new BadRequestException(
+            "Product not found or unavailable: " + item.getProductId());
+      }
+
+      // Update current price
+      item.setCurrentPrice(product.pricing().currentPrice());
+
+      // Check if price dropped
+      if (item.hasPriceDropped()) {
+        item.setPriceDropped(true);
+        log.info("Price drop detected for item: {}, Savings: {}",
+            item.getProductId(), item.getSavingsAmount());
+      }
+
+      // Update availability
+      item.setIsAvailable(true);
+      item.setStockStatus(StockStatus.IN_STOCK);
+      item.setLastPriceCheckAt(LocalDateTime.now());
+
+    } catch (Exception e) {
+      log.warn("Item validation failed for: {}, Error: {}",
+          item.getProductId(), e.getMessage());
+      item.setIsAvailable(false);
+      item.setStockStatus(StockStatus.UNKNOWN);
+    }
+
+    boolean priceChanged = previousPrice == null || item.getCurrentPrice() == null
+        ? previousPrice != item.getCurrentPrice()
+        : previousPrice.compareTo(item.getCurrentPrice()) != 0;
+    return priceChanged
+        || !Objects.equals(previousPriceDropped, item.getPriceDropped())
+        || !Objects.equals(previousAvailable, item.getIsAvailable())
+        || previousStockStatus != item.getStockStatus();
+  }
 
   /**
    * Fetch product details with error handling
@@ -431,11 +915,14 @@ public class CartService {
   private void calculateAndUpdateTotals(Cart cart) {
     log.debug("Calculating cart totals");
 
+    // Soft-deleted (merged) items stay in the collection until the cart is reloaded
     BigDecimal subtotal = cart.getItems().stream()
+        .filter(item -> !item.isDeleted())
         .map(CartItem::getSubtotal)
         .reduce(BigDecimal.ZERO, BigDecimal::add);
 
     int totalItems = cart.getItems().stream()
+        .filter(item -> !item.isDeleted())
         .mapToInt(CartItem::getQuantity)
         .sum();
 
@@ -469,6 +956,27 @@ public class CartService {
         .orElse(product.pricing());
   }
 
+  /**
+   * {@link #updateExistingItem} for an item of the hot cart.
+   */
+  private void updateExistingHotItem(HotCartItem item, ResolvedItem resolved) {
+    item.setQuantity(resolved.quantity());
+    item.setCurrentPrice(resolved.currentPrice());
+    item.setProductName(resolved.product().title());
+
+    if (resolved.product().mainImage() != null) {
+      item.setProductImageUrl(resolved.product().mainImage().thumbnail());
+    }
+
+    if (resolved.basePriceUsd() != null) {
+      item.setBasePriceInUSD(resolved.basePriceUsd());
+    }
+
+    if (resolved.exchangeRate() != null) {
+      item.setExchangeRate(resolved.exchangeRate());
+    }
+  }
+
   private void updateExistingItem(
       CartItem item,
       int quantity,
@@ -0,0 +1,116 @@
+package com.commercepal.apiservice.cart.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Latest known content version of each customer's active cart, kept in Redis so that a conditional
+ * cart read ({@code If-None-Match}) can be answered without a database read.
+ * <p>
+ * Versions are recorded after the change that produced them has committed, and an entry only ever
+ * moves forward (a later cart, or a later version of the same cart), so a slow writer cannot
+ * replace a newer version with an older one. A converted cart is retired: no conditional read
+ * matches it until the customer's next cart is recorded. If recording fails, the entry may lag
+ * for at most {@code cart.version-cache-ttl}.
+ */
+@Slf4j
+@Component
+public class CartVersionCache {
+
+  private static final String KEY_PREFIX = "cart:version:";
+  private static final long RETIRED = Long.MAX_VALUE;
+
+  // Stores cart ARGV[1] at version ARGV[2] unless the entry is already at that point or later
+  private static final RedisScript<Long> RECORD_IF_NEWER = new DefaultRedisScript<>("""
+      local current = redis.call('HMGET', KEYS[1], 'cart', 'version')
+      if current[1] and current[2] then
+        local cart, version = tonumber(current[1]), tonumber(current[2])
+        local newCart, newVersion = tonumber(ARGV[1]), tonumber(ARGV[2])
+        if cart > newCart or (cart == newCart and version >= newVersion) then
+          return 0
+        end
+      end
+      redis.call('HSET', KEYS[1], 'cart', ARGV[1], 'version', ARGV[2])
+      redis.call('PEXPIRE', KEYS[1], ARGV[3])
+      return 1
+      """, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration ttl;
+
+  public CartVersionCache(StringRedisTemplate redisTemplate,
+      @Value("${cart.version-cache-ttl:30m}") Duration ttl) {
+    this.redisTemplate = redisTemplate;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Strong ETag of a cart content version.
+   */
+  public static String eTag(Long cartId, Long version) {
+    return "\"" + cartId + "." + (version != null ? version : 0L) + "\"";
+  }
+
+  /**
+   * ETag of the customer's cart, if its latest version is known.
+   */
+  public Optional<String> find(Long customerId) {
+    try {
+      List<String> values = redisTemplate.<String, String>opsForHash()
+          .multiGet(key(customerId), List.of("cart", "version"));
+      if (values.get(0) == null || values.get(1) == null) {
+        return Optional.empty();
+      }
+      long version = Long.parseLong(values.get(1));
+      return version == RETIRED
+          ? Optional.empty()
+          : Optional.of(eTag(Long.valueOf(values.get(0)), version));
+    } catch (RuntimeException e) {
+      log.debug("Cart version lookup failed for customer {}: {}", customerId, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Records a committed version of the customer's cart.
+   */
+  public void record(Long customerId, Long cartId, Long version) {
+    if (customerId == null || cartId == null || version == null) {
+      return;
+    }
+    try {
+      redisTemplate.execute(RECORD_IF_NEWER, List.of(key(customerId)), String.valueOf(cartId),
+          String.valueOf(version), String.valueOf(ttl.toMillis()));
+    } catch (RuntimeException e) {
+      log.warn("Could not record cart version for customer {}: {}", customerId, e.getMessage());
+    }
+  }
+
+  /**
+   * Stops conditional reads from matching the cart (e.g. once converted to an order).
+   */
+  public void retire(Long customerId, Long cartId) {
+    record(customerId, cartId, RETIRED);
+  }
+
+  /**
+   * Retires the converted cart once the checkout has committed (or right away when it ran without
+   * a transaction); a rolled-back checkout leaves the cart matching.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCartConverted(CartConvertedEvent event) {
+    retire(event.customerId(), event.cartId());
+  }
+
+  private static String key(Long customerId) {
+    return KEY_PREFIX + customerId;
+  }
+}
@@ -9,30 +9,29 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Cache Configuration for E-Commerce Platform
  * <p>
  * Configures Redis-based caching with appropriate TTLs for different cache types. Optimized for
- * high-traffic scenarios with efficient serialization.
+ * high-traffic scenarios with efficient serialization: values use the shared
+ * {@link CompactRedisSerializer} (see {@code product.cache.serialization.*}).
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-    // Create JSON serializer for Redis cache values
-    RedisSerializer<Object> jsonSerializer = RedisSerializer.json();
+  public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+      CompactRedisSerializer redisCacheValueSerializer) {
 
     RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
         .entryTtl(Duration.ofHours(1)) // Default 1 hour TTL
         .serializeKeysWith(
             RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
         .serializeValuesWith(
-            RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
+            RedisSerializationContext.SerializationPair.fromSerializer(redisCacheValueSerializer))
         .disableCachingNullValues();
 
     // Product cache - longer TTL as products don't change frequently
@@ -0,0 +1,142 @@
+package com.commercepal.apiservice.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Approximate retained heap size of an L1 cache entry, in bytes.
+ * <p>
+ * A structural estimate: strings, byte arrays, boxed values, collections and maps are sized
+ * directly, and other objects (records, DTOs) by walking their instance fields, which are looked
+ * up once per class. Nothing is serialized, so weighing stays cheap even though it runs on every L1
+ * write, including copies of L2 hits. An object referenced twice is counted twice, and very deeply
+ * nested objects or those of inaccessible (JDK internal) classes get a fixed weight; the absolute
+ * figure is rough, but entries are weighed consistently against each other, which is what the
+ * per-region byte budgets need.
+ */
+final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+  private static final int ENTRY_OVERHEAD = 64;
+  private static final int OBJECT_HEADER = 16;
+  private static final int REFERENCE = 8;
+  private static final int MAX_DEPTH = 16;
+  private static final int UNKNOWN_VALUE_WEIGHT = 1024;
+
+  // Instance fields of a class, null if they cannot be read
+  private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+    @Override
+    protected Field[] computeValue(Class<?> type) {
+      List<Field> fields = new ArrayList<>();
+      try {
+        for (Class<?> current = type; current != null && current != Object.class;
+            current = current.getSuperclass()) {
+          for (Field field : current.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+              field.setAccessible(true);
+              fields.add(field);
+            }
+          }
+        }
+      } catch (RuntimeException e) {
+        return null;
+      }
+      return fields.toArray(Field[]::new);
+    }
+  };
+
+  @Override
+  public int weigh(Object key, Object value) {
+    long weight = ENTRY_OVERHEAD + sizeOf(key, 0) + sizeOf(value, 0);
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  private static long sizeOf(Object value, int depth) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String text) {
+      return 40L + 2L * text.length();
+    }
+    if (value instanceof byte[] bytes) {
+      return 16L + bytes.length;
+    }
+    if (value instanceof Enum<?> || value instanceof Boolean || value instanceof Class<?>) {
+      // Shared instances
+      return 0;
+    }
+    if (value instanceof BigDecimal || value instanceof BigInteger) {
+      return 64;
+    }
+    if (value instanceof Number || value instanceof Character) {
+      return 16;
+    }
+    if (value instanceof TemporalAccessor) {
+      return 64;
+    }
+    if (depth >= MAX_DEPTH) {
+      return UNKNOWN_VALUE_WEIGHT;
+    }
+    if (value instanceof Collection<?> collection) {
+      long size = 40L + (long) REFERENCE * collection.size();
+      for (Object element : collection) {
+        size += sizeOf(element, depth + 1);
+      }
+      return size;
+    }
+    if (value instanceof Map<?, ?> map) {
+      long size = 48L + 48L * map.size();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        size += sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+      }
+      return size;
+    }
+    if (value instanceof Optional<?> optional) {
+      return OBJECT_HEADER + REFERENCE + sizeOf(optional.orElse(null), depth + 1);
+    }
+    if (value.getClass().isArray()) {
+      return sizeOfArray(value, depth);
+    }
+    return sizeOfFields(value, depth);
+  }
+
+  private static long sizeOfArray(Object array, int depth) {
+    int length = Array.getLength(array);
+    if (array.getClass().getComponentType().isPrimitive()) {
+      return 16L + 8L * length;
+    }
+    long size = 16L + (long) REFERENCE * length;
+    for (Object element : (Object[]) array) {
+      size += sizeOf(element, depth + 1);
+    }
+    return size;
+  }
+
+  private static long sizeOfFields(Object value, int depth) {
+    Field[] fields = FIELDS.get(value.getClass());
+    if (fields == null) {
+      return UNKNOWN_VALUE_WEIGHT;
+    }
+    long size = OBJECT_HEADER;
+    try {
+      for (Field field : fields) {
+        size += REFERENCE;
+        if (!field.getType().isPrimitive()) {
+          size += sizeOf(field.get(value), depth + 1);
+        }
+      }
+    } catch (IllegalAccessException e) {
+      return UNKNOWN_VALUE_WEIGHT;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,127 @@
+package com.commercepal.apiservice.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/cacheregions}) showing how the in-memory L1 regions use the
+ * heap: entries, weighted size against the budget, hit ratio, evictions and the heaviest keys.
+ * Weights are the approximate bytes of {@link CacheEntryWeigher}. Finding the heaviest keys scans
+ * the region, so it is meant for occasional inspection. Not exposed by default: add it to
+ * {@code ACTUATOR_ENDPOINTS}; like the other non-public actuator endpoints it requires an admin.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+  private static final int DEFAULT_TOP_KEYS = 10;
+  private static final int MAX_TOP_KEYS = 100;
+
+  private final CacheManager caffeineCacheManager;
+
+  public CacheRegionsEndpoint(
+      @Qualifier("caffeineCacheManager") CacheManager caffeineCacheManager) {
+    this.caffeineCacheManager = caffeineCacheManager;
+  }
+
+  /**
+   * Approximate weight of one key, in bytes.
+   */
+  public record KeyWeight(String key, long weight) {
+
+  }
+
+  /**
+   * Usage of one L1 region. Weights are null for a region capped by entry count.
+   */
+  public record RegionUsage(String name, long entries, Long weightedSize, long maximum,
+                            boolean weighted, double hitRatio, long hitCount, long missCount,
+                            long evictionCount, long evictionWeight, List<KeyWeight> topKeys) {
+
+  }
+
+  @ReadOperation
+  public Map<String, RegionUsage> regions() {
+    Map<String, RegionUsage> regions = new LinkedHashMap<>();
+    for (String name : caffeineCacheManager.getCacheNames()) {
+      RegionUsage usage = usage(name, DEFAULT_TOP_KEYS);
+      if (usage != null) {
+        regions.put(name, usage);
+      }
+    }
+    return regions;
+  }
+
+  /**
+   * @param name Region name
+   * @param top  Number of heaviest keys to list (default 10, at most 100)
+   */
+  @ReadOperation
+  public RegionUsage region(@Selector String name, @Nullable Integer top) {
+    int limit = top == null ? DEFAULT_TOP_KEYS : Math.max(0, Math.min(top, MAX_TOP_KEYS));
+    return usage(name, limit);
+  }
+
+  private RegionUsage usage(String name, int topKeys) {
+    Cache cache = caffeineCacheManager.getCache(name);
+    if (!(cache instanceof CaffeineCache caffeineCache)) {
+      return null;
+    }
+    com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+        caffeineCache.getNativeCache();
+    CacheStats stats = nativeCache.stats();
+    Policy.Eviction<Object, Object> eviction = nativeCache.policy().eviction().orElse(null);
+    boolean weighted = eviction != null && eviction.isWeighted();
+
+    return new RegionUsage(
+        name,
+        nativeCache.estimatedSize(),
+        weighted ? eviction.weightedSize().orElse(0) : null,
+        eviction == null ? 0 : eviction.getMaximum(),
+        weighted,
+        stats.hitRate(),
+        stats.hitCount(),
+        stats.missCount(),
+        stats.evictionCount(),
+        stats.evictionWeight(),
+        weighted ? heaviestKeys(nativeCache, eviction, topKeys) : List.of());
+  }
+
+  private static List<KeyWeight> heaviestKeys(
+      com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache,
+      Policy.Eviction<Object, Object> eviction, int limit) {
+    if (limit == 0) {
+      return List.of();
+    }
+    // Min-heap of the heaviest keys seen so far
+    PriorityQueue<KeyWeight> heaviest = new PriorityQueue<>(
+        Comparator.comparingLong(KeyWeight::weight));
+    for (Object key : nativeCache.asMap().keySet()) {
+      int weight = eviction.weightOf(key).orElse(0);
+      if (heaviest.size() < limit) {
+        heaviest.add(new KeyWeight(String.valueOf(key), weight));
+      } else if (weight > heaviest.peek().weight()) {
+        heaviest.poll();
+        heaviest.add(new KeyWeight(String.valueOf(key), weight));
+      }
+    }
+    List<KeyWeight> keys = new ArrayList<>(heaviest);
+    keys.sort(Comparator.comparingLong(KeyWeight::weight).reversed());
+    return keys;
+  }
+}
@@ -0,0 +1,214 @@
+package com.commercepal.apiservice.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis cache value serializer writing compact binary entries.
+ * <p>
+ * A compact entry is a header ({@code 0x00 0xC5}, format version, flags) followed by the value in
+ * Jackson Smile with the same type hints as the JSON serializer, deflated when larger than the
+ * compression threshold (the flag then marks it, and the original length follows the header).
+ * <p>
+ * Reading accepts both compact and plain JSON entries, the JSON ones being told apart by their
+ * first byte, so entries written before the switch stay readable and writing JSON again is a
+ * safe rollback. An entry of an unknown (newer) format version is read as a miss.
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final byte MAGIC_0 = 0x00;
+  private static final byte MAGIC_1 = (byte) 0xC5;
+  private static final byte FLAG_DEFLATED = 0x01;
+  private static final int HEADER_LENGTH = 4;
+  private static final int ORIGINAL_LENGTH_BYTES = 4;
+  private static final int MAX_INFLATED_LENGTH = 64 * 1024 * 1024;
+
+  private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+  private final GenericJackson2JsonRedisSerializer smile;
+  private final boolean compact;
+  private final int compressionThreshold;
+  private final int compressionLevel;
+
+  private final Counter encodedBytes;
+  private final Counter storedBytes;
+  private final Counter compressionSavedBytes;
+  private final Counter compactReads;
+  private final Counter jsonReads;
+  private final Counter unknownVersionReads;
+
+  /**
+   * @param compact              Write compact entries; false writes plain JSON
+   * @param compressionThreshold Encoded size in bytes above which compact entries are deflated
+   * @param compressionLevel     {@link Deflater} level
+   */
+  public CompactRedisSerializer(boolean compact, int compressionThreshold, int compressionLevel,
+      MeterRegistry meterRegistry) {
+    this.compact = compact;
+    this.compressionThreshold = compressionThreshold;
+    this.compressionLevel = compressionLevel;
+    this.smile = new GenericJackson2JsonRedisSerializer(smileMapper());
+
+    this.encodedBytes = bytesCounter(meterRegistry, "encoded",
+        "Serialized size of cached values before compression");
+    this.storedBytes = bytesCounter(meterRegistry, "stored",
+        "Size of cached values as written to Redis");
+    this.compressionSavedBytes = Counter.builder("cache.redis.serializer.saved.bytes")
+        .description("Bytes saved by compressing cached values")
+        .register(meterRegistry);
+    this.compactReads = readsCounter(meterRegistry, "compact");
+    this.jsonReads = readsCounter(meterRegistry, "json");
+    this.unknownVersionReads = readsCounter(meterRegistry, "unknown-version");
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (!compact) {
+      byte[] bytes = json.serialize(value);
+      record(bytes.length, bytes.length);
+      return bytes;
+    }
+
+    byte[] encoded = smile.serialize(value);
+    byte[] deflated = encoded.length > compressionThreshold ? deflate(encoded) : null;
+    if (deflated == null || deflated.length + ORIGINAL_LENGTH_BYTES >= encoded.length) {
+      record(encoded.length, HEADER_LENGTH + encoded.length);
+      return ByteBuffer.allocate(HEADER_LENGTH + encoded.length)
+          .put(header((byte) 0))
+          .put(encoded)
+          .array();
+    }
+
+    int stored = HEADER_LENGTH + ORIGINAL_LENGTH_BYTES + deflated.length;
+    record(encoded.length, stored);
+    compressionSavedBytes.increment(encoded.length - deflated.length);
+    return ByteBuffer.allocate(stored)
+        .put(header(FLAG_DEFLATED))
+        .putInt(encoded.length)
+        .put(deflated)
+        .array();
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC_0 || bytes[1] != MAGIC_1) {
+      // Written as JSON, before the switch or by a node writing JSON
+      jsonReads.increment();
+      return json.deserialize(bytes);
+    }
+    if (bytes[2] != FORMAT_VERSION) {
+      unknownVersionReads.increment();
+      log.debug("Redis cache entry of unknown format version {}, treated as a miss", bytes[2]);
+      return null;
+    }
+
+    compactReads.increment();
+    if ((bytes[3] & FLAG_DEFLATED) == 0) {
+      return smile.deserialize(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+    }
+    int originalLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, ORIGINAL_LENGTH_BYTES).getInt();
+    return smile.deserialize(inflate(bytes, HEADER_LENGTH + ORIGINAL_LENGTH_BYTES,
+        originalLength));
+  }
+
+  private byte[] deflate(byte[] input) {
+    Deflater deflater = new Deflater(compressionLevel);
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+      ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        output.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] bytes, int offset, int originalLength) {
+    if (originalLength < 0 || originalLength > MAX_INFLATED_LENGTH) {
+      throw new SerializationException("Invalid compressed cache entry length: " + originalLength);
+    }
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, offset, bytes.length - offset);
+      byte[] output = new byte[originalLength];
+      int length = 0;
+      while (length < originalLength && !inflater.finished()) {
+        int inflated = inflater.inflate(output, length, originalLength - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != originalLength) {
+        throw new SerializationException("Truncated compressed cache entry");
+      }
+      return output;
+    } catch (DataFormatException e) {
+      throw new SerializationException("Corrupt compressed cache entry", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] header(byte flags) {
+    return new byte[]{MAGIC_0, MAGIC_1, FORMAT_VERSION, flags};
+  }
+
+  private void record(int encoded, int stored) {
+    encodedBytes.increment(encoded);
+    storedBytes.increment(stored);
+  }
+
+  /**
+   * Smile mapper typed like the JSON serializer's, so any cached value round-trips to its class.
+   * Unknown properties are ignored, so entries survive a rollout that adds a field.
+   */
+  @SuppressWarnings("deprecation")
+  private static ObjectMapper smileMapper() {
+    ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+        .findAndRegisterModules()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+    mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+        ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+    return mapper;
+  }
+
+  private static Counter bytesCounter(MeterRegistry meterRegistry, String stage,
+      String description) {
+    return Counter.builder("cache.redis.serializer.bytes")
+        .description(description)
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private static Counter readsCounter(MeterRegistry meterRegistry, String format) {
+    return Counter.builder("cache.redis.serializer.reads")
+        .description("Redis cache entries read, by stored format")
+        .tag("format", format)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,254 @@
+package com.commercepal.apiservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * One cache region in two tiers: the node's in-memory L1 in front of the shared Redis L2.
+ * <p>
+ * Reads go L1, then L2, then the loader; an L2 hit is copied into L1 and a loaded value is written
+ * to both tiers. Evictions go to both tiers and are broadcast so every other node drops its L1
+ * copy. Writes of a region with an L2 tier are broadcast too, but the other nodes only mark their
+ * L1 copy stale: it is replaced from L2 on its next read and kept if L2 has nothing, so a write
+ * never sends another node back to the provider. Writes of an L1-only region are not broadcast,
+ * each node's copy being its only one. Keys are normalized to strings, the form Redis stores them
+ * in, so a message received from another node matches the local entry. L2 is best effort: any
+ * Redis or serialization failure is counted and treated as a miss.
+ */
+@Slf4j
+final class LayeredCache implements Cache {
+
+  /**
+   * Sends writes and evictions to the other nodes.
+   */
+  interface InvalidationPublisher {
+
+    void written(String cacheName, String key);
+
+    void evicted(String cacheName, String key);
+
+    void cleared(String cacheName);
+  }
+
+  private final String name;
+  private final Cache l1;
+  private final Cache l2;
+  private final InvalidationPublisher publisher;
+  private final Counter l1Hits;
+  private final Counter l1Misses;
+  private final Counter l2Hits;
+  private final Counter l2Misses;
+  private final Counter l2Errors;
+
+  /**
+   * @param l2 Redis tier, null for a region kept in memory only
+   */
+  LayeredCache(String name, Cache l1, Cache l2, InvalidationPublisher publisher,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.l1 = l1;
+    this.l2 = l2;
+    this.publisher = publisher;
+    this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+    this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+    this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+    this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+    this.l2Errors = tierCounter(meterRegistry, "l2", "error");
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return l1.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String cacheKey = cacheKey(key);
+    ValueWrapper cached = l1.get(cacheKey);
+    if (cached != null && !(cached.get() instanceof Stale)) {
+      l1Hits.increment();
+      return cached;
+    }
+    l1Misses.increment();
+
+    Object shared = getFromL2(cacheKey);
+    if (shared == null) {
+      // Written on another node but gone from L2 (or L2 failing): the stale copy still serves
+      return cached == null ? null : new SimpleValueWrapper(((Stale) cached.get()).value());
+    }
+    l1.put(cacheKey, shared);
+    return new SimpleValueWrapper(shared);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper cached = get(key);
+    Object value = cached == null ? null : cached.get();
+    if (value != null && type != null && !type.isInstance(value)) {
+      // Typically an L2 entry written by an incompatible version: drop it and reload
+      log.warn("Cache {}: dropping entry of unexpected type {} for key {}", name,
+          value.getClass().getName(), key);
+      l2Errors.increment();
+      evict(key);
+      return null;
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper cached = get(key);
+    if (cached != null) {
+      return (T) cached.get();
+    }
+    String cacheKey = cacheKey(key);
+    // The L1 cache loads each key once per node; the value is then shared through L2
+    return l1.get(cacheKey, () -> {
+      T value = valueLoader.call();
+      putToL2(cacheKey, value);
+      return value;
+    });
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    String cacheKey = cacheKey(key);
+    l1.put(cacheKey, value);
+    putToL2(cacheKey, value);
+    if (l2 != null) {
+      publisher.written(name, cacheKey);
+    }
+  }
+
+  /**
+   * Not atomic across tiers: a concurrent write on another node may win.
+   */
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = get(key);
+    if (existing != null) {
+      return existing;
+    }
+    put(key, value);
+    return null;
+  }
+
+  @Override
+  public void evict(Object key) {
+    String cacheKey = cacheKey(key);
+    l1.evict(cacheKey);
+    if (l2 != null) {
+      try {
+        l2.evict(cacheKey);
+      } catch (RuntimeException e) {
+        l2Error("evict", e);
+      }
+    }
+    publisher.evicted(name, cacheKey);
+  }
+
+  @Override
+  public void clear() {
+    l1.clear();
+    if (l2 != null) {
+      try {
+        l2.clear();
+      } catch (RuntimeException e) {
+        l2Error("clear", e);
+      }
+    }
+    publisher.cleared(name);
+  }
+
+  /**
+   * Marks the local L1 entry stale, on behalf of another node's write: its next read re-reads L2.
+   */
+  void markStaleLocal(String cacheKey) {
+    ValueWrapper cached = l1.get(cacheKey);
+    if (cached == null || cached.get() instanceof Stale) {
+      return;
+    }
+    if (cached.get() == null) {
+      l1.evict(cacheKey);
+      return;
+    }
+    l1.put(cacheKey, new Stale(cached.get()));
+  }
+
+  /**
+   * Drops the local L1 entry only, on behalf of another node's eviction.
+   */
+  void evictLocal(String cacheKey) {
+    l1.evict(cacheKey);
+  }
+
+  /**
+   * Drops all local L1 entries only, on behalf of another node's clear.
+   */
+  void clearLocal() {
+    l1.clear();
+  }
+
+  private Object getFromL2(String cacheKey) {
+    if (l2 == null) {
+      return null;
+    }
+    try {
+      ValueWrapper shared = l2.get(cacheKey);
+      Object value = shared == null ? null : shared.get();
+      (value == null ? l2Misses : l2Hits).increment();
+      return value;
+    } catch (RuntimeException e) {
+      l2Error("get", e);
+      return null;
+    }
+  }
+
+  private void putToL2(String cacheKey, Object value) {
+    if (l2 == null || value == null) {
+      return;
+    }
+    try {
+      l2.put(cacheKey, value);
+    } catch (RuntimeException e) {
+      l2Error("put", e);
+    }
+  }
+
+  private void l2Error(String operation, RuntimeException e) {
+    l2Errors.increment();
+    log.debug("Cache {}: L2 {} failed, continuing with L1 only: {}", name, operation,
+        e.getMessage());
+  }
+
+  private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+    return Counter.builder("cache.tier.requests")
+        .description("Layered cache lookups per tier")
+        .tag("cache", name)
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * L1 value superseded by a write on another node, kept until L2 provides the new one.
+   */
+  private record Stale(Object value) {
+
+  }
+
+  private static String cacheKey(Object key) {
+    return String.valueOf(key);
+  }
+}
@@ -0,0 +1,177 @@
+package com.commercepal.apiservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cache manager combining an in-memory L1 manager with a Redis L2 manager into
+ * {@link LayeredCache} regions, and keeping the nodes' L1 tiers coherent.
+ * <p>
+ * Every write to an L2 region, eviction or clear is published on a Redis channel as
+ * {@code <W|E|C> <node> <cache> [key]}; the other nodes mark the key stale (W), evict it (E) or
+ * clear the region (C) in their L1. Without Redis the broadcast is skipped and L1 entries simply
+ * live out their TTL.
+ */
+@Slf4j
+public class LayeredCacheManager implements CacheManager, LayeredCache.InvalidationPublisher,
+    InitializingBean, DisposableBean {
+
+  private static final String WRITE = "W";
+  private static final String EVICT = "E";
+  private static final String CLEAR = "C";
+
+  private final CacheManager l1Manager;
+  private final CacheManager l2Manager;
+  private final Set<String> l2CacheNames;
+  private final StringRedisTemplate redisTemplate;
+  private final RedisConnectionFactory connectionFactory;
+  private final String channel;
+  private final MeterRegistry meterRegistry;
+  private final Counter invalidationsSent;
+  private final Counter invalidationsReceived;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ConcurrentHashMap<String, LayeredCache> caches = new ConcurrentHashMap<>();
+
+  private RedisMessageListenerContainer listenerContainer;
+
+  /**
+   * @param l1Manager         In-memory caches; defines the available regions
+   * @param l2Manager         Redis caches, null to run on L1 only
+   * @param l2CacheNames      Regions that use L2
+   * @param redisTemplate     Publishes invalidations, null to skip the broadcast
+   * @param connectionFactory Subscribes to invalidations, null to skip the broadcast
+   * @param channel           Invalidation channel
+   */
+  public LayeredCacheManager(CacheManager l1Manager, CacheManager l2Manager,
+      Set<String> l2CacheNames, StringRedisTemplate redisTemplate,
+      RedisConnectionFactory connectionFactory, String channel, MeterRegistry meterRegistry) {
+    this.l1Manager = l1Manager;
+    this.l2Manager = l2Manager;
+    this.l2CacheNames = Set.copyOf(l2CacheNames);
+    this.redisTemplate = redisTemplate;
+    this.connectionFactory = connectionFactory;
+    this.channel = channel;
+    this.meterRegistry = meterRegistry;
+    this.invalidationsSent = invalidationCounter("sent");
+    this.invalidationsReceived = invalidationCounter("received");
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    LayeredCache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache l1 = l1Manager.getCache(name);
+    if (l1 == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, cacheName -> new LayeredCache(cacheName, l1,
+        l2Manager != null && l2CacheNames.contains(cacheName) ? l2Manager.getCache(cacheName)
+            : null,
+        this, meterRegistry));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return l1Manager.getCacheNames();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    if (connectionFactory == null || redisTemplate == null) {
+      log.info("Layered cache: Redis not configured, L1 invalidation broadcast disabled");
+      return;
+    }
+    try {
+      RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+      container.setConnectionFactory(connectionFactory);
+      container.addMessageListener((message, pattern) -> onInvalidation(message),
+          new ChannelTopic(channel));
+      container.afterPropertiesSet();
+      container.start();
+      listenerContainer = container;
+      log.info("Layered cache: L1 invalidations on channel '{}', L2 regions {}", channel,
+          l2CacheNames);
+    } catch (RuntimeException e) {
+      log.warn("Layered cache: could not subscribe to invalidations: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (listenerContainer != null) {
+      listenerContainer.stop();
+    }
+  }
+
+  @Override
+  public void written(String cacheName, String key) {
+    publish(WRITE + " " + nodeId + " " + cacheName + " " + key);
+  }
+
+  @Override
+  public void evicted(String cacheName, String key) {
+    publish(EVICT + " " + nodeId + " " + cacheName + " " + key);
+  }
+
+  @Override
+  public void cleared(String cacheName) {
+    publish(CLEAR + " " + nodeId + " " + cacheName);
+  }
+
+  private void publish(String message) {
+    if (listenerContainer == null) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(channel, message);
+      invalidationsSent.increment();
+    } catch (RuntimeException e) {
+      log.debug("Layered cache: could not broadcast invalidation: {}", e.getMessage());
+    }
+  }
+
+  private void onInvalidation(Message message) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ", 4);
+    if (parts.length < 3 || nodeId.equals(parts[1])) {
+      // Malformed, or our own broadcast
+      return;
+    }
+    LayeredCache cache = caches.get(parts[2]);
+    if (cache == null) {
+      // Region not used on this node yet: nothing to drop
+      return;
+    }
+    invalidationsReceived.increment();
+    if (CLEAR.equals(parts[0])) {
+      cache.clearLocal();
+    } else if (WRITE.equals(parts[0]) && parts.length == 4) {
+      cache.markStaleLocal(parts[3]);
+    } else if (EVICT.equals(parts[0]) && parts.length == 4) {
+      cache.evictLocal(parts[3]);
+    }
+  }
+
+  private Counter invalidationCounter(String direction) {
+    return Counter.builder("cache.tier.invalidations")
+        .description("Cross-node L1 invalidations")
+        .tag("direction", direction)
+        .register(meterRegistry);
+  }
+}
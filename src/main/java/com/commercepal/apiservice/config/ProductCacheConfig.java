@@ -1,8 +1,15 @@
 package com.commercepal.apiservice.config;
 
+import com.commercepal.apiservice.products.ProductProperties;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -12,52 +19,112 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Multi-layer caching configuration for ultra-fast product operations. L1 Cache: Caffeine
  * (in-memory, sub-millisecond) L2 Cache: Redis (distributed, cross-instance)
+ * <p>
+ * The primary {@link LayeredCacheManager} serves every region read-through from L1, then L2, and
+ * keeps the nodes' L1 tiers coherent. Region TTLs and sizes come from {@code product.cache.*}; the
+ * {@code cacheregions} actuator endpoint shows how full each L1 region is.
  */
 @Slf4j
 @Configuration
 @EnableCaching
 public class ProductCacheConfig {
 
+  private static final List<String> CACHE_NAMES = List.of(
+      "productSearch", // Search results cache
+      "productDetail", // Individual product details (legacy)
+      "productDetails", // Product details for display (with reviews/recommendations)
+      "productDetailsForOrder", // Product details for order placement (optimized)
+      "productDetailSource", // Unpriced provider detail, priced per country/currency on read
+      "productDescription", // Parsed HTML descriptions by content hash
+      "productReviews", // Reviews, paged separately from the detail
+      "categoryLookup", // Category metadata
+      "brandLookup", // Brand metadata
+      "exchangeRates" // Currency exchange rates
+  );
+
   /**
-   * L1 Cache: Local in-memory cache using Caffeine. Ultra-fast access for hot data with automatic
-   * eviction.
+   * Read-through L1 -> L2 cache manager used by the application.
    */
   @Bean
   @Primary
-  public CacheManager caffeineCacheManager() {
-    CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-        "productSearch", // Search results cache
-        "productDetail", // Individual product details (legacy)
-        "productDetails", // Product details for display (with reviews/recommendations)
-        "productDetailsForOrder", // Product details for order placement (optimized)
-        "categoryLookup", // Category metadata
-        "brandLookup", // Brand metadata
-        "exchangeRates" // Currency exchange rates
-    );
-
-    cacheManager.setCaffeine(Caffeine.newBuilder()
-        .maximumSize(10_000) // Max 10k entries
-        .expireAfterWrite(Duration.ofMinutes(5)) // Refresh every 5 minutes
-        .expireAfterAccess(Duration.ofMinutes(3)) // Evict if not accessed
-        .recordStats() // Enable metrics
-    );
-
-    log.info("Caffeine L1 cache initialized with max size: 10,000, TTL: 5min");
+  public CacheManager layeredCacheManager(
+      @Qualifier("caffeineCacheManager") CacheManager caffeineCacheManager,
+      @Qualifier("redisCacheManager") CacheManager redisCacheManager,
+      ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+      ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+      ProductProperties productProperties, MeterRegistry meterRegistry) {
+    ProductProperties.CacheTiers tiers = productProperties.getCache();
+    Set<String> l2CacheNames = CACHE_NAMES.stream()
+        .filter(name -> tiers.isL2Enabled() && isPositive(tiers.region(name).getL2Ttl()))
+        .collect(Collectors.toSet());
+
+    return new LayeredCacheManager(caffeineCacheManager, redisCacheManager, l2CacheNames,
+        redisTemplateProvider.getIfAvailable(), connectionFactoryProvider.getIfAvailable(),
+        tiers.getInvalidationChannel(), meterRegistry);
+  }
+
+  /**
+   * L1 Cache: Local in-memory cache using Caffeine. Ultra-fast access for hot data with automatic
+   * eviction. Each region has its own TTL and byte budget, entries being weighed by their
+   * approximate heap size, so regions of large and small entries can be sized independently.
+   */
+  @Bean
+  public CacheManager caffeineCacheManager(ProductProperties productProperties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    ProductProperties.CacheTiers tiers = productProperties.getCache();
+    CacheEntryWeigher weigher = new CacheEntryWeigher();
+    for (String name : CACHE_NAMES) {
+      ProductProperties.CacheRegion region = tiers.region(name);
+      Caffeine<Object, Object> builder = Caffeine.newBuilder()
+          .expireAfterWrite(region.getL1Ttl())
+          .recordStats(); // Enable metrics
+      DataSize maxWeight = region.getL1MaxWeight();
+      if (maxWeight != null && maxWeight.toBytes() > 0) {
+        builder.maximumWeight(maxWeight.toBytes()).weigher(weigher);
+      } else {
+        builder.maximumSize(region.getL1MaxSize());
+      }
+      cacheManager.registerCustomCache(name, builder.build());
+    }
+    // Only the regions above exist
+    cacheManager.setCacheNames(List.of());
+
+    log.info("Caffeine L1 cache initialized with {} regions (default budget: {}, TTL: {})",
+        CACHE_NAMES.size(), tiers.getDefaults().getL1MaxWeight(), tiers.getDefaults().getL1Ttl());
     return cacheManager;
   }
 
+  /**
+   * Redis cache value format: compact binary entries, compressed when large, unless
+   * {@code product.cache.serialization.compact} is off. Reads accept either format.
+   */
+  @Bean
+  public CompactRedisSerializer redisCacheValueSerializer(ProductProperties productProperties,
+      MeterRegistry meterRegistry) {
+    ProductProperties.CacheSerialization serialization = productProperties.getCache()
+        .getSerialization();
+    log.info("Redis cache values: compact={}, compression above {} (level {})",
+        serialization.isCompact(), serialization.getCompressionThreshold(),
+        serialization.getCompressionLevel());
+    return new CompactRedisSerializer(serialization.isCompact(),
+        (int) serialization.getCompressionThreshold().toBytes(),
+        serialization.getCompressionLevel(), meterRegistry);
+  }
+
   /**
    * L2 Cache: Distributed Redis cache for cross-instance consistency.
    */
   @Bean
-  public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+  public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+      ProductProperties productProperties, CompactRedisSerializer redisCacheValueSerializer) {
     RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
         .entryTtl(Duration.ofMinutes(15))
         .serializeKeysWith(
@@ -65,7 +132,7 @@ public class ProductCacheConfig {
                 new StringRedisSerializer()))
         .serializeValuesWith(
             RedisSerializationContext.SerializationPair.fromSerializer(
-                new GenericJackson2JsonRedisSerializer()))
+                redisCacheValueSerializer))
         .disableCachingNullValues();
 
     // Custom TTL for different cache regions
@@ -78,20 +145,33 @@ public class ProductCacheConfig {
     RedisCacheConfiguration metadataConfig = defaultConfig
         .entryTtl(Duration.ofHours(1));
 
-    RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+    RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(
+            connectionFactory)
         .cacheDefaults(defaultConfig)
         .withCacheConfiguration("productSearchRedis", searchConfig)
         .withCacheConfiguration("productDetailRedis", detailConfig)
-        .withCacheConfiguration("productDetails", detailConfig) // Product details for display
-        .withCacheConfiguration("productDetailsForOrder",
-            detailConfig) // Product details for orders
         .withCacheConfiguration("categoryLookupRedis", metadataConfig)
         .withCacheConfiguration("brandLookupRedis", metadataConfig)
-        .withCacheConfiguration("exchangeRatesRedis", metadataConfig)
+        .withCacheConfiguration("exchangeRatesRedis", metadataConfig);
+
+    // L2 of the layered regions
+    ProductProperties.CacheTiers tiers = productProperties.getCache();
+    for (String name : CACHE_NAMES) {
+      Duration l2Ttl = tiers.region(name).getL2Ttl();
+      if (isPositive(l2Ttl)) {
+        builder.withCacheConfiguration(name, defaultConfig.entryTtl(l2Ttl));
+      }
+    }
+
+    RedisCacheManager cacheManager = builder
         .transactionAware()
         .build();
 
     log.info("Redis L2 cache initialized with distributed support");
     return cacheManager;
   }
+
+  private static boolean isPositive(Duration duration) {
+    return duration != null && !duration.isZero() && !duration.isNegative();
+  }
 }
@@ -1,6 +1,8 @@
 package com.commercepal.apiservice.orders.checkout;
 
+import com.commercepal.apiservice.cart.hot.HotCartStore;
 import com.commercepal.apiservice.cart.repository.CartRepository;
+import com.commercepal.apiservice.cart.service.CartConvertedEvent;
 import com.commercepal.apiservice.orders.checkout.dto.CheckoutItem;
 import com.commercepal.apiservice.orders.checkout.dto.CheckoutRequest;
 import com.commercepal.apiservice.orders.checkout.dto.CheckoutResult;
@@ -35,8 +37,10 @@ import com.commercepal.apiservice.utils.OrderUtil;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -68,6 +72,8 @@ public class CheckoutServiceImpl implements CheckoutService {
   private final AddressRepository addressRepository;
   private final ForeignExchangeService foreignExchangeService;
   private final CartRepository cartRepository;
+  private final HotCartStore hotCartStore;
+  private final ApplicationEventPublisher eventPublisher;
   private final PaymentMethodItemRepository paymentMethodItemRepository;
   private final PaymentMethodItemVariantRepository paymentMethodItemVariantRepository;
   private final OrderPaymentService orderPaymentService;
@@ -177,10 +183,21 @@ public class CheckoutServiceImpl implements CheckoutService {
    */
   private void processCheckoutItems(List<CheckoutItem> items, Order order,
       SupportedCountry country, SupportedCurrency currency) {
+    // Fetch all product details in one batched lookup
+    Map<String, ProductDetailResponse> products = otProductDetailService
+        .getProductDetailsForOrder(items.stream().map(CheckoutItem::itemId).toList(), country,
+            currency);
+    // Descriptions are parsed in the background; the order items need them now
+    Map<String, List<String>> descriptions = otProductDetailService.getProductDescriptions(
+        items.stream()
+            .map(CheckoutItem::itemId)
+            .filter(itemId -> !hasDescription(products.get(itemId)))
+            .toList());
+
     for (int i = 0; i < items.size(); i++) {
       CheckoutItem itemRequest = items.get(i);
-      OrderItem orderItem = processOrderItem(itemRequest, country, currency, i + 1,
-          order.getOrderNumber());
+      OrderItem orderItem = processOrderItem(itemRequest, products, descriptions, country,
+          currency, i + 1, order.getOrderNumber());
       order.addOrderItem(orderItem);
     }
   }
@@ -188,12 +205,21 @@ public class CheckoutServiceImpl implements CheckoutService {
   /**
    * Processes a single checkout item and creates an OrderItem.
    */
-  private OrderItem processOrderItem(CheckoutItem itemRequest, SupportedCountry country,
-      SupportedCurrency targetCurrency, int itemNumber,
+  private OrderItem processOrderItem(CheckoutItem itemRequest,
+      Map<String, ProductDetailResponse> products, Map<String, List<String>> descriptions,
+      SupportedCountry country, SupportedCurrency targetCurrency, int itemNumber,
       String orderNumber) {
-    // Fetch product details
-    ProductDetailResponse productDetail = fetchProductDetails(itemRequest.itemId(), country,
-        targetCurrency);
+    // Product details from the batched lookup; a failed item is retried alone for its error
+    ProductDetailResponse productDetail = products.get(itemRequest.itemId());
+    if (productDetail == null) {
+      productDetail = fetchProductDetails(itemRequest.itemId(), country, targetCurrency);
+    }
+    if (!hasDescription(productDetail)) {
+      productDetail = productDetail.toBuilder()
+          .description(descriptions.getOrDefault(itemRequest.itemId(), List.of()))
+          .descriptionPending(false)
+          .build();
+    }
 
     // Get exchange rate
     BigDecimal exchangeRate = fetchExchangeRate(targetCurrency);
@@ -217,6 +243,11 @@ public class CheckoutServiceImpl implements CheckoutService {
         financials, targetCurrency, exchangeRate, itemNumber, orderNumber);
   }
 
+  private static boolean hasDescription(ProductDetailResponse product) {
+    return product != null && product.description() != null
+        && !product.description().isEmpty();
+  }
+
   /**
    * Fetches product details from the product service.
    */
@@ -496,6 +527,9 @@ public class CheckoutServiceImpl implements CheckoutService {
    */
   private void linkAndConvertCart(Customer customer, Order order) {
     try {
+      // Write back pending changes of a hot cart before converting it
+      hotCartStore.flushAndEvict(customer.getId());
+
       // Find active cart for customer
       cartRepository.findActiveCartByCustomerId(customer.getId())
           .ifPresent(cart -> {
@@ -506,6 +540,9 @@ public class CheckoutServiceImpl implements CheckoutService {
             // Mark cart as converted
             cart.markAsConverted(order.getOrderNumber());
             cartRepository.save(cart);
+
+            // Conditional cart reads must not match the converted cart once this commits
+            eventPublisher.publishEvent(new CartConvertedEvent(customer.getId(), cart.getId()));
           });
     } catch (Exception e) {
       // Cart linking is non-critical - don't fail checkout if it errors
@@ -0,0 +1,193 @@
+package com.commercepal.apiservice.products;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cluster-wide single-flight for provider calls, backed by a short Redis lease.
+ * <p>
+ * The first node to take the lease for a key calls the provider and publishes the result under a
+ * short-lived result key. Other nodes poll for that result instead of calling the provider
+ * themselves, and fall back to a local call if the leader finishes without a shareable result or
+ * holds the lease past its TTL. Any Redis or serialization problem degrades to a local call, so the
+ * lease can only ever save provider calls, never fail a request.
+ * <p>
+ * Disabled unless {@code product.dedup.cluster-lease.enabled} is set and Redis is configured.
+ */
+@Slf4j
+@Component
+public class ClusterRequestLease {
+
+  private static final String LEASE_PREFIX = "product:dedup:lease:";
+  private static final String RESULT_PREFIX = "product:dedup:result:";
+
+  // Deletes the lease only if this node still owns it
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) "
+          + "else return 0 end", Long.class);
+
+  private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+  private final ObjectMapper objectMapper;
+  private final ProductProperties.ClusterLease properties;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public ClusterRequestLease(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+      ObjectMapper objectMapper, ProductProperties productProperties) {
+    this.redisTemplateProvider = redisTemplateProvider;
+    this.objectMapper = objectMapper;
+    this.properties = productProperties.getDedup().getClusterLease();
+  }
+
+  /**
+   * Runs the loader on at most one node per key at a time and shares its result.
+   *
+   * @param key        Coalescing key, identical on every node for the same request
+   * @param resultType Result type, used to share the result as JSON
+   * @param loader     Provider call
+   * @return Future completed with the leader's or the local result
+   */
+  public <T> CompletableFuture<T> execute(String key, TypeReference<T> resultType,
+      Supplier<CompletableFuture<T>> loader) {
+    StringRedisTemplate redis = properties.isEnabled()
+        ? redisTemplateProvider.getIfAvailable() : null;
+    if (redis == null) {
+      return loader.get();
+    }
+
+    try {
+      Optional<T> shared = readResult(redis, key, resultType);
+      if (shared.isPresent()) {
+        log.debug("Cluster dedup: reusing result published by another node for {}", key);
+        return CompletableFuture.completedFuture(shared.get());
+      }
+
+      Boolean acquired = redis.opsForValue()
+          .setIfAbsent(LEASE_PREFIX + key, nodeId, properties.getLeaseTtl());
+      if (Boolean.TRUE.equals(acquired)) {
+        return lead(redis, key, loader);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Cluster dedup unavailable for {}, calling provider locally: {}", key,
+          e.getMessage());
+      return loader.get();
+    }
+
+    log.debug("Cluster dedup: waiting for lease holder of {}", key);
+    long deadline = System.currentTimeMillis() + properties.getLeaseTtl().toMillis();
+    return follow(redis, key, resultType, loader, deadline);
+  }
+
+  private <T> CompletableFuture<T> lead(StringRedisTemplate redis, String key,
+      Supplier<CompletableFuture<T>> loader) {
+    CompletableFuture<T> result;
+    try {
+      result = loader.get();
+    } catch (RuntimeException e) {
+      releaseLease(redis, key);
+      throw e;
+    }
+
+    return result.whenComplete((value, error) -> {
+      // Publish before releasing, so followers that see the lease gone also see the result
+      if (error == null && value != null && !isEmptyList(value)) {
+        publishResult(redis, key, value);
+      }
+      releaseLease(redis, key);
+    });
+  }
+
+  private <T> CompletableFuture<T> follow(StringRedisTemplate redis, String key,
+      TypeReference<T> resultType, Supplier<CompletableFuture<T>> loader, long deadline) {
+    Executor pollDelay = CompletableFuture.delayedExecutor(
+        properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+    return CompletableFuture.supplyAsync(() -> pollLeader(redis, key, resultType, deadline),
+            pollDelay)
+        .thenCompose(poll -> {
+          if (poll.result() != null) {
+            return CompletableFuture.completedFuture(poll.result());
+          }
+          if (poll.keepWaiting()) {
+            return follow(redis, key, resultType, loader, deadline);
+          }
+          // Leader failed, published nothing or is too slow: call the provider ourselves
+          return loader.get();
+        });
+  }
+
+  private <T> Poll<T> pollLeader(StringRedisTemplate redis, String key,
+      TypeReference<T> resultType, long deadline) {
+    try {
+      Optional<T> shared = readResult(redis, key, resultType);
+      if (shared.isPresent()) {
+        return new Poll<>(shared.get(), false);
+      }
+      if (System.currentTimeMillis() < deadline
+          && Boolean.TRUE.equals(redis.hasKey(LEASE_PREFIX + key))) {
+        return new Poll<>(null, true);
+      }
+      // The result is published before the lease is released; check once more
+      return new Poll<>(readResult(redis, key, resultType).orElse(null), false);
+    } catch (RuntimeException e) {
+      log.warn("Cluster dedup poll failed for {}: {}", key, e.getMessage());
+      return new Poll<>(null, false);
+    }
+  }
+
+  private <T> Optional<T> readResult(StringRedisTemplate redis, String key,
+      TypeReference<T> resultType) {
+    String json = redis.opsForValue().get(RESULT_PREFIX + key);
+    if (json == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(objectMapper.readValue(json, resultType));
+    } catch (JsonProcessingException e) {
+      log.warn("Cluster dedup: unreadable shared result for {}: {}", key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void publishResult(StringRedisTemplate redis, String key, Object value) {
+    try {
+      redis.opsForValue().set(RESULT_PREFIX + key, objectMapper.writeValueAsString(value),
+          properties.getResultTtl());
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Cluster dedup: could not publish result for {}: {}", key, e.getMessage());
+    }
+  }
+
+  private void releaseLease(StringRedisTemplate redis, String key) {
+    try {
+      redis.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + key), nodeId);
+    } catch (RuntimeException e) {
+      log.warn("Cluster dedup: could not release lease for {} (expires on its own): {}", key,
+          e.getMessage());
+    }
+  }
+
+  private static boolean isEmptyList(Object value) {
+    return value instanceof List<?> list && list.isEmpty();
+  }
+
+  /**
+   * Outcome of one follower poll: the shared result, or whether the leader is still working.
+   */
+  private record Poll<T>(T result, boolean keepWaiting) {
+
+  }
+}
@@ -1,11 +1,14 @@
 package com.commercepal.apiservice.products;
 
+import com.commercepal.apiservice.products.dto.CustomerReviewView;
 import com.commercepal.apiservice.products.dto.ProductCardResponse;
 import com.commercepal.apiservice.products.dto.ProductDetailResponse;
 import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.products.dto.ProviderSearchBatch;
 import com.commercepal.apiservice.products.ot.OTProductDetailService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.utils.response.PagedResponse;
 import com.commercepal.apiservice.utils.response.ProductPagedResponse;
 import com.commercepal.apiservice.utils.response.ResponseWrapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,7 +17,9 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
@@ -24,7 +29,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for product search operations.
@@ -38,6 +45,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Products", description = "Search products across providers")
 public class ProductController {
 
+  private static final long SEARCH_STREAM_TIMEOUT_MS = 15_000;
+
   private final ProviderProductService providerProductService;
   private final OTProductDetailService otProductDetailService;
 
@@ -47,18 +56,21 @@ public class ProductController {
    * @param page  the page number (0-indexed, default: 0)
    * @param size  the number of results per page (default: 36)
    * @param query the search query string
+   * @param cursor opaque cursor from the previous page's pagination.nextCursor (optional)
    * @return the product search results
    */
   @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
   @Operation(summary = "Search products", description =
       "Returns provider-aggregated products for the given query with paging. "
           + "Include optional X-Country header (e.g., ET, KE, AE); defaults to INTERNATIONAL. "
-          + "Include optional X-Currency header (e.g., USD, ETB, AED); defaults to country's currency.")
+          + "Include optional X-Currency header (e.g., USD, ETB, AED); defaults to country's currency. "
+          + "Pass pagination.nextCursor back as 'cursor' to continue to the next page.")
   @ApiResponses({@ApiResponse(responseCode = "200", description = "Products retrieved"),
       @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
       @ApiResponse(responseCode = "500", description = "Internal server error")})
-  public ResponseEntity<ResponseWrapper<ProductPagedResponse<ProductCardResponse>>> searchProducts(
+  public CompletableFuture<ResponseEntity<ResponseWrapper<ProductPagedResponse<ProductCardResponse>>>> searchProducts(
       @ParameterObject ProductPageRequestDto request,
+      @Parameter(description = "Opaque cursor returned as pagination.nextCursor by the previous page") @RequestParam(value = "cursor", required = false) String cursor,
       @Parameter(in = ParameterIn.HEADER, description = "Country code (e.g., ET, KE, AE)", example = "ET") @RequestHeader(value = "X-Country", required = false) String countryCode,
       @Parameter(in = ParameterIn.HEADER, description = "Currency code (e.g., USD, ETB)", example = "ETB") @RequestHeader(value = "X-Currency", required = false) String currency) {
 
@@ -69,14 +81,63 @@ public class ProductController {
         supportedCountry,
         supportedCurrency);
 
-    List<ProductCardResponse> response = providerProductService.getProductsFromProvider(request,
-        supportedCountry,
-        supportedCurrency);
+    // Request thread is released while providers are queried (async servlet dispatch)
+    return providerProductService.getProductsFromProvider(request, cursor, supportedCountry,
+            supportedCurrency)
+        .thenApply(response -> {
+          log.info("[PRODUCT-API] GET /search - completed successfully");
+          return ResponseWrapper.successProducts(response.page(), response.items(),
+              response.nextCursor());
+        });
+  }
+
+  /**
+   * Progressive variant of {@link #searchProducts}: streams each provider's results as
+   * Server-Sent Events the moment they arrive.
+   * <p>
+   * Emits one {@code products} event per provider ({@link ProviderSearchBatch}) followed by a
+   * final {@code complete} event with a summary of completed and timed-out providers.
+   */
+  @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Stream product search", description =
+      "Streams provider results as Server-Sent Events: one 'products' event per provider as soon as "
+          + "it answers, then a final 'complete' event. Accepts the same parameters and headers as "
+          + "/search.")
+  @ApiResponses({@ApiResponse(responseCode = "200", description = "Event stream opened"),
+      @ApiResponse(responseCode = "400", description = "Invalid request parameters")})
+  public SseEmitter streamSearchProducts(
+      @ParameterObject ProductPageRequestDto request,
+      @Parameter(in = ParameterIn.HEADER, description = "Country code (e.g., ET, KE, AE)", example = "ET") @RequestHeader(value = "X-Country", required = false) String countryCode,
+      @Parameter(in = ParameterIn.HEADER, description = "Currency code (e.g., USD, ETB)", example = "ETB") @RequestHeader(value = "X-Currency", required = false) String currency) {
 
-    log.info("[PRODUCT-API] GET /search - completed successfully");
+    SupportedCountry supportedCountry = resolveCountry(countryCode);
+    SupportedCurrency supportedCurrency = resolveCurrency(currency, supportedCountry);
+
+    log.info("[PRODUCT-API] GET /search/stream - request: {}, country: {}, currency: {}", request,
+        supportedCountry, supportedCurrency);
+
+    SseEmitter emitter = new SseEmitter(SEARCH_STREAM_TIMEOUT_MS);
+
+    providerProductService.streamProductsFromProvider(request, supportedCountry,
+            supportedCurrency,
+            (provider, items) -> sendEvent(emitter, "products", ProviderSearchBatch.builder()
+                .provider(provider.getCode())
+                .count(items.size())
+                .items(items)
+                .build()))
+        .whenComplete((summary, ex) -> {
+          if (ex != null) {
+            log.error("[PRODUCT-API] GET /search/stream - failed: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+            return;
+          }
+          sendEvent(emitter, "complete", summary);
+          emitter.complete();
+          log.info("[PRODUCT-API] GET /search/stream - completed with {} items",
+              summary.totalItems());
+        });
 
-    return ResponseWrapper.successProducts(request.getPageOrDefault(), request.getSizeOrDefault(),
-        response);
+    return emitter;
   }
 
   /**
@@ -116,6 +177,64 @@ public class ProductController {
     return ResponseWrapper.success(response);
   }
 
+  /**
+   * Get the parsed description of a product. Detail responses carry an empty description with
+   * {@code descriptionPending} set while it is still being parsed; this endpoint waits for it.
+   *
+   * @param itemId the product item ID
+   * @return the description paragraphs
+   */
+  @GetMapping(value = "/{itemId}/description", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Get product description", description =
+      "Returns the product description as a list of text paragraphs parsed from the seller's HTML.")
+  @ApiResponses({@ApiResponse(responseCode = "200", description = "Product description retrieved"),
+      @ApiResponse(responseCode = "404", description = "Product not found"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")})
+  public ResponseEntity<ResponseWrapper<List<String>>> getProductDescription(
+      @Parameter(in = ParameterIn.PATH, description = "Product item ID", example = "sh-15782573", required = true) @PathVariable String itemId) {
+
+    log.info("[PRODUCT-API] GET /{itemId}/description - itemId: {}", itemId);
+
+    List<String> response = otProductDetailService.getProductDescription(itemId);
+
+    return ResponseWrapper.success(response);
+  }
+
+  /**
+   * Get one page of a product's customer reviews. Product details only carry the rating and review
+   * count ({@code meta}).
+   *
+   * @param itemId the product item ID
+   * @param page   the page number (0-indexed, default: 0)
+   * @param size   the number of reviews per page (default: 10, max: 50)
+   * @return the page of reviews
+   */
+  @GetMapping(value = "/{itemId}/reviews", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Get product reviews", description =
+      "Returns a page of customer reviews for a specific product by item ID.")
+  @ApiResponses({@ApiResponse(responseCode = "200", description = "Product reviews retrieved"),
+      @ApiResponse(responseCode = "404", description = "Product not found"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")})
+  public ResponseEntity<ResponseWrapper<PagedResponse<CustomerReviewView>>> getProductReviews(
+      @Parameter(in = ParameterIn.PATH, description = "Product item ID", example = "sh-15782573", required = true) @PathVariable String itemId,
+      @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Reviews per page (max 50)", example = "10") @RequestParam(defaultValue = "10") int size) {
+
+    log.info("[PRODUCT-API] GET /{itemId}/reviews - itemId: {}, page: {}, size: {}", itemId, page,
+        size);
+
+    return ResponseWrapper.success(otProductDetailService.getProductReviews(itemId, page, size));
+  }
+
+  private void sendEvent(SseEmitter emitter, String name, Object data) {
+    try {
+      emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+    } catch (IOException | IllegalStateException ex) {
+      // Client went away or stream already closed; remaining frames are dropped
+      log.debug("[PRODUCT-API] Could not send '{}' event: {}", name, ex.getMessage());
+    }
+  }
+
   private SupportedCountry resolveCountry(String countryCode) {
     if (countryCode == null || countryCode.isBlank()) {
       return SupportedCountry.INTERNATIONAL;
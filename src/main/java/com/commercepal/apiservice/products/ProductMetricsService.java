@@ -2,8 +2,15 @@ package com.commercepal.apiservice.products;
 
 import com.commercepal.apiservice.shared.enums.Provider;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,16 +23,31 @@ import org.springframework.stereotype.Service;
 @Service
 public class ProductMetricsService {
 
+  public static final double P95 = 0.95;
+  public static final double P99 = 0.99;
+
+  private final MeterRegistry meterRegistry;
   private final Counter searchRequests;
   private final Counter searchErrors;
   private final Counter cacheHits;
   private final Counter cacheMisses;
-  private final Counter providerErrors;
+  private final Counter searchCacheHits;
+  private final Counter searchCacheMisses;
+  private final Counter searchCacheStaleServed;
+  private final Counter prefetchStored;
+  private final Counter prefetchHits;
+  private final Counter prefetchSkipped;
+  private final Counter detailEarlyRefreshStarted;
+  private final Counter detailEarlyRefreshFailed;
+  private final Map<Provider, Counter> providerErrors = new EnumMap<>(Provider.class);
   private final Timer searchLatency;
-  private final Timer providerLatency;
+  private final Map<Provider, Timer> providerLatency = new EnumMap<>(Provider.class);
   private final Timer transformLatency;
+  private final Map<String, Timer> otLatency = new ConcurrentHashMap<>();
 
   public ProductMetricsService(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
     // Request counters
     this.searchRequests = Counter.builder("product.search.requests")
         .description("Total product search requests")
@@ -48,20 +70,82 @@ public class ProductMetricsService {
         .tag("service", "product")
         .register(meterRegistry);
 
-    // Provider metrics
-    this.providerErrors = Counter.builder("product.provider.errors")
-        .description("External provider errors")
+    // Search result cache metrics (per-provider pages)
+    this.searchCacheHits = Counter.builder("product.search.cache")
+        .description("Search cache lookups served from a fresh entry")
         .tag("service", "product")
+        .tag("result", "hit")
         .register(meterRegistry);
 
-    // Latency timers
-    this.searchLatency = Timer.builder("product.search.latency")
-        .description("Product search latency")
+    this.searchCacheMisses = Counter.builder("product.search.cache")
+        .description("Search cache lookups that called the provider")
+        .tag("service", "product")
+        .tag("result", "miss")
+        .register(meterRegistry);
+
+    this.searchCacheStaleServed = Counter.builder("product.search.cache")
+        .description("Search cache lookups served stale while refreshing")
+        .tag("service", "product")
+        .tag("result", "stale")
+        .register(meterRegistry);
+
+    // Next-page prefetch metrics; hit ratio = hit / stored
+    this.prefetchStored = Counter.builder("product.search.prefetch")
+        .description("Prefetched next pages stored in the search cache")
+        .tag("service", "product")
+        .tag("result", "stored")
+        .register(meterRegistry);
+
+    this.prefetchHits = Counter.builder("product.search.prefetch")
+        .description("Prefetched pages later served to a user")
+        .tag("service", "product")
+        .tag("result", "hit")
+        .register(meterRegistry);
+
+    this.prefetchSkipped = Counter.builder("product.search.prefetch")
+        .description("Prefetches skipped (no headroom, concurrency cap or open circuit)")
+        .tag("service", "product")
+        .tag("result", "skipped")
+        .register(meterRegistry);
+
+    Gauge.builder("product.search.prefetch.hit.ratio", this,
+            metrics -> metrics.prefetchStored.count() == 0 ? 0.0
+                : metrics.prefetchHits.count() / metrics.prefetchStored.count())
+        .description("Share of prefetched pages that were served before expiring")
+        .tag("service", "product")
+        .register(meterRegistry);
+
+    // Early (before expiry) background reloads of cached product details
+    this.detailEarlyRefreshStarted = Counter.builder("product.detail.early.refresh")
+        .description("Background reloads of cached product details started before expiry")
         .tag("service", "product")
+        .tag("result", "started")
         .register(meterRegistry);
 
-    this.providerLatency = Timer.builder("product.provider.latency")
-        .description("External provider call latency")
+    this.detailEarlyRefreshFailed = Counter.builder("product.detail.early.refresh")
+        .description("Background reloads of cached product details that failed")
+        .tag("service", "product")
+        .tag("result", "failed")
+        .register(meterRegistry);
+
+    // Provider metrics, tagged per provider
+    for (Provider provider : Provider.values()) {
+      providerErrors.put(provider, Counter.builder("product.provider.errors")
+          .description("External provider errors")
+          .tag("service", "product")
+          .tag("provider", provider.getCode())
+          .register(meterRegistry));
+
+      providerLatency.put(provider, Timer.builder("product.provider.latency")
+          .description("External provider call latency")
+          .tag("service", "product")
+          .tag("provider", provider.getCode())
+          .register(meterRegistry));
+    }
+
+    // Latency timers
+    this.searchLatency = Timer.builder("product.search.latency")
+        .description("Product search latency")
         .tag("service", "product")
         .register(meterRegistry);
 
@@ -89,8 +173,40 @@ public class ProductMetricsService {
     cacheMisses.increment();
   }
 
+  public void incrementSearchCacheHits() {
+    searchCacheHits.increment();
+  }
+
+  public void incrementSearchCacheMisses() {
+    searchCacheMisses.increment();
+  }
+
+  public void incrementSearchCacheStaleServed() {
+    searchCacheStaleServed.increment();
+  }
+
+  public void incrementPrefetchStored() {
+    prefetchStored.increment();
+  }
+
+  public void incrementPrefetchHits() {
+    prefetchHits.increment();
+  }
+
+  public void incrementPrefetchSkipped() {
+    prefetchSkipped.increment();
+  }
+
+  public void incrementDetailEarlyRefreshStarted() {
+    detailEarlyRefreshStarted.increment();
+  }
+
+  public void incrementDetailEarlyRefreshFailed() {
+    detailEarlyRefreshFailed.increment();
+  }
+
   public void incrementProviderErrors(Provider provider) {
-    providerErrors.increment();
+    providerErrors.get(provider).increment();
     log.warn("Provider error: {}", provider);
   }
 
@@ -99,7 +215,7 @@ public class ProductMetricsService {
   }
 
   public void recordProviderLatency(Provider provider, long durationMs) {
-    providerLatency.record(durationMs, TimeUnit.MILLISECONDS);
+    providerLatency.get(provider).record(durationMs, TimeUnit.MILLISECONDS);
     log.debug("Provider {} latency: {}ms", provider, durationMs);
   }
 
@@ -107,6 +223,60 @@ public class ProductMetricsService {
     transformLatency.record(durationMs, TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Records the latency of a single OT call. Feeds the live histogram used for adaptive deadlines
+   * and hedging.
+   */
+  public void recordOtLatency(String operation, String provider, long durationMs) {
+    otLatencyTimer(operation, provider).record(durationMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the live OT latency percentile in milliseconds (decayed over the last few minutes), or
+   * empty until at least {@code minSamples} calls were observed.
+   */
+  public OptionalDouble getOtLatencyPercentile(String operation, String provider,
+      double percentile, long minSamples) {
+    Timer timer = otLatency.get(operation + ":" + provider);
+    if (timer == null || timer.count() < minSamples) {
+      return OptionalDouble.empty();
+    }
+
+    for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+      if (Math.abs(value.percentile() - percentile) < 1e-9) {
+        return OptionalDouble.of(value.value(TimeUnit.MILLISECONDS));
+      }
+    }
+    return OptionalDouble.empty();
+  }
+
+  public void incrementOtHedgedRequests(String operation, String provider) {
+    meterRegistry.counter("product.ot.hedged", "service", "product",
+        "operation", operation, "provider", provider).increment();
+  }
+
+  public void incrementOtHedgesDenied(String operation, String provider) {
+    meterRegistry.counter("product.ot.hedge.denied", "service", "product",
+        "operation", operation, "provider", provider).increment();
+  }
+
+  public void incrementOtTimeouts(String operation, String provider) {
+    meterRegistry.counter("product.ot.timeouts", "service", "product",
+        "operation", operation, "provider", provider).increment();
+  }
+
+  private Timer otLatencyTimer(String operation, String provider) {
+    return otLatency.computeIfAbsent(operation + ":" + provider,
+        key -> Timer.builder("product.ot.latency")
+            .description("OT provider HTTP call latency")
+            .tag("service", "product")
+            .tag("operation", operation)
+            .tag("provider", provider)
+            .publishPercentiles(P95, P99)
+            .distributionStatisticExpiry(Duration.ofMinutes(2))
+            .register(meterRegistry));
+  }
+
   public Timer.Sample startTimer() {
     return Timer.start();
   }
@@ -0,0 +1,238 @@
+package com.commercepal.apiservice.products;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Binds product.* from application.yml (env placeholders resolved by Spring). Tuning knobs for the
+ * provider search pipeline; see the "product" section there.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "product")
+public class ProductProperties {
+
+  /** product.search.* */
+  private Search search = new Search();
+
+  /** product.ot.* */
+  private Ot ot = new Ot();
+
+  /** product.dedup.* */
+  private Dedup dedup = new Dedup();
+
+  /** product.detail.* */
+  private Detail detail = new Detail();
+
+  /** product.cache.* */
+  private CacheTiers cache = new CacheTiers();
+
+  @Data
+  public static class CacheTiers {
+
+    /** product.cache.l2-enabled (read-through Redis tier behind the in-memory caches) */
+    private boolean l2Enabled = true;
+
+    /** product.cache.invalidation-channel (Redis pub/sub channel for cross-node L1 evictions) */
+    private String invalidationChannel = "product:cache:invalidate";
+
+    /** product.cache.defaults.* (regions without their own entry) */
+    private CacheRegion defaults = new CacheRegion();
+
+    /** product.cache.regions.[name].* (per region overrides of the defaults) */
+    private Map<String, CacheRegion> regions = new LinkedHashMap<>();
+
+    /** product.cache.serialization.* (Redis value format) */
+    private CacheSerialization serialization = new CacheSerialization();
+
+    public CacheRegion region(String name) {
+      return regions.getOrDefault(name, defaults);
+    }
+  }
+
+  @Data
+  public static class CacheRegion {
+
+    /** l1-ttl (in-memory entries expire this long after being written) */
+    private Duration l1Ttl = Duration.ofMinutes(5);
+
+    /** l1-max-weight (approximate in-memory bytes per node; zero caps by l1-max-size instead) */
+    private DataSize l1MaxWeight = DataSize.ofMegabytes(16);
+
+    /** l1-max-size (in-memory entries per node, when l1-max-weight is zero) */
+    private long l1MaxSize = 10_000;
+
+    /** l2-ttl (Redis entry TTL; zero keeps the region in memory only) */
+    private Duration l2Ttl = Duration.ofMinutes(15);
+  }
+
+  @Data
+  public static class CacheSerialization {
+
+    /** compact (binary Smile entries; false writes JSON, both formats are always readable) */
+    private boolean compact = true;
+
+    /** compression-threshold (compact entries larger than this are deflated) */
+    private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+
+    /** compression-level (Deflater level, 1 fastest to 9 smallest) */
+    private int compressionLevel = 1;
+  }
+
+  @Data
+  public static class Detail {
+
+    /** product.detail.order-reuse-max-age (order lookups reuse display data up to this age) */
+    private Duration orderReuseMaxAge = Duration.ofSeconds(60);
+
+    /** product.detail.batch-max-parallel (provider calls in flight per batched order lookup) */
+    private int batchMaxParallel = 10;
+
+    /** product.detail.early-refresh.* */
+    private EarlyRefresh earlyRefresh = new EarlyRefresh();
+  }
+
+  @Data
+  public static class EarlyRefresh {
+
+    /** product.detail.early-refresh.enabled (reload hot entries in the background before expiry) */
+    private boolean enabled = true;
+
+    /** product.detail.early-refresh.beta (above 1 refreshes earlier, below 1 later) */
+    private double beta = 1.0;
+
+    /** product.detail.early-refresh.failure-backoff (no new attempt for a key after a failure) */
+    private Duration failureBackoff = Duration.ofSeconds(10);
+  }
+
+  @Data
+  public static class Search {
+
+    /** product.search.cache.* */
+    private SearchCache cache = new SearchCache();
+
+    /** product.search.prefetch.* */
+    private Prefetch prefetch = new Prefetch();
+
+    /** product.search.merge.* */
+    private Merge merge = new Merge();
+  }
+
+  @Data
+  public static class Merge {
+
+    /** product.search.merge.over-fetch-factor (provider page = fair share x factor) */
+    private double overFetchFactor = 2.0;
+  }
+
+  @Data
+  public static class SearchCache {
+
+    /** product.search.cache.enabled */
+    private boolean enabled = true;
+
+    /** product.search.cache.fresh-ttl (entries younger than this are served as hits) */
+    private Duration freshTtl = Duration.ofSeconds(60);
+
+    /** product.search.cache.stale-ttl (stale entries are served while being refreshed) */
+    private Duration staleTtl = Duration.ofMinutes(10);
+
+    /** product.search.cache.maximum-size (max per-provider pages kept in memory) */
+    private long maximumSize = 20_000;
+  }
+
+  @Data
+  public static class Prefetch {
+
+    /** product.search.prefetch.enabled (warm page N+1 after serving page N) */
+    private boolean enabled = true;
+
+    /** product.search.prefetch.max-concurrent (in-flight prefetch calls across providers) */
+    private int maxConcurrent = 8;
+
+    /** product.search.prefetch.min-foreground-permits (skip unless foreground has this headroom) */
+    private int minForegroundPermits = 10;
+
+    /** product.search.prefetch.max-page (no prefetch beyond this 0-based page) */
+    private int maxPage = 10;
+  }
+
+  @Data
+  public static class Dedup {
+
+    /** product.dedup.retention (successful results keep absorbing identical calls this long) */
+    private Duration retention = Duration.ofSeconds(2);
+
+    /** product.dedup.cluster-lease.* */
+    private ClusterLease clusterLease = new ClusterLease();
+  }
+
+  @Data
+  public static class ClusterLease {
+
+    /** product.dedup.cluster-lease.enabled (one node per hot key calls the provider; needs Redis) */
+    private boolean enabled = false;
+
+    /** product.dedup.cluster-lease.lease-ttl (upper bound for the leader's call) */
+    private Duration leaseTtl = Duration.ofSeconds(10);
+
+    /** product.dedup.cluster-lease.result-ttl (how long the leader's result is shared) */
+    private Duration resultTtl = Duration.ofSeconds(5);
+
+    /** product.dedup.cluster-lease.poll-interval (followers check for the result this often) */
+    private Duration pollInterval = Duration.ofMillis(100);
+  }
+
+  @Data
+  public static class Ot {
+
+    /** product.ot.adaptive-timeout.* */
+    private AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout();
+
+    /** product.ot.hedging.* */
+    private Hedging hedging = new Hedging();
+  }
+
+  @Data
+  public static class AdaptiveTimeout {
+
+    /** product.ot.adaptive-timeout.enabled (false: always use max-timeout) */
+    private boolean enabled = true;
+
+    /** product.ot.adaptive-timeout.p99-factor (deadline = live p99 x factor) */
+    private double p99Factor = 1.5;
+
+    /** product.ot.adaptive-timeout.min-timeout */
+    private Duration minTimeout = Duration.ofSeconds(1);
+
+    /** product.ot.adaptive-timeout.max-timeout (also used until enough samples exist) */
+    private Duration maxTimeout = Duration.ofSeconds(10);
+
+    /** product.ot.adaptive-timeout.min-samples (calls observed before adapting) */
+    private long minSamples = 20;
+  }
+
+  @Data
+  public static class Hedging {
+
+    /** product.ot.hedging.enabled (send a duplicate request once the live p95 has passed) */
+    private boolean enabled = false;
+
+    /** product.ot.hedging.min-delay (lower bound for the p95 hedge delay) */
+    private Duration minDelay = Duration.ofMillis(200);
+
+    /**
+     * product.ot.hedging.max-ratio (hedges allowed per request to a provider; a provider that
+     * slows down as a whole is not sent extra load beyond this share)
+     */
+    private double maxRatio = 0.1;
+
+    /** product.ot.hedging.max-burst (hedges that unused budget may add up to) */
+    private int maxBurst = 10;
+  }
+}
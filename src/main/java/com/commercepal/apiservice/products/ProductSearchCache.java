@@ -0,0 +1,200 @@
+package com.commercepal.apiservice.products;
+
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.shared.enums.Provider;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stale-while-revalidate cache for provider search pages.
+ * <p>
+ * Entries are stored per provider, so a provider that fails or times out never evicts the pages of
+ * the others. Entries younger than the fresh TTL are served as hits. Older entries are still served
+ * immediately until the stale TTL elapses, while a single background refresh per key reloads them.
+ * Empty pages are never stored, so a degraded provider is retried on the next request.
+ * <p>
+ * Pages stored by {@link ProductSearchPrefetcher} are flagged, and the first lookup that serves one
+ * counts as a prefetch hit.
+ */
+@Slf4j
+@Component
+public class ProductSearchCache {
+
+  private final ProductMetricsService metricsService;
+  private final ProductProperties.SearchCache properties;
+  private final Cache<String, CachedPage> cache;
+  private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+  public ProductSearchCache(ProductMetricsService metricsService,
+      ProductProperties productProperties) {
+    this.metricsService = metricsService;
+    this.properties = productProperties.getSearch().getCache();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getStaleTtl())
+        .recordStats()
+        .build();
+
+    log.info("Product search cache initialized: enabled={}, freshTtl={}, staleTtl={}, maxSize={}",
+        properties.isEnabled(), properties.getFreshTtl(), properties.getStaleTtl(),
+        properties.getMaximumSize());
+  }
+
+  /**
+   * Builds the cache key for one provider page. The request is normalized so that equivalent
+   * searches (case, whitespace, default paging) share an entry.
+   */
+  public String buildKey(Provider provider, ProductPageRequestDto providerRequest,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    return provider.getCode() + ":" + providerRequest.toCacheKey() + ":"
+        + userCountry.getCode() + ":" + targetCurrency.getCode();
+  }
+
+  /**
+   * Returns the cached page for the key, loading it on a miss and refreshing it in the background
+   * when stale.
+   *
+   * @param key    Key built with {@link #buildKey}
+   * @param loader Provider call used on a miss or for background refresh
+   * @return Future completed immediately on a hit or stale hit
+   */
+  public CompletableFuture<List<ProductCardResponse>> getOrLoad(String key,
+      Supplier<CompletableFuture<List<ProductCardResponse>>> loader) {
+    if (!properties.isEnabled()) {
+      return loader.get();
+    }
+
+    CachedPage cached = cache.getIfPresent(key);
+    if (cached == null) {
+      metricsService.incrementSearchCacheMisses();
+      return load(key, loader);
+    }
+
+    if (cached.claimPrefetched()) {
+      metricsService.incrementPrefetchHits();
+    }
+
+    if (cached.ageMillis() < properties.getFreshTtl().toMillis()) {
+      metricsService.incrementSearchCacheHits();
+      return CompletableFuture.completedFuture(cached.items());
+    }
+
+    metricsService.incrementSearchCacheStaleServed();
+    refreshInBackground(key, loader);
+    return CompletableFuture.completedFuture(cached.items());
+  }
+
+  /**
+   * Stores a page directly (e.g. results obtained outside {@link #getOrLoad}).
+   */
+  public void put(String key, List<ProductCardResponse> items) {
+    store(key, items, false);
+  }
+
+  /**
+   * Stores a speculatively loaded page, flagged so that serving it counts as a prefetch hit.
+   *
+   * @return true if the page was stored
+   */
+  public boolean putPrefetched(String key, List<ProductCardResponse> items) {
+    return store(key, items, true);
+  }
+
+  /**
+   * Returns the cached page without loading, refreshing or counting a lookup, or null.
+   */
+  public List<ProductCardResponse> peek(String key) {
+    if (!properties.isEnabled()) {
+      return null;
+    }
+    CachedPage cached = cache.getIfPresent(key);
+    return cached == null ? null : cached.items();
+  }
+
+  /**
+   * True if the key holds an entry that is still fresh (no need to load it again).
+   */
+  public boolean isFresh(String key) {
+    if (!properties.isEnabled()) {
+      return false;
+    }
+    CachedPage cached = cache.getIfPresent(key);
+    return cached != null && cached.ageMillis() < properties.getFreshTtl().toMillis();
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Gets current stats for monitoring.
+   */
+  public String getStats() {
+    return String.format("Entries: %d, Refreshing: %d, %s",
+        cache.estimatedSize(), refreshingKeys.size(), cache.stats());
+  }
+
+  private boolean store(String key, List<ProductCardResponse> items, boolean prefetched) {
+    if (!properties.isEnabled() || items == null || items.isEmpty()) {
+      return false;
+    }
+    cache.put(key, new CachedPage(List.copyOf(items), System.currentTimeMillis(),
+        new AtomicBoolean(prefetched)));
+    return true;
+  }
+
+  private CompletableFuture<List<ProductCardResponse>> load(String key,
+      Supplier<CompletableFuture<List<ProductCardResponse>>> loader) {
+    return loader.get().thenApply(items -> {
+      put(key, items);
+      return items;
+    });
+  }
+
+  private void refreshInBackground(String key,
+      Supplier<CompletableFuture<List<ProductCardResponse>>> loader) {
+    if (!refreshingKeys.add(key)) {
+      return;
+    }
+
+    log.debug("Refreshing stale search page in background: {}", key);
+    try {
+      load(key, loader).whenComplete((items, error) -> {
+        refreshingKeys.remove(key);
+        if (error != null) {
+          log.warn("Background refresh failed for {}: {}", key, error.getMessage());
+        }
+      });
+    } catch (RuntimeException e) {
+      refreshingKeys.remove(key);
+      log.warn("Background refresh could not be started for {}: {}", key, e.getMessage());
+    }
+  }
+
+  /**
+   * Immutable cached provider page with its load timestamp. {@code prefetchPending} is set for
+   * prefetched pages until they are first served.
+   */
+  private record CachedPage(List<ProductCardResponse> items, long loadedAt,
+                            AtomicBoolean prefetchPending) {
+
+    long ageMillis() {
+      return System.currentTimeMillis() - loadedAt;
+    }
+
+    boolean claimPrefetched() {
+      return prefetchPending.get() && prefetchPending.compareAndSet(true, false);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.commercepal.apiservice.products;
+
+import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.shared.enums.Provider;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.shared.exceptions.business.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Position of a merged search across providers, handed to clients as an opaque token.
+ * <p>
+ * For every provider the cursor records the provider page being read and the offset of the next
+ * unread item in it, so the following page continues exactly where the previous one stopped. The
+ * token is bound to the query (fingerprint) it was issued for.
+ * <p>
+ * Token format (URL-safe Base64): {@code v1;<fingerprint>;<page>;<PROVIDER>:<page>:<offset>[:x],...}
+ * where {@code x} marks a provider with no further results.
+ */
+public record ProductSearchCursor(String fingerprint, int page, Map<Provider, Position> positions) {
+
+  private static final String VERSION = "v1";
+  private static final String EXHAUSTED = "x";
+  // Hex digits of the query's SHA-256 kept in the token (64 bits)
+  private static final int FINGERPRINT_LENGTH = 16;
+
+  /**
+   * Read position within one provider's results.
+   *
+   * @param providerPage Provider page (of the over-fetch buffer size) being read
+   * @param offset       Index of the next unread item in that page
+   * @param exhausted    True once the provider has no further results
+   */
+  public record Position(int providerPage, int offset, boolean exhausted) {
+
+  }
+
+  /**
+   * Cursor for a search started at a page number rather than from a token: every provider starts
+   * at the item index {@code page x share}.
+   */
+  public static ProductSearchCursor start(String fingerprint, int page, int share, int bufferSize,
+      Collection<Provider> providers) {
+    long firstItem = (long) page * share;
+    Position position = new Position((int) (firstItem / bufferSize),
+        (int) (firstItem % bufferSize), false);
+
+    Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+    providers.forEach(provider -> positions.put(provider, position));
+    return new ProductSearchCursor(fingerprint, page, Collections.unmodifiableMap(positions));
+  }
+
+  /**
+   * Identifies the query a cursor belongs to: every search parameter except the page, hashed with
+   * SHA-256 so that a cursor is practically never accepted for another query.
+   */
+  public static String fingerprint(ProductPageRequestDto request, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    String key = request.withPageSize(0, request.getSizeOrDefault()).toCacheKey() + ":"
+        + userCountry.getCode() + ":" + targetCurrency.getCode();
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)))
+          .substring(0, FINGERPRINT_LENGTH);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Decodes a token issued by {@link #encode()}.
+   *
+   * @throws BadRequestException if the token is malformed or was issued for another query
+   */
+  public static ProductSearchCursor decode(String token, String expectedFingerprint) {
+    ProductSearchCursor cursor;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(";", -1);
+      if (parts.length != 4 || !VERSION.equals(parts[0])) {
+        throw new IllegalArgumentException("unsupported cursor format");
+      }
+
+      Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+      for (String entry : parts[3].split(",")) {
+        if (entry.isEmpty()) {
+          continue;
+        }
+        String[] fields = entry.split(":");
+        positions.put(Provider.valueOf(fields[0]), new Position(
+            Integer.parseInt(fields[1]),
+            Integer.parseInt(fields[2]),
+            fields.length > 3 && EXHAUSTED.equals(fields[3])));
+      }
+      cursor = new ProductSearchCursor(parts[1], Integer.parseInt(parts[2]),
+          Collections.unmodifiableMap(positions));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid search cursor");
+    }
+
+    if (!cursor.fingerprint().equals(expectedFingerprint)) {
+      throw new BadRequestException("Search cursor does not belong to this query");
+    }
+    return cursor;
+  }
+
+  /**
+   * Encodes the cursor as an opaque, URL-safe token.
+   */
+  public String encode() {
+    StringJoiner entries = new StringJoiner(",");
+    positions.forEach((provider, position) -> entries.add(provider.name() + ":"
+        + position.providerPage() + ":" + position.offset()
+        + (position.exhausted() ? ":" + EXHAUSTED : "")));
+
+    String raw = VERSION + ";" + fingerprint + ";" + page + ";" + entries;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * True when no provider has further results.
+   */
+  public boolean isExhausted() {
+    return positions.values().stream().allMatch(Position::exhausted);
+  }
+}
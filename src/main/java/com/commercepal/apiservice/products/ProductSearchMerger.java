@@ -0,0 +1,124 @@
+package com.commercepal.apiservice.products;
+
+import com.commercepal.apiservice.products.ProductSearchCursor.Position;
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.shared.enums.Provider;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Bounded top-K merge of per-provider result buffers.
+ * <p>
+ * Each provider's buffer is already in that provider's rank order. Items are taken by rank, and by
+ * provider order within the same rank, which interleaves the providers fairly. A provider that
+ * runs out simply drops out, so the others fill the page and page sizes stay stable. The heap holds
+ * one head per provider, so merging costs O(K log P) for K items from P providers. Duplicate ids
+ * are skipped and still count as consumed, so they are never shown later either.
+ */
+final class ProductSearchMerger {
+
+  private ProductSearchMerger() {
+  }
+
+  /**
+   * A buffered item with its raw location in the provider's paging.
+   */
+  record BufferedItem(ProductCardResponse item, int providerPage, int index) {
+
+  }
+
+  /**
+   * Unread results of one provider, starting at its cursor position.
+   *
+   * @param start       Cursor position the buffer was read from
+   * @param items       Unread items in provider rank order
+   * @param pageLengths Raw length of every provider page loaded into the buffer
+   */
+  record ProviderBuffer(Provider provider, Position start, List<BufferedItem> items,
+                        Map<Integer, Integer> pageLengths) {
+
+  }
+
+  /**
+   * Merged page and each provider's advanced position.
+   */
+  record MergeResult(List<ProductCardResponse> items, Map<Provider, Position> positions) {
+
+  }
+
+  /**
+   * Merges up to {@code limit} distinct items from the buffers.
+   *
+   * @param buffers    Buffers in provider priority order
+   * @param limit      Page size (K)
+   * @param bufferSize Provider page size, used to detect the end of a provider's results
+   */
+  static MergeResult merge(List<ProviderBuffer> buffers, int limit, int bufferSize) {
+    PriorityQueue<Head> heads = new PriorityQueue<>(
+        Comparator.comparingInt(Head::rank).thenComparingInt(Head::order));
+    for (int order = 0; order < buffers.size(); order++) {
+      if (!buffers.get(order).items().isEmpty()) {
+        heads.add(new Head(order, 0));
+      }
+    }
+
+    List<ProductCardResponse> merged = new ArrayList<>(limit);
+    Set<String> seenIds = new HashSet<>();
+    int[] consumed = new int[buffers.size()];
+
+    while (merged.size() < limit && !heads.isEmpty()) {
+      Head head = heads.poll();
+      List<BufferedItem> items = buffers.get(head.order()).items();
+      ProductCardResponse item = items.get(head.rank()).item();
+
+      consumed[head.order()] = head.rank() + 1;
+      if (seenIds.add(item.id())) {
+        merged.add(item);
+      }
+      if (head.rank() + 1 < items.size()) {
+        heads.add(new Head(head.order(), head.rank() + 1));
+      }
+    }
+
+    Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+    for (int order = 0; order < buffers.size(); order++) {
+      ProviderBuffer buffer = buffers.get(order);
+      positions.put(buffer.provider(), advance(buffer, consumed[order], bufferSize));
+    }
+    return new MergeResult(merged, positions);
+  }
+
+  /**
+   * Moves a provider's position past its consumed items, rolling over to the next provider page
+   * when the current one is used up. A short page that is used up ends the provider's results.
+   */
+  private static Position advance(ProviderBuffer buffer, int consumed, int bufferSize) {
+    int page = buffer.start().providerPage();
+    int offset = buffer.start().offset();
+    if (consumed > 0) {
+      BufferedItem last = buffer.items().get(consumed - 1);
+      page = last.providerPage();
+      offset = last.index() + 1;
+    }
+
+    Integer pageLength = buffer.pageLengths().get(page);
+    if (pageLength == null || pageLength == 0 || offset < pageLength) {
+      // Unknown or empty (possibly failed) page: retry from here next time
+      return new Position(page, offset, false);
+    }
+    if (pageLength < bufferSize) {
+      return new Position(page, offset, true);
+    }
+    return new Position(page + 1, 0, false);
+  }
+
+  private record Head(int order, int rank) {
+
+  }
+}
@@ -0,0 +1,119 @@
+package com.commercepal.apiservice.products;
+
+import com.commercepal.apiservice.products.ProviderResilienceRegistry.ProviderResilience;
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.shared.enums.Provider;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Speculative next-page prefetch for product search.
+ * <p>
+ * After page N is served, page N+1 of each provider is loaded in the background and stored in
+ * {@link ProductSearchCache}, so paging forward is answered from memory. Prefetch is strictly
+ * lower priority than user traffic:
+ * <ul>
+ *   <li>it draws from the provider's dedicated prefetch rate limiter, never the foreground one,
+ *   and only runs while the foreground limiter still has the configured headroom;</li>
+ *   <li>it is skipped while the provider's circuit breaker is not closed;</li>
+ *   <li>at most {@code max-concurrent} prefetches are in flight, extra ones are dropped.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ProductSearchPrefetcher {
+
+  private final ProductSearchCache searchCache;
+  private final ProviderResilienceRegistry resilienceRegistry;
+  private final ProductMetricsService metricsService;
+  private final ProductProperties.Prefetch properties;
+  private final Semaphore concurrencyPermits;
+  private final Set<String> inFlightKeys = ConcurrentHashMap.newKeySet();
+
+  public ProductSearchPrefetcher(ProductSearchCache searchCache,
+      ProviderResilienceRegistry resilienceRegistry, ProductMetricsService metricsService,
+      ProductProperties productProperties) {
+    this.searchCache = searchCache;
+    this.resilienceRegistry = resilienceRegistry;
+    this.metricsService = metricsService;
+    this.properties = productProperties.getSearch().getPrefetch();
+    this.concurrencyPermits = new Semaphore(properties.getMaxConcurrent());
+
+    log.info("Product search prefetch initialized: enabled={}, maxConcurrent={}, maxPage={}",
+        properties.isEnabled(), properties.getMaxConcurrent(), properties.getMaxPage());
+  }
+
+  /**
+   * True if the page following {@code servedPage} should be prefetched.
+   */
+  public boolean shouldPrefetchAfter(int servedPage) {
+    return properties.isEnabled() && searchCache.isEnabled()
+        && servedPage < properties.getMaxPage();
+  }
+
+  /**
+   * Loads one provider page into the search cache if every prefetch condition holds. Never blocks
+   * and never fails the caller.
+   *
+   * @param provider Provider the page belongs to
+   * @param cacheKey Search cache key of the page
+   * @param loader   Provider call, without the foreground rate limiter and bulkhead
+   */
+  public void prefetch(Provider provider, String cacheKey,
+      Supplier<CompletableFuture<List<ProductCardResponse>>> loader) {
+    if (searchCache.isFresh(cacheKey) || inFlightKeys.contains(cacheKey)) {
+      return;
+    }
+
+    ProviderResilience resilience = resilienceRegistry.forProvider(provider);
+    if (resilience.circuitBreaker().getState() != CircuitBreaker.State.CLOSED
+        || resilience.rateLimiter().getMetrics().getAvailablePermissions()
+        < properties.getMinForegroundPermits()) {
+      metricsService.incrementPrefetchSkipped();
+      return;
+    }
+
+    if (!concurrencyPermits.tryAcquire()) {
+      metricsService.incrementPrefetchSkipped();
+      return;
+    }
+
+    if (!resilience.prefetchRateLimiter().acquirePermission() || !inFlightKeys.add(cacheKey)) {
+      concurrencyPermits.release();
+      metricsService.incrementPrefetchSkipped();
+      return;
+    }
+
+    CompletableFuture<List<ProductCardResponse>> future;
+    try {
+      future = loader.get();
+    } catch (RuntimeException e) {
+      release(cacheKey);
+      log.debug("Prefetch could not be started for {}: {}", cacheKey, e.getMessage());
+      return;
+    }
+
+    future.whenComplete((items, error) -> {
+      release(cacheKey);
+      if (error != null) {
+        log.debug("Prefetch failed for {}: {}", cacheKey, error.getMessage());
+        return;
+      }
+      if (searchCache.putPrefetched(cacheKey, items)) {
+        metricsService.incrementPrefetchStored();
+      }
+    });
+  }
+
+  private void release(String cacheKey) {
+    inFlightKeys.remove(cacheKey);
+    concurrencyPermits.release();
+  }
+}
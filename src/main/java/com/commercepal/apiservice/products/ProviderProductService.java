@@ -1,32 +1,52 @@
 package com.commercepal.apiservice.products;
 
 import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.products.ProductSearchCursor.Position;
+import com.commercepal.apiservice.products.ProductSearchMerger.BufferedItem;
+import com.commercepal.apiservice.products.ProductSearchMerger.MergeResult;
+import com.commercepal.apiservice.products.ProductSearchMerger.ProviderBuffer;
 import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.products.dto.ProductSearchPage;
+import com.commercepal.apiservice.products.dto.ProductSearchStreamSummary;
+import com.commercepal.apiservice.products.ProviderResilienceRegistry.ProviderResilience;
 import com.commercepal.apiservice.products.ot.OTProductListService;
 import com.commercepal.apiservice.shared.enums.Provider;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.shared.exceptions.business.BadRequestException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 /**
  * Professional provider product service with enterprise-grade resilience.
  * <p>
- * Performance optimizations: - Async parallel provider calls with custom thread pool - Request
- * deduplication to prevent redundant API calls - Multi-layer caching (L1: Caffeine, L2: Redis via
- * Spring Cache) - Circuit breaker pattern for fault tolerance - Rate limiting to prevent provider
- * overload - Bulkhead pattern to isolate failures - Comprehensive metrics and monitoring - Timeout
+ * Performance optimizations: - Non-blocking parallel provider calls end to end - Request
+ * deduplication to prevent redundant API calls - Per-provider stale-while-revalidate search cache
+ * ({@link ProductSearchCache}) - Per-provider circuit breaker, rate limiter and bulkhead
+ * ({@link ProviderResilienceRegistry}) so one degraded provider cannot starve the others -
+ * Merged cross-provider ranking with cursors ({@link ProductSearchMerger}) - Background next-page
+ * prefetch ({@link ProductSearchPrefetcher}) - Comprehensive metrics and monitoring - Timeout
  * handling with graceful degradation
  */
 @Slf4j
@@ -34,157 +54,461 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ProviderProductService {
 
+  // Global timeout slightly less than TimeLimiter
+  private static final long SEARCH_TIMEOUT_SECONDS = 8;
+
+  private static final TypeReference<ProductSearchPage> SEARCH_RESULT_TYPE =
+      new TypeReference<>() {
+      };
+
+  private static final List<ProviderConfig> SEARCH_PROVIDERS = List.of(
+      new ProviderConfig(Provider.AMAZON, null),
+      new ProviderConfig(Provider.SHEIN, null),
+      new ProviderConfig(Provider.ALIEXPRESS_SINGAPORE, null));
+
   private final OTProductListService otProductListService;
   private final RequestDeduplicationService deduplicationService;
   private final ProductMetricsService metricsService;
+  private final ProductSearchCache searchCache;
+  private final ProductSearchPrefetcher searchPrefetcher;
+  private final ProductProperties productProperties;
 
-  // Resilience4j components
-  private final CircuitBreaker optimizedProviderCircuitBreaker;
-  private final RateLimiter optimizedProviderRateLimiter;
-  private final Bulkhead optimizedProviderBulkhead;
+  // Resilience4j components, isolated per provider
+  private final ProviderResilienceRegistry resilienceRegistry;
 
-  // Custom thread pools
-  @Qualifier("optimizedProductSearchExecutor")
-  private final Executor productSearchExecutor;
+  /**
+   * Searches products from multiple providers in parallel and merges them into one ranked page.
+   * Optimized with deduplication, caching, and circuit breaker. Caching is done per provider page
+   * in {@link ProductSearchCache}, which doubles as the over-fetch buffer: a provider page holds
+   * more than the provider's share of one result page, so the next page usually continues from
+   * buffered results without calling the providers again.
+   * <p>
+   * Fully asynchronous: the returned future completes from the provider responses themselves, so
+   * no pooled thread is held per outstanding provider call.
+   *
+   * @param cursorToken Cursor of the previous page, or null to start at the request's page
+   * @throws BadRequestException if the cursor is malformed or belongs to another query
+   */
+  public CompletableFuture<ProductSearchPage> getProductsFromProvider(
+      ProductPageRequestDto requestDto, String cursorToken, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    int size = requestDto.getSizeOrDefault();
+    String fingerprint = ProductSearchCursor.fingerprint(requestDto, userCountry,
+        targetCurrency);
+    ProductSearchCursor cursor = cursorToken == null || cursorToken.isBlank()
+        ? ProductSearchCursor.start(fingerprint, requestDto.getPageOrDefault(), shareSize(size),
+        bufferSize(size), SEARCH_PROVIDERS.stream().map(ProviderConfig::type).toList())
+        : ProductSearchCursor.decode(cursorToken, fingerprint);
+
+    metricsService.incrementSearchRequests();
+    long startTime = System.currentTimeMillis();
+
+    // Normalized key: identical on every node, so the cluster lease can coalesce it too
+    String deduplicationKey = deduplicationService.buildSearchKey(cursor.page(), size,
+        requestDto.withPageSize(0, size).toCacheKey() + ":" + userCountry.getCode() + ":"
+            + targetCurrency.getCode() + ":" + cursor.encode());
+
+    // Deduplicate concurrent identical requests; no thread waits on the result
+    return deduplicationService.deduplicate(
+            deduplicationKey,
+            SEARCH_RESULT_TYPE,
+            () -> executeMergedSearchAsync(requestDto, cursor, userCountry, targetCurrency))
+        .handle((result, ex) -> {
+          if (ex != null) {
+            log.error("Error searching products for query: {}", requestDto.query(), ex);
+            metricsService.incrementSearchErrors();
+            // For search, empty page often better than 500. No next cursor: an empty page that
+            // continues would have clients page on through nothing; they retry the request instead
+            return ProductSearchPage.builder()
+                .page(cursor.page())
+                .items(Collections.emptyList())
+                .nextCursor(null)
+                .build();
+          }
+
+          long duration = System.currentTimeMillis() - startTime;
+          metricsService.recordSearchLatency(duration);
+          log.info("Search completed in {}ms for query: {}", duration, requestDto.query());
+
+          return result;
+        });
+  }
 
   /**
-   * Searches products from multiple providers in parallel. Optimized with deduplication, caching,
-   * and circuit breaker.
+   * Streams search results provider by provider. {@code onProviderResult} is invoked once per
+   * provider as soon as its page is available (empty on failure), so the fastest provider is not
+   * held back by the slowest. The returned future completes with a summary once every provider
+   * answered or the global timeout elapsed; late results are dropped.
    */
-  // @Cacheable(value = "productSearch", key = "#page + '_' + #size + '_' + #query
-  // + '_' + #userCountry.code", unless = "#result.isEmpty()")
-  public List<ProductCardResponse> getProductsFromProvider(ProductPageRequestDto requestDto,
-      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+  public CompletableFuture<ProductSearchStreamSummary> streamProductsFromProvider(
+      ProductPageRequestDto requestDto, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency,
+      BiConsumer<Provider, List<ProductCardResponse>> onProviderResult) {
     metricsService.incrementSearchRequests();
     long startTime = System.currentTimeMillis();
 
-    String deduplicationKey = deduplicationService.buildSearchKey(requestDto.getPageOrDefault(),
-        requestDto.getSizeOrDefault(),
-        requestDto.toJsonObject() + ":" + userCountry.getCode() + ":"
-            + targetCurrency.getCode());
+    AtomicBoolean finished = new AtomicBoolean(false);
+    AtomicInteger totalItems = new AtomicInteger();
+    Set<Provider> completed = ConcurrentHashMap.newKeySet();
 
-    try {
-      // Deduplicate concurrent identical requests
-      CompletableFuture<List<ProductCardResponse>> future = deduplicationService.deduplicate(
-          deduplicationKey,
-          () -> executeSearchAsync(requestDto, userCountry, targetCurrency));
+    Map<Provider, CompletableFuture<List<ProductCardResponse>>> providerFutures =
+        startProviderSearches(requestDto, userCountry, targetCurrency);
 
-      List<ProductCardResponse> result = future.get();
+    List<CompletableFuture<Void>> emitted = providerFutures.entrySet().stream()
+        .map(entry -> entry.getValue()
+            .exceptionally(ex -> Collections.emptyList())
+            .thenAccept(items -> {
+              if (finished.get()) {
+                return;
+              }
+              completed.add(entry.getKey());
+              totalItems.addAndGet(items.size());
+              onProviderResult.accept(entry.getKey(), items);
+            }))
+        .toList();
 
-      long duration = System.currentTimeMillis() - startTime;
-      metricsService.recordSearchLatency(duration);
-      log.info("Search completed in {}ms for query: {}", duration, requestDto.query());
+    return CompletableFuture.allOf(emitted.toArray(new CompletableFuture[0]))
+        .orTimeout(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .handle((v, ex) -> {
+          finished.set(true);
+          if (ex != null) {
+            log.warn("Streamed search: some providers timed out or failed: {}", ex.getMessage());
+          }
 
-      return result;
+          long duration = System.currentTimeMillis() - startTime;
+          metricsService.recordSearchLatency(duration);
+          log.info("Streamed search completed in {}ms for query: {}", duration,
+              requestDto.query());
 
-    } catch (Exception e) {
-      log.error("Error searching products for query: {}", requestDto.query(), e);
-      metricsService.incrementSearchErrors();
-      // Return empty list instead of exploding, or rethrow based on preference
-      // For search, empty list often better than 500
-      return Collections.emptyList();
-    }
+          if (totalItems.get() > 0) {
+            prefetchNextPage(requestDto, userCountry, targetCurrency);
+          }
+
+          return ProductSearchStreamSummary.builder()
+              .page(requestDto.getPageOrDefault())
+              .size(requestDto.getSizeOrDefault())
+              .totalItems(totalItems.get())
+              .completedProviders(providerFutures.keySet().stream()
+                  .filter(completed::contains)
+                  .map(Provider::getCode)
+                  .toList())
+              .timedOutProviders(providerFutures.keySet().stream()
+                  .filter(provider -> !completed.contains(provider))
+                  .map(Provider::getCode)
+                  .toList())
+              .durationMs(duration)
+              .build();
+        });
   }
 
   /**
-   * Executes search across multiple providers in parallel.
+   * Executes search across multiple providers in parallel, reading each provider from its cursor
+   * position and merging the buffers into one page.
    */
-  private CompletableFuture<List<ProductCardResponse>> executeSearchAsync(
-      ProductPageRequestDto requestDto, SupportedCountry userCountry,
-      SupportedCurrency targetCurrency) {
-    // Calculate provider size - distribute evenly
+  private CompletableFuture<ProductSearchPage> executeMergedSearchAsync(
+      ProductPageRequestDto requestDto, ProductSearchCursor cursor,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
     int size = requestDto.getSizeOrDefault();
-    final int providerSize = Math.max(size / 3, 1);
-
-    // Define providers
-    List<ProviderConfig> providers = List.of(
-        new ProviderConfig(Provider.AMAZON, null),
-        new ProviderConfig(Provider.SHEIN, null),
-        new ProviderConfig(Provider.ALIEXPRESS_SINGAPORE, null));
+    int share = shareSize(size);
+    int bufferSize = bufferSize(size);
 
     // Fetch from all providers in parallel with timeout protection
-    List<CompletableFuture<List<ProductCardResponse>>> providerFutures = providers.stream()
-        .map(provider -> fetchFromProviderAsync(
-            provider, requestDto, providerSize, userCountry, targetCurrency))
-        .toList();
+    List<CompletableFuture<ProviderBuffer>> bufferFutures = new ArrayList<>();
+    for (ProviderConfig provider : SEARCH_PROVIDERS) {
+      Position position = cursor.positions().get(provider.type);
+      if (position != null && !position.exhausted()) {
+        bufferFutures.add(loadProviderBuffer(provider, requestDto, position, share, bufferSize,
+            userCountry, targetCurrency));
+      }
+    }
 
     // Wait for all with timeout
-    return CompletableFuture.allOf(providerFutures.toArray(new CompletableFuture[0]))
-        .orTimeout(8,
-            java.util.concurrent.TimeUnit.SECONDS) // Global timeout slightly less than TimeLimiter
+    return CompletableFuture.allOf(bufferFutures.toArray(new CompletableFuture[0]))
+        .orTimeout(SEARCH_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS) // Global timeout slightly less than TimeLimiter
         .handle((v, ex) -> {
           if (ex != null) {
             log.warn("Some providers timed out or failed: {}", ex.getMessage());
           }
 
-          // Collect successful results
-          return providerFutures.stream()
+          // Providers that did not answer in time keep their position
+          List<ProviderBuffer> buffers = bufferFutures.stream()
               .filter(f -> f.isDone() && !f.isCompletedExceptionally())
-              .map(f -> {
-                try {
-                  return f.get();
-                } catch (Exception e) {
-                  return Collections.<ProductCardResponse>emptyList();
-                }
-              })
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+              .map(CompletableFuture::join)
+              .toList();
+          MergeResult merged = ProductSearchMerger.merge(buffers, size, bufferSize);
+
+          Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+          positions.putAll(cursor.positions());
+          positions.putAll(merged.positions());
+          ProductSearchCursor next = new ProductSearchCursor(cursor.fingerprint(),
+              cursor.page() + 1, Collections.unmodifiableMap(positions));
+
+          boolean hasMore = !merged.items().isEmpty() && !next.isExhausted();
+          if (hasMore) {
+            prefetchBufferedPages(requestDto, next, share, bufferSize, userCountry,
+                targetCurrency);
+          }
+
+          return ProductSearchPage.builder()
+              .page(cursor.page())
+              .items(merged.items())
+              .nextCursor(hasMore ? next.encode() : null)
+              .build();
         });
   }
 
   /**
-   * Fetches products from a single provider with full resilience protection.
+   * Reads one provider's unread results from its cursor position. Continues into the following
+   * provider page when fewer than a fair share remain, and skips items the previous provider page
+   * already contained.
+   */
+  private CompletableFuture<ProviderBuffer> loadProviderBuffer(ProviderConfig provider,
+      ProductPageRequestDto requestDto, Position position, int share, int bufferSize,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    int page = position.providerPage();
+
+    return fetchProviderPage(provider, requestDto, page, bufferSize, userCountry, targetCurrency)
+        .thenCompose(current -> {
+          Map<Integer, Integer> pageLengths = new HashMap<>();
+          pageLengths.put(page, current.size());
+
+          List<BufferedItem> items = new ArrayList<>();
+          Set<String> shownIds = page == 0 ? Set.of() : idsOf(searchCache.peek(
+              providerPageCacheKey(provider, requestDto, page - 1, bufferSize, userCountry,
+                  targetCurrency)));
+          appendUnread(items, current, page, position.offset(), shownIds);
+
+          if (current.size() < bufferSize || items.size() >= share) {
+            return CompletableFuture.completedFuture(
+                new ProviderBuffer(provider.type, position, items, pageLengths));
+          }
+
+          return fetchProviderPage(provider, requestDto, page + 1, bufferSize, userCountry,
+              targetCurrency)
+              .thenApply(following -> {
+                pageLengths.put(page + 1, following.size());
+                appendUnread(items, following, page + 1, 0, idsOf(current));
+                return new ProviderBuffer(provider.type, position, items, pageLengths);
+              });
+        });
+  }
+
+  private static void appendUnread(List<BufferedItem> buffer, List<ProductCardResponse> page,
+      int providerPage, int offset, Set<String> excludedIds) {
+    for (int index = offset; index < page.size(); index++) {
+      ProductCardResponse item = page.get(index);
+      if (!excludedIds.contains(item.id())) {
+        buffer.add(new BufferedItem(item, providerPage, index));
+      }
+    }
+  }
+
+  private static Set<String> idsOf(List<ProductCardResponse> items) {
+    if (items == null || items.isEmpty()) {
+      return Set.of();
+    }
+    Set<String> ids = new HashSet<>(items.size() * 2);
+    items.forEach(item -> ids.add(item.id()));
+    return ids;
+  }
+
+  /**
+   * Fair share of one result page per provider.
+   */
+  private static int shareSize(int size) {
+    return (size + SEARCH_PROVIDERS.size() - 1) / SEARCH_PROVIDERS.size();
+  }
+
+  /**
+   * Provider page size used by the merged search: the fair share times the over-fetch factor.
+   */
+  private int bufferSize(int size) {
+    int share = shareSize(size);
+    double factor = productProperties.getSearch().getMerge().getOverFetchFactor();
+    return Math.max(share, (int) Math.ceil(share * factor));
+  }
+
+  /**
+   * Starts one search per provider, keeping provider order.
+   */
+  private Map<Provider, CompletableFuture<List<ProductCardResponse>>> startProviderSearches(
+      ProductPageRequestDto requestDto, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    int providerSize = providerPageSize(requestDto);
+
+    Map<Provider, CompletableFuture<List<ProductCardResponse>>> futures = new LinkedHashMap<>();
+    for (ProviderConfig provider : SEARCH_PROVIDERS) {
+      futures.put(provider.type, fetchFromProviderAsync(provider,
+          buildProviderRequest(provider, requestDto, providerSize), userCountry, targetCurrency));
+    }
+    return futures;
+  }
+
+  /**
+   * Warms the buffers the next merged page will read: each provider's current page and, when it
+   * is about to run short, the page after it.
+   */
+  private void prefetchBufferedPages(ProductPageRequestDto requestDto, ProductSearchCursor next,
+      int share, int bufferSize, SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    if (!searchPrefetcher.shouldPrefetchAfter(next.page() - 1)) {
+      return;
+    }
+
+    for (ProviderConfig provider : SEARCH_PROVIDERS) {
+      Position position = next.positions().get(provider.type);
+      if (position == null || position.exhausted()) {
+        continue;
+      }
+      prefetchProviderPage(provider, requestDto, position.providerPage(), bufferSize,
+          userCountry, targetCurrency);
+      if (bufferSize - position.offset() < share) {
+        prefetchProviderPage(provider, requestDto, position.providerPage() + 1, bufferSize,
+            userCountry, targetCurrency);
+      }
+    }
+  }
+
+  private void prefetchProviderPage(ProviderConfig provider, ProductPageRequestDto requestDto,
+      int providerPage, int bufferSize, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    ProductPageRequestDto request = buildProviderRequest(provider,
+        requestDto.withPageSize(providerPage, bufferSize), bufferSize);
+    searchPrefetcher.prefetch(provider.type,
+        searchCache.buildKey(provider.type, request, userCountry, targetCurrency),
+        () -> otProductListService.getOtProductsAsync(request, userCountry, targetCurrency));
+  }
+
+  /**
+   * Warms the search cache with page N+1 of every provider after page N was served. Runs in the
+   * background under {@link ProductSearchPrefetcher}'s limits; the caller never waits for it.
+   */
+  private void prefetchNextPage(ProductPageRequestDto requestDto, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    if (!searchPrefetcher.shouldPrefetchAfter(requestDto.getPageOrDefault())) {
+      return;
+    }
+
+    ProductPageRequestDto nextPage = requestDto.withPageSize(requestDto.getPageOrDefault() + 1,
+        requestDto.getSizeOrDefault());
+    int providerSize = providerPageSize(nextPage);
+
+    for (ProviderConfig provider : SEARCH_PROVIDERS) {
+      ProductPageRequestDto request = buildProviderRequest(provider, nextPage, providerSize);
+      searchPrefetcher.prefetch(provider.type,
+          searchCache.buildKey(provider.type, request, userCountry, targetCurrency),
+          () -> otProductListService.getOtProductsAsync(request, userCountry, targetCurrency));
+    }
+  }
+
+  /**
+   * Calculate provider size - distribute evenly.
+   */
+  private static int providerPageSize(ProductPageRequestDto requestDto) {
+    return Math.max(requestDto.getSizeOrDefault() / SEARCH_PROVIDERS.size(), 1);
+  }
+
+  /**
+   * Narrows the user request to a single provider's share of the page.
+   */
+  private static ProductPageRequestDto buildProviderRequest(ProviderConfig provider,
+      ProductPageRequestDto baseRequest, int providerSize) {
+    ProductPageRequestDto providerRequest = baseRequest
+        .withProvider(provider.type.getCode())
+        .withPageSize(baseRequest.getPageOrDefault(), providerSize);
+
+    if (provider.categoryId != null) {
+      providerRequest = providerRequest.withCategoryId(provider.categoryId);
+    }
+
+    return providerRequest;
+  }
+
+  /**
+   * Fetches one provider page of the merged search (page size = buffer size).
+   */
+  private CompletableFuture<List<ProductCardResponse>> fetchProviderPage(ProviderConfig provider,
+      ProductPageRequestDto requestDto, int providerPage, int bufferSize,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    return fetchFromProviderAsync(provider,
+        buildProviderRequest(provider, requestDto.withPageSize(providerPage, bufferSize),
+            bufferSize),
+        userCountry, targetCurrency);
+  }
+
+  private String providerPageCacheKey(ProviderConfig provider, ProductPageRequestDto requestDto,
+      int providerPage, int bufferSize, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    ProductPageRequestDto request = buildProviderRequest(provider,
+        requestDto.withPageSize(providerPage, bufferSize), bufferSize);
+    return searchCache.buildKey(provider.type, request, userCountry, targetCurrency);
+  }
+
+  /**
+   * Fetches products from a single provider, served from the search cache when possible.
    */
   private CompletableFuture<List<ProductCardResponse>> fetchFromProviderAsync(
       ProviderConfig provider,
-      ProductPageRequestDto baseRequest,
-      int providerSize,
+      ProductPageRequestDto request,
       SupportedCountry userCountry,
       SupportedCurrency targetCurrency) {
-    return CompletableFuture.supplyAsync(() -> {
-      long startTime = System.currentTimeMillis();
-
-      try {
-        // Apply rate limiter
-        RateLimiter.waitForPermission(optimizedProviderRateLimiter);
-
-        // Apply bulkhead and circuit breaker
-        // Note: We use decorateSupplier for synchronous execution within the async task
-        return Bulkhead.decorateSupplier(
-                optimizedProviderBulkhead,
-                () -> CircuitBreaker.decorateSupplier(
-                    optimizedProviderCircuitBreaker,
-                    () -> {
-                      ProductPageRequestDto providerRequest = baseRequest
-                          .withProvider(provider.type.getCode())
-                          .withPageSize(baseRequest.getPageOrDefault(), providerSize);
-
-                      if (provider.categoryId != null) {
-                        providerRequest = providerRequest.withCategoryId(provider.categoryId);
-                      }
-
-                      List<ProductCardResponse> products = otProductListService.getOtProducts(
-                          providerRequest,
-                          userCountry, targetCurrency);
-
-                      long duration = System.currentTimeMillis() - startTime;
-                      metricsService.recordProviderLatency(provider.type, duration);
-
-                      log.debug("Provider {} returned {} products in {}ms",
-                          provider.type, products.size(), duration);
-
-                      return products;
-                    }).get())
-            .get();
-
-      } catch (Exception e) {
-        e.printStackTrace();
-        log.error("Error fetching from provider {}: {}",
-            provider.type, e.getMessage());
-        metricsService.incrementProviderErrors(provider.type);
-        return new ArrayList<ProductCardResponse>(); // Graceful degradation
-      }
-    }, productSearchExecutor);
+    String cacheKey = searchCache.buildKey(provider.type, request, userCountry, targetCurrency);
+
+    return searchCache.getOrLoad(cacheKey,
+        () -> callProviderAsync(provider, request, userCountry, targetCurrency));
+  }
+
+  /**
+   * Calls a single provider with full resilience protection, without blocking any thread: the rate
+   * limiter permit is reserved (and waited for via a delayed stage), and the bulkhead and circuit
+   * breaker decorate the provider's completion stage.
+   */
+  private CompletableFuture<List<ProductCardResponse>> callProviderAsync(
+      ProviderConfig provider,
+      ProductPageRequestDto providerRequest,
+      SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    ProviderResilience resilience = resilienceRegistry.forProvider(provider.type);
+    long startTime = System.currentTimeMillis();
+
+    return reservePermission(resilience.rateLimiter())
+        .thenCompose(ignored -> Bulkhead.decorateCompletionStage(
+            resilience.bulkhead(),
+            CircuitBreaker.decorateCompletionStage(
+                resilience.circuitBreaker(),
+                () -> otProductListService.getOtProductsAsync(providerRequest, userCountry,
+                    targetCurrency))).get())
+        .thenApply(products -> {
+          long duration = System.currentTimeMillis() - startTime;
+          metricsService.recordProviderLatency(provider.type, duration);
+
+          log.debug("Provider {} returned {} products in {}ms",
+              provider.type, products.size(), duration);
+
+          return products;
+        })
+        .exceptionally(e -> {
+          log.error("Error fetching from provider {}: {}", provider.type, e.getMessage());
+          metricsService.incrementProviderErrors(provider.type);
+          return new ArrayList<>(); // Graceful degradation
+        });
+  }
+
+  /**
+   * Reserves a rate limiter permit. Completes immediately when one is free, after the reserved wait
+   * otherwise, and fails with {@link RequestNotPermitted} when none can be reserved in time.
+   */
+  private static CompletableFuture<Void> reservePermission(RateLimiter rateLimiter) {
+    long waitNanos = rateLimiter.reservePermission();
+    if (waitNanos < 0) {
+      return CompletableFuture.failedFuture(
+          RequestNotPermitted.createRequestNotPermitted(rateLimiter));
+    }
+    if (waitNanos == 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(() -> {
+    }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
   }
 
   /**
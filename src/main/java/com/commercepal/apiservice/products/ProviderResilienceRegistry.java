@@ -0,0 +1,139 @@
+package com.commercepal.apiservice.products;
+
+import com.commercepal.apiservice.shared.enums.Provider;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-provider resilience isolation. Every {@link Provider} gets its own circuit breaker, rate
+ * limiter and bulkhead, so a degraded provider only trips its own breaker and exhausts its own
+ * permits.
+ * <p>
+ * Instances are named {@code provider<Code>} (e.g. {@code providerShein}) and built from the
+ * Resilience4j registries, which tags their metrics by name. Each instance inherits the shared
+ * {@value #BASE_CONFIG} configuration; both can be overridden under {@code resilience4j.*} in
+ * application.yml.
+ * <p>
+ * Speculative background traffic (next-page prefetch) draws from a separate, smaller rate limiter
+ * per provider ({@code prefetch<Code>}, config {@value #PREFETCH_CONFIG}), so it never consumes
+ * foreground permits.
+ */
+@Slf4j
+@Component
+public class ProviderResilienceRegistry {
+
+  static final String BASE_CONFIG = "provider";
+  static final String PREFETCH_CONFIG = "prefetch";
+
+  private final Map<Provider, ProviderResilience> resilienceByProvider =
+      new EnumMap<>(Provider.class);
+
+  public ProviderResilienceRegistry(CircuitBreakerRegistry circuitBreakerRegistry,
+      RateLimiterRegistry rateLimiterRegistry, BulkheadRegistry bulkheadRegistry) {
+    registerDefaultConfigs(circuitBreakerRegistry, rateLimiterRegistry, bulkheadRegistry);
+
+    for (Provider provider : Provider.values()) {
+      String name = instanceName(provider);
+
+      CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, BASE_CONFIG);
+      circuitBreaker.getEventPublisher()
+          .onStateTransition(event ->
+              log.warn("Circuit Breaker {} state changed: {} -> {}", name,
+                  event.getStateTransition().getFromState(),
+                  event.getStateTransition().getToState()));
+
+      RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(name, BASE_CONFIG);
+      RateLimiter prefetchRateLimiter = rateLimiterRegistry.rateLimiter(
+          prefetchInstanceName(provider), PREFETCH_CONFIG);
+
+      Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, BASE_CONFIG);
+      bulkhead.getEventPublisher()
+          .onCallRejected(event ->
+              log.warn("Bulkhead {} rejected call - max concurrent calls reached", name));
+
+      resilienceByProvider.put(provider,
+          new ProviderResilience(circuitBreaker, rateLimiter, bulkhead, prefetchRateLimiter));
+    }
+
+    log.info("Provider resilience initialized for {} providers", resilienceByProvider.size());
+  }
+
+  /**
+   * Returns the resilience components dedicated to the given provider.
+   */
+  public ProviderResilience forProvider(Provider provider) {
+    return resilienceByProvider.get(provider);
+  }
+
+  /**
+   * Resilience4j instance name for a provider, e.g. {@code providerAliexpressSingapore}.
+   */
+  public static String instanceName(Provider provider) {
+    return BASE_CONFIG + provider.getCode();
+  }
+
+  /**
+   * Resilience4j instance name of a provider's prefetch rate limiter, e.g. {@code prefetchShein}.
+   */
+  public static String prefetchInstanceName(Provider provider) {
+    return PREFETCH_CONFIG + provider.getCode();
+  }
+
+  /**
+   * Registers code defaults for the shared provider config unless application.yml defines one.
+   */
+  private static void registerDefaultConfigs(CircuitBreakerRegistry circuitBreakerRegistry,
+      RateLimiterRegistry rateLimiterRegistry, BulkheadRegistry bulkheadRegistry) {
+    if (circuitBreakerRegistry.getConfiguration(BASE_CONFIG).isEmpty()) {
+      circuitBreakerRegistry.addConfiguration(BASE_CONFIG, CircuitBreakerConfig.custom()
+          .failureRateThreshold(50)
+          .waitDurationInOpenState(Duration.ofMillis(10000))
+          .permittedNumberOfCallsInHalfOpenState(3)
+          .slidingWindowSize(10)
+          .build());
+    }
+
+    if (rateLimiterRegistry.getConfiguration(BASE_CONFIG).isEmpty()) {
+      rateLimiterRegistry.addConfiguration(BASE_CONFIG, RateLimiterConfig.custom()
+          .limitForPeriod(50)
+          .limitRefreshPeriod(Duration.ofSeconds(1))
+          .timeoutDuration(Duration.ofMillis(500))
+          .build());
+    }
+
+    if (rateLimiterRegistry.getConfiguration(PREFETCH_CONFIG).isEmpty()) {
+      rateLimiterRegistry.addConfiguration(PREFETCH_CONFIG, RateLimiterConfig.custom()
+          .limitForPeriod(5)
+          .limitRefreshPeriod(Duration.ofSeconds(1))
+          .timeoutDuration(Duration.ZERO)
+          .build());
+    }
+
+    if (bulkheadRegistry.getConfiguration(BASE_CONFIG).isEmpty()) {
+      bulkheadRegistry.addConfiguration(BASE_CONFIG, BulkheadConfig.custom()
+          .maxConcurrentCalls(50)
+          .maxWaitDuration(Duration.ofMillis(500))
+          .build());
+    }
+  }
+
+  /**
+   * Resilience components owned by a single provider.
+   */
+  public record ProviderResilience(CircuitBreaker circuitBreaker, RateLimiter rateLimiter,
+                                   Bulkhead bulkhead, RateLimiter prefetchRateLimiter) {
+
+  }
+}
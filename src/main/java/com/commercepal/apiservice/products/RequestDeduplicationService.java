@@ -1,7 +1,12 @@
 package com.commercepal.apiservice.products;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -12,48 +17,69 @@ import org.springframework.stereotype.Service;
  * <p>
  * This is critical for high-traffic scenarios where users might trigger the same search multiple
  * times (e.g., double-clicks, retries).
+ * <p>
+ * Single-flight semantics: the caller that atomically registers a key runs the call, everyone else
+ * joins it. Successful results stay registered for the retention window so a burst arriving just
+ * after completion is absorbed too; failures are dropped at once so the next caller retries. The
+ * typed overloads additionally coalesce across nodes through {@link ClusterRequestLease}.
  */
 @Slf4j
 @Service
 public class RequestDeduplicationService {
 
-  // Active in-flight requests
+  // Active in-flight requests, and completed ones within the retention window
   private final ConcurrentHashMap<String, CompletableFuture<?>> inFlightRequests =
       new ConcurrentHashMap<>();
 
+  private final ClusterRequestLease clusterLease;
+  private final Duration retention;
+
+  public RequestDeduplicationService(ClusterRequestLease clusterLease,
+      ProductProperties productProperties) {
+    this.clusterLease = clusterLease;
+    this.retention = productProperties.getDedup().getRetention();
+  }
+
   /**
-   * Deduplicates a request by its key. If an identical request is in-flight, returns the existing
-   * future. Otherwise, executes the supplier.
+   * Deduplicates a request by its key within this node. If an identical request is in-flight (or
+   * just completed), returns its result. Otherwise, executes the supplier.
    *
    * @param key      Unique identifier for the request (e.g., "search:laptop:page0:size10")
    * @param supplier The actual operation to perform if not deduplicated
    * @return CompletableFuture with the result
    */
-  @SuppressWarnings("unchecked")
-  public <T> CompletableFuture<T> deduplicate(
-      String key,
-      java.util.function.Supplier<CompletableFuture<T>> supplier
-  ) {
-    // Check if request is already in-flight
-    CompletableFuture<T> existingFuture =
-        (CompletableFuture<T>) inFlightRequests.get(key);
-
-    if (existingFuture != null) {
-      log.info("Deduplicating request: {} (joining existing call)", key);
-      return existingFuture;
-    }
+  public <T> CompletableFuture<T> deduplicate(String key, Supplier<CompletableFuture<T>> supplier) {
+    return coalesce(key, supplier);
+  }
 
-    // Execute new request
-    log.debug("Executing new request: {}", key);
-    CompletableFuture<T> newFuture = supplier.get()
-        .whenComplete((result, error) -> {
-          // Remove from in-flight
-          inFlightRequests.remove(key);
-        });
-
-    // Store in-flight request
-    inFlightRequests.put(key, newFuture);
-    return newFuture;
+  /**
+   * Like {@link #deduplicate(String, Supplier)}, and also across the cluster when the Redis lease
+   * is enabled: only one node calls the provider for the key, the others reuse its result.
+   *
+   * @param resultType Result type, used to share the result between nodes
+   */
+  public <T> CompletableFuture<T> deduplicate(String key, TypeReference<T> resultType,
+      Supplier<CompletableFuture<T>> supplier) {
+    return coalesce(key, () -> clusterLease.execute(key, resultType, supplier));
+  }
+
+  /**
+   * Blocking variant for synchronous callers. Exceptions thrown by the loader are rethrown as-is.
+   */
+  public <T> T deduplicateBlocking(String key, TypeReference<T> resultType, Supplier<T> loader) {
+    try {
+      return deduplicate(key, resultType, () -> CompletableFuture.completedFuture(loader.get()))
+          .join();
+    } catch (CompletionException e) {
+      Throwable cause = e;
+      while (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
   }
 
   /**
@@ -76,9 +102,54 @@ public class RequestDeduplicationService {
    */
   public String getStats() {
     return String.format(
-        "InFlight: %d (cache disabled)",
-        inFlightRequests.size()
+        "InFlight: %d (retention %dms)",
+        inFlightRequests.size(), retention.toMillis()
     );
   }
-}
 
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> supplier) {
+    CompletableFuture<T> promise = new CompletableFuture<>();
+
+    // Atomic registration: exactly one caller per key gets to run the supplier
+    CompletableFuture<T> existing;
+    while ((existing = (CompletableFuture<T>) inFlightRequests.putIfAbsent(key, promise)) != null) {
+      if (!existing.isCompletedExceptionally()) {
+        log.debug("Deduplicating request: {} (joining existing call)", key);
+        // Copy, so one caller cancelling cannot affect the others
+        return existing.copy();
+      }
+      inFlightRequests.remove(key, existing);
+    }
+
+    log.debug("Executing new request: {}", key);
+    CompletableFuture<T> source;
+    try {
+      source = supplier.get();
+    } catch (RuntimeException e) {
+      source = CompletableFuture.failedFuture(e);
+    }
+
+    source.whenComplete((result, error) -> {
+      if (error != null) {
+        // Unregister before failing so that the next caller starts a fresh attempt
+        inFlightRequests.remove(key, promise);
+        promise.completeExceptionally(error);
+        return;
+      }
+      scheduleEviction(key, promise);
+      promise.complete(result);
+    });
+
+    return promise.copy();
+  }
+
+  private void scheduleEviction(String key, CompletableFuture<?> promise) {
+    if (retention.isZero() || retention.isNegative()) {
+      inFlightRequests.remove(key, promise);
+      return;
+    }
+    CompletableFuture.delayedExecutor(retention.toMillis(), TimeUnit.MILLISECONDS)
+        .execute(() -> inFlightRequests.remove(key, promise));
+  }
+}
@@ -40,7 +40,11 @@ public record PricingView(
     @Schema(description = "Formatted discount amount string", example = "Save ETB 600.00")
     String formattedDiscountAmount,
 
-    PricingViewProvider pricingViewProvider
+    PricingViewProvider pricingViewProvider,
+
+    @Schema(description = "Version of the exchange rate snapshot the prices were converted with",
+        example = "1718000000000")
+    Long fxRateVersion
 ) {
 
 }
\ No newline at end of file
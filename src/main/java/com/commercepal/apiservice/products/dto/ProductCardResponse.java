@@ -6,7 +6,7 @@ import lombok.Builder;
 /**
  * Optimized product card used in listings/search results.
  */
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Product card used in listings and search results")
 public record ProductCardResponse(
     @Schema(description = "Unique product identifier", example = "OT-123456")
@@ -9,7 +9,7 @@ import lombok.Builder;
  * DTO provides a complete view of a product including variants, attributes, media, and
  * specifications.
  */
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Complete product detail information for product detail page")
 public record ProductDetailResponse(
     // ===== BASIC INFORMATION =====
@@ -28,6 +28,8 @@ public record ProductDetailResponse(
     // ===== DESCRIPTION & DETAILS =====
     @Schema(description = "Parsed product description as array of feature points") List<String> description,
 
+    @Schema(description = "Whether the description is still being parsed; it is empty until then, fetch it from GET /api/v1/products/{itemId}/description", example = "false") boolean descriptionPending,
+
     @Schema(description = "Physical dimensions and weight") PhysicalParametersView physicalParameters,
 
     // ===== AVAILABILITY & STATUS =====
@@ -69,7 +71,7 @@ public record ProductDetailResponse(
     // ===== RATINGS & REVIEWS =====
     @Schema(description = "Rating and review metadata") MetaView meta,
 
-    @Schema(description = "Customer reviews with ratings, images, and engagement metrics") List<CustomerReviewView> customerReviews,
+    @Schema(description = "Customer reviews; empty on the detail endpoint, see GET /api/v1/products/{itemId}/reviews") List<CustomerReviewView> customerReviews,
 
     @Schema(description = "Recommended products based on this product") List<ProductCardResponse> recommendedProducts) {
 
@@ -3,6 +3,8 @@ package com.commercepal.apiservice.products.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.StringJoiner;
 import org.json.JSONObject;
 import org.springdoc.core.annotations.ParameterObject;
 
@@ -67,6 +69,42 @@ public record ProductPageRequestDto(
     return json;
   }
 
+  /**
+   * Builds a stable key for caching. The query is trimmed and lower-cased, blank filters are
+   * dropped, and page/size defaults are applied so equivalent requests share a key.
+   */
+  public String toCacheKey() {
+    StringJoiner key = new StringJoiner("|");
+    key.add("p=" + getPageOrDefault());
+    key.add("s=" + getSizeOrDefault());
+
+    appendIfPresent(key, "q", query == null ? null : query.trim().toLowerCase(Locale.ROOT));
+    appendIfPresent(key, "c", categoryId);
+    appendIfPresent(key, "pv", provider);
+    appendIfPresent(key, "o", orderBy);
+    appendIfPresent(key, "b", brandId);
+    appendIfPresent(key, "tm", isTmall);
+    appendIfPresent(key, "of", useOptimalFrameSize);
+    appendIfPresent(key, "vmax", maxVolume);
+    appendIfPresent(key, "vmin", minVolume);
+    appendIfPresent(key, "pmin",
+        minPrice == null ? null : minPrice.stripTrailingZeros().toPlainString());
+    appendIfPresent(key, "pmax",
+        maxPrice == null ? null : maxPrice.stripTrailingZeros().toPlainString());
+
+    return key.toString();
+  }
+
+  private void appendIfPresent(StringJoiner key, String name, Object value) {
+    if (value == null) {
+      return;
+    }
+    String text = value.toString().trim();
+    if (!text.isEmpty()) {
+      key.add(name + "=" + text);
+    }
+  }
+
   private void putIfPresent(JSONObject obj, String key, String value) {
     if (value != null && !value.isBlank()) {
       obj.put(key, value);
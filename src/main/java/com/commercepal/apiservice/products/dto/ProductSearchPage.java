@@ -0,0 +1,23 @@
+package com.commercepal.apiservice.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * One page of the merged cross-provider search, with the cursor to continue from.
+ */
+@Builder
+@Schema(description = "Merged search page with its continuation cursor")
+public record ProductSearchPage(
+    @Schema(description = "Page number (0-based index)", example = "0")
+    int page,
+
+    @Schema(description = "Merged, de-duplicated products")
+    List<ProductCardResponse> items,
+
+    @Schema(description = "Opaque cursor for the next page; null when there are no more results")
+    String nextCursor
+) {
+
+}
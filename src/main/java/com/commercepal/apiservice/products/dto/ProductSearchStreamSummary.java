@@ -0,0 +1,32 @@
+package com.commercepal.apiservice.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * Final frame of a streamed search, sent after every provider answered or the deadline passed.
+ */
+@Builder
+@Schema(description = "Final streamed search frame summarizing the providers")
+public record ProductSearchStreamSummary(
+    @Schema(description = "Page number (0-based index)", example = "0")
+    int page,
+
+    @Schema(description = "Requested page size", example = "36")
+    int size,
+
+    @Schema(description = "Total products emitted across all frames", example = "34")
+    int totalItems,
+
+    @Schema(description = "Providers whose results were emitted")
+    List<String> completedProviders,
+
+    @Schema(description = "Providers that did not answer before the deadline")
+    List<String> timedOutProviders,
+
+    @Schema(description = "Time from request to final frame in milliseconds", example = "2140")
+    long durationMs
+) {
+
+}
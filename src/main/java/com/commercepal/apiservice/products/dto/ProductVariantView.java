@@ -4,7 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 import lombok.Builder;
 
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Product variant/SKU with pricing and availability")
 public record ProductVariantView(
     @Schema(description = "Product configuration/variant identifier", example = "I32o646ehujb") String configId,
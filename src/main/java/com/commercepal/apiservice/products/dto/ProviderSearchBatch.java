@@ -0,0 +1,23 @@
+package com.commercepal.apiservice.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * One provider's page of search results, emitted as soon as that provider answers.
+ */
+@Builder
+@Schema(description = "Streamed search frame carrying a single provider's results")
+public record ProviderSearchBatch(
+    @Schema(description = "Provider code", example = "Shein")
+    String provider,
+
+    @Schema(description = "Number of products in this frame", example = "12")
+    int count,
+
+    @Schema(description = "Products returned by the provider")
+    List<ProductCardResponse> items
+) {
+
+}
@@ -2,15 +2,13 @@ package com.commercepal.apiservice.products.ot;
 
 import com.commercepal.apiservice.products.dto.MetaView;
 import com.commercepal.apiservice.products.dto.PricingView;
-import com.commercepal.apiservice.products.dto.PricingViewProvider;
+import com.commercepal.apiservice.products.pricing.PricingKernel;
 import com.commercepal.apiservice.products.pricing.ProductPriceService;
+import com.commercepal.apiservice.products.pricing.ProviderPrice;
 import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
-import com.commercepal.apiservice.utils.CurrencyFormatUtil;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -25,6 +23,17 @@ public abstract class OTBaseProductTransformService {
   protected final ProductPriceService priceService;
   protected final ForeignExchangeService foreignExchangeService;
 
+  /**
+   * Pricing kernel for the user's country and currency at the current exchange rates. Resolve it
+   * once per batch of items and pass it to {@link #calculatePricing(JSONObject, JSONObject,
+   * PricingKernel)}.
+   */
+  protected PricingKernel pricingKernel(SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    return priceService.pricingKernel(userCountry, targetCurrency,
+        foreignExchangeService.getRateSnapshot());
+  }
+
   /**
    * Core pricing calculation logic (reusable for all product transformations). Handles USD
    * conversion, markup application, and discount calculations.
@@ -39,99 +48,36 @@ public abstract class OTBaseProductTransformService {
       JSONObject promoPriceObj,
       SupportedCountry userCountry,
       SupportedCurrency targetCurrency) {
+    return calculatePricing(regularPriceObj, promoPriceObj,
+        pricingKernel(userCountry, targetCurrency));
+  }
 
-    BigDecimal rawOriginalUsd = regularPriceObj.optBigDecimal("OriginalPrice", BigDecimal.ZERO);
-    String originalCurrencyCode = regularPriceObj.optString("OriginalCurrencyCode", "USD");
-    BigDecimal rawPromoUsd = Optional.ofNullable(promoPriceObj)
-        .map(obj -> obj.optBigDecimal("OriginalPrice", BigDecimal.ZERO))
-        .orElse(null);
-
-    // Use target currency
-    BigDecimal exchangeRate = foreignExchangeService.getUsdToTargetRate(targetCurrency);
-
-    // Convert and apply markup
-    BigDecimal finalOriginalPrice = convertAndMarkup(rawOriginalUsd, exchangeRate, userCountry);
-
-    BigDecimal effectiveUsdToConvert =
-        (rawPromoUsd != null && rawPromoUsd.compareTo(rawOriginalUsd) < 0)
-            ? rawPromoUsd
-            : rawOriginalUsd;
-
-    BigDecimal finalCurrentPrice = convertAndMarkup(effectiveUsdToConvert, exchangeRate,
-        userCountry);
-
-    // Discount calculation
-    boolean hasDiscount = finalOriginalPrice.compareTo(finalCurrentPrice) > 0;
-
-    BigDecimal discountAmount = BigDecimal.ZERO;
-    int discountPercent = 0;
-    String formattedDiscountAmount = null;
-    String formattedDiscountPercentage = null;
-
-    String currencyCode = targetCurrency.getCode();
-
-    if (hasDiscount) {
-      discountAmount = finalOriginalPrice.subtract(finalCurrentPrice);
-      String formattedAmount = CurrencyFormatUtil.format(discountAmount, currencyCode);
-      formattedDiscountAmount = "Save " + formattedAmount;
-
-      discountPercent = finalOriginalPrice.subtract(finalCurrentPrice)
-          .divide(finalOriginalPrice, 2, RoundingMode.HALF_UP)
-          .multiply(BigDecimal.valueOf(100))
-          .intValue();
-
-      formattedDiscountPercentage = String.format("-%d%%", discountPercent);
-    }
-
-    // Provider Pricing View
-    BigDecimal unitMarkup = priceService.calculateBaseMarkup(effectiveUsdToConvert, userCountry);
-
-    PricingViewProvider pricingViewProvider = PricingViewProvider.builder()
-        .providerCurrency(originalCurrencyCode)
-        .providerUnitPrice(effectiveUsdToConvert)
-        .unitMarkup(unitMarkup)
-        .build();
-
-    return PricingView.builder()
-        .currency(targetCurrency)
-        .currentPrice(finalCurrentPrice)
-        .originalPrice(hasDiscount ? finalOriginalPrice : null)
-        .discountAmount(discountAmount)
-        .isOnDiscount(hasDiscount)
-        .discountPercentage(discountPercent)
-        .formattedDiscountPercentage(formattedDiscountPercentage)
-        .formattedCurrentPrice(CurrencyFormatUtil.format(finalCurrentPrice, currencyCode))
-        .formattedOriginalPrice(
-            hasDiscount ? CurrencyFormatUtil.format(finalOriginalPrice, currencyCode) : null)
-        .formattedDiscountAmount(formattedDiscountAmount)
-        .pricingViewProvider(pricingViewProvider)
-        .build();
+  /**
+   * Same as {@link #calculatePricing(JSONObject, JSONObject, SupportedCountry, SupportedCurrency)}
+   * with an already resolved kernel.
+   */
+  protected PricingView calculatePricing(
+      JSONObject regularPriceObj,
+      JSONObject promoPriceObj,
+      PricingKernel kernel) {
+    return kernel.price(extractProviderPrice(regularPriceObj, promoPriceObj));
   }
 
   /**
-   * Convert USD amount to local currency and apply country-specific markup.
+   * Reads the unconverted provider price from the OT price objects.
    *
-   * @param usdAmount    Amount in USD
-   * @param exchangeRate Exchange rate from USD to target currency
-   * @param country      Target country for markup calculation
-   * @return Final price with markup applied
+   * @param regularPriceObj Regular price JSON object
+   * @param promoPriceObj   Promotion price JSON object (nullable)
    */
-  protected BigDecimal convertAndMarkup(
-      BigDecimal usdAmount,
-      BigDecimal exchangeRate,
-      SupportedCountry country) {
-
-    // Convert USD to local currency
-    BigDecimal convertedAmount = usdAmount.multiply(exchangeRate)
-        .setScale(2, RoundingMode.HALF_UP);
-
-    // Apply country-specific markup
-    BigDecimal markup = priceService.calculateBaseMarkup(usdAmount, country);
-    BigDecimal markupInLocalCurrency = markup.multiply(exchangeRate)
-        .setScale(2, RoundingMode.HALF_UP);
+  protected ProviderPrice extractProviderPrice(JSONObject regularPriceObj,
+      JSONObject promoPriceObj) {
+    BigDecimal rawOriginalUsd = regularPriceObj.optBigDecimal("OriginalPrice", BigDecimal.ZERO);
+    String originalCurrencyCode = regularPriceObj.optString("OriginalCurrencyCode", "USD");
+    BigDecimal rawPromoUsd = promoPriceObj == null
+        ? null
+        : promoPriceObj.optBigDecimal("OriginalPrice", BigDecimal.ZERO);
 
-    return convertedAmount.add(markupInLocalCurrency)
-        .setScale(2, RoundingMode.HALF_UP);
+    return new ProviderPrice(rawOriginalUsd, rawPromoUsd, originalCurrencyCode);
   }
 
   /**
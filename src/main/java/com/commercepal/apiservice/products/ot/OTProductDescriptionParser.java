@@ -1,15 +1,31 @@
 package com.commercepal.apiservice.products.ot;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+/**
+ * Turns seller HTML descriptions into de-duplicated text paragraphs.
+ * <p>
+ * Both passes walk the parsed document in document order instead of evaluating CSS selectors, and
+ * text cleanup is a single character scan rather than two regex replacements per element. The
+ * structured pass needs the text of every element; it collects them bottom-up in one traversal
+ * (see {@link #elementTexts}) rather than rendering each subtree again at every ancestor. Parsing
+ * is still proportional to the size of the HTML, so callers keep it off the request path (see
+ * {@link OTProductDescriptionService}).
+ */
 @Slf4j
 public class OTProductDescriptionParser {
 
@@ -37,20 +53,16 @@ public class OTProductDescriptionParser {
 
   private static List<String> extractBasicContent(Document doc) {
     List<String> paragraphs = new ArrayList<>();
-    Elements paraElements = doc.select("p, div:not(:has(*))");
 
     // Use a Set to avoid duplicates
     Set<String> uniqueTexts = new HashSet<>();
 
-    for (Element para : paraElements) {
-      String text = para.text().trim();
-
-      // Remove bullet-like leading characters and extra symbols
-      text = text.replaceAll("^[•\\-\\*\\u2022\\s]+",
-          ""); // removes bullets, dashes, stars at start
-
-      // Extra cleanup: normalize spaces
-      text = text.replaceAll("\\s+", " ").trim();
+    // Same elements as select("p, div:not(:has(*))"): paragraphs and leaf divs
+    for (Element para : doc.getAllElements()) {
+      if (!para.nameIs("p") && !(para.nameIs("div") && para.childrenSize() == 0)) {
+        continue;
+      }
+      String text = cleanText(para.text());
 
       // Skip too-short or meaningless strings
       if (text.length() > 1 && uniqueTexts.add(text)) {
@@ -64,21 +76,14 @@ public class OTProductDescriptionParser {
   private static List<String> extractStructuredContent(Document doc) {
     List<String> features = new ArrayList<>();
 
-    // Look for common patterns in product descriptions
-    Elements allElements = doc.select("*");
-
     // Use a Set to avoid duplicates
     Set<String> uniqueTexts = new HashSet<>();
 
-    for (Element element : allElements) {
-      String text = element.text().trim();
-
-      // Remove bullet-like leading characters and extra symbols
-      text = text.replaceAll("^[•\\-\\*\\u2022\\s]+",
-          ""); // removes bullets, dashes, stars at start
+    Map<Element, String> texts = elementTexts(doc);
 
-      // Extra cleanup: normalize spaces
-      text = text.replaceAll("\\s+", " ").trim();
+    // Every element, as select("*")
+    for (Element element : doc.getAllElements()) {
+      String text = texts.get(element);
 
       // Feature descriptions (medium length text)
       // if (text.length() > 20 && text.length() < 300 && uniqueTexts.add(text)) {
@@ -92,4 +97,116 @@ public class OTProductDescriptionParser {
 
     return features;
   }
+
+  /**
+   * {@code cleanText(element.text())} of every element of the document, from one traversal.
+   * <p>
+   * {@link Element#text()} only ever adds spaces between pieces of content and trims the result, so
+   * an element whose children are one element with text plus only blank text, comments or
+   * elements without text has exactly that child's text. Such wrappers, however deeply nested,
+   * reuse the child's (same) string; only elements combining several pieces of content are
+   * rendered, and their text is part of the output anyway.
+   */
+  private static Map<Element, String> elementTexts(Document doc) {
+    Map<Element, String> texts = new IdentityHashMap<>();
+    // Elements whose text() is empty
+    Set<Element> blank = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    NodeTraversor.traverse(new NodeVisitor() {
+      @Override
+      public void head(Node node, int depth) {
+      }
+
+      @Override
+      public void tail(Node node, int depth) {
+        if (!(node instanceof Element element)) {
+          return;
+        }
+        Element content = null;
+        boolean combined = false;
+        for (Node child : element.childNodes()) {
+          boolean hasText = child instanceof Element childElement
+              ? !blank.contains(childElement)
+              : child instanceof TextNode textNode && !isTrimmed(textNode.getWholeText());
+          if (!hasText) {
+            continue;
+          }
+          if (content != null || !(child instanceof Element)) {
+            combined = true;
+            break;
+          }
+          content = (Element) child;
+        }
+
+        if (combined) {
+          String text = element.text();
+          if (text.isEmpty()) {
+            blank.add(element);
+          }
+          texts.put(element, cleanText(text));
+        } else if (content != null) {
+          texts.put(element, texts.get(content));
+        } else {
+          blank.add(element);
+          texts.put(element, "");
+        }
+      }
+    }, doc);
+    return texts;
+  }
+
+  // True if String.trim() removes every character, so the text adds nothing but trimmed blanks
+  private static boolean isTrimmed(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Trims the text, removes leading bullets, dashes, stars and whitespace, and collapses every
+   * whitespace run into one space. Same result as {@code trim()}, then
+   * {@code replaceAll("^[•\\-\\*\\u2022\\s]+", "")}, then
+   * {@code replaceAll("\\s+", " ").trim()}, in one pass.
+   */
+  static String cleanText(String raw) {
+    String text = raw.trim();
+    int start = 0;
+    while (start < text.length() && isBulletOrSpace(text.charAt(start))) {
+      start++;
+    }
+
+    StringBuilder cleaned = null;
+    boolean inSpace = false;
+    for (int i = start; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isSpace(c)) {
+        // Copy only once the text differs from its source: a second space or a non-' ' space
+        if (cleaned == null && (inSpace || c != ' ')) {
+          cleaned = new StringBuilder(text.length()).append(text, start, i);
+        }
+        if (!inSpace && cleaned != null) {
+          cleaned.append(' ');
+        }
+        inSpace = true;
+      } else {
+        if (cleaned != null) {
+          cleaned.append(c);
+        }
+        inSpace = false;
+      }
+    }
+    return cleaned == null ? text.substring(start).trim() : cleaned.toString().trim();
+  }
+
+  private static boolean isBulletOrSpace(char c) {
+    return c == '\u2022' || c == '-' || c == '*' || isSpace(c);
+  }
+
+  // Characters matched by the regex class \s
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
 }
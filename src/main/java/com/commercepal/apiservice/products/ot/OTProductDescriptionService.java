@@ -0,0 +1,136 @@
+package com.commercepal.apiservice.products.ot;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Parses seller HTML descriptions off the product detail request path.
+ * <p>
+ * A description is identified by a hash of its HTML. {@link #submit} returns that key at once and
+ * parses in the background on the transform executor. Results are cached by key, so a
+ * description shared by many items (seller templates) is parsed once. Readers take whatever is
+ * already parsed ({@link #getIfParsed}) or wait for it explicitly ({@link #await}), so detail
+ * latency never depends on how large or messy a seller's HTML is.
+ */
+@Slf4j
+@Service
+public class OTProductDescriptionService {
+
+  private static final String DESCRIPTION_CACHE = "productDescription";
+
+  private final CacheManager cacheManager;
+  private final Executor transformExecutor;
+  private final ConcurrentHashMap<String, CompletableFuture<List<String>>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public OTProductDescriptionService(CacheManager cacheManager,
+      @Qualifier("transformExecutor") Executor transformExecutor) {
+    this.cacheManager = cacheManager;
+    this.transformExecutor = transformExecutor;
+  }
+
+  /**
+   * Starts parsing the description unless it is already parsed or being parsed.
+   *
+   * @param html Raw HTML description
+   * @return Key to read the parsed description with, null for an empty description
+   */
+  public String submit(String html) {
+    if (html == null || html.isEmpty()) {
+      return null;
+    }
+    String key = contentKey(html);
+    if (getIfParsed(key) != null) {
+      return key;
+    }
+
+    CompletableFuture<List<String>> parse = new CompletableFuture<>();
+    if (inFlight.putIfAbsent(key, parse) != null) {
+      return key;
+    }
+    try {
+      CompletableFuture.supplyAsync(
+              () -> OTProductDescriptionParser.parseProductDescription(html), transformExecutor)
+          .whenComplete((paragraphs, error) -> {
+            if (error != null) {
+              inFlight.remove(key, parse);
+              log.warn("Product description parsing failed: key={}, error={}", key,
+                  error.getMessage());
+              parse.completeExceptionally(error);
+              return;
+            }
+            // Cache before unregistering, so readers always find one or the other
+            store(key, paragraphs);
+            inFlight.remove(key, parse);
+            parse.complete(paragraphs);
+          });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, parse);
+      parse.completeExceptionally(e);
+    }
+    return key;
+  }
+
+  /**
+   * Parsed description for the key, or null if it is not (or no longer) available yet.
+   */
+  public List<String> getIfParsed(String key) {
+    if (key == null) {
+      return null;
+    }
+    Cache cache = cacheManager.getCache(DESCRIPTION_CACHE);
+    if (cache == null) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    List<String> paragraphs = cache.get(key, List.class);
+    return paragraphs;
+  }
+
+  /**
+   * Parsed description for the key, waiting for a parse in progress.
+   *
+   * @return Future of the paragraphs, or null if the key is neither parsed nor being parsed (its
+   *     HTML must be submitted again)
+   */
+  public CompletableFuture<List<String>> await(String key) {
+    List<String> parsed = getIfParsed(key);
+    if (parsed != null) {
+      return CompletableFuture.completedFuture(parsed);
+    }
+    CompletableFuture<List<String>> parse = key == null ? null : inFlight.get(key);
+    if (parse != null) {
+      return parse.copy();
+    }
+    // Completed between the two lookups
+    parsed = getIfParsed(key);
+    return parsed != null ? CompletableFuture.completedFuture(parsed) : null;
+  }
+
+  private void store(String key, List<String> paragraphs) {
+    Cache cache = cacheManager.getCache(DESCRIPTION_CACHE);
+    if (cache != null) {
+      cache.put(key, List.copyOf(paragraphs));
+    }
+  }
+
+  private static String contentKey(String html) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
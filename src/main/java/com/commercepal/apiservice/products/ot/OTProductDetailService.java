@@ -1,20 +1,52 @@
 package com.commercepal.apiservice.products.ot;
 
+import com.commercepal.apiservice.products.ProductProperties;
+import com.commercepal.apiservice.products.RequestDeduplicationService;
+import com.commercepal.apiservice.products.dto.CustomerReviewView;
 import com.commercepal.apiservice.products.dto.ProductDetailResponse;
+import com.commercepal.apiservice.products.service.ReviewTransformService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
 import com.commercepal.apiservice.shared.exceptions.service.ProviderServiceException;
-import com.commercepal.apiservice.utils.HttpProcessor;
+import com.commercepal.apiservice.utils.StructuredHttpResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 /**
  * Professional service for fetching and transforming product details from OT provider. Implements
  * caching, DRY principles, and efficient error handling.
+ * <p>
+ * Provider data is cached once per item and block set, without country or currency
+ * ({@link UnpricedProductDetail}), and priced on every read. One provider call therefore serves
+ * all countries and currencies, and exchange rate changes apply immediately to cached items.
+ * <p>
+ * Reviews are not part of the detail: they are fetched, cached and paged on their own
+ * ({@link #getProductReviews}), which keeps detail payloads and cache entries small.
  */
 @Slf4j
 @Service
@@ -23,69 +55,424 @@ public class OTProductDetailService {
 
   private static final String SERVICE_NAME = "OT Product Detail Service";
   private static final String METHOD_NAME = "BatchGetItemFullInfo";
-  private static final String STATUS_CODE_SUCCESS = "200";
   private static final int RESULT_CODE_SUCCESS = 0;
-  private final HttpProcessor httpProcessor;
+  private static final String ORDER_BLOCK_LIST = "Promotions";
+  private static final String REVIEWS_BLOCK_LIST = "ProviderReviews";
+  private static final String SOURCE_CACHE = "productDetailSource";
+  private static final String REVIEWS_CACHE = "productReviews";
+  private static final int MAX_REVIEW_PAGE_SIZE = 50;
+  private static final TypeReference<UnpricedProductDetail> DETAIL_RESULT_TYPE =
+      new TypeReference<>() {
+      };
+  private static final TypeReference<List<CustomerReviewView>> REVIEWS_RESULT_TYPE =
+      new TypeReference<>() {
+      };
+  private final OTRequestExecutor otRequestExecutor;
+  private final RequestDeduplicationService deduplicationService;
   private final OTProductDetailTransformService otProductDetailTransformService;
-  @Value(value = "${marketplace.provider.url}")
-  private String apiUrl;
+  private final OTProductDescriptionService descriptionService;
+  private final ReviewTransformService reviewTransformService;
+  private final CacheManager cacheManager;
+  private final ProductProperties productProperties;
+  private final ProductDetailEarlyRefresh earlyRefresh;
+
+  // Response parsing/transform of batched fetches runs here, never on the HTTP event loop
+  @Qualifier("transformExecutor")
+  private final Executor transformExecutor;
 
   /**
-   * Fetch complete product details for customer display (includes reviews and recommendations).
-   * Results are cached for improved performance.
+   * Fetch complete product details for customer display (includes recommendations; reviews are
+   * paged by {@link #getProductReviews}, their rating and count are in {@code meta}). Provider
+   * data is cached; pricing is applied per request.
    *
    * @param itemId      Product item identifier
    * @param userCountry User's country for pricing calculation
    * @return Complete product detail response
    */
-  @Cacheable(value = "productDetails", key = "#itemId + '_' +#userCountry.name() + '_' + #targetCurrency.code")
   public ProductDetailResponse getProductDetailForDisplay(String itemId,
       SupportedCountry userCountry, SupportedCurrency targetCurrency) {
     log.debug("Fetching product detail for display: itemId={}, country={}, currency={}", itemId,
         userCountry,
         targetCurrency);
     String blockList = buildBlockListForDisplay(itemId);
-    return fetchAndTransformProductDetail(itemId, blockList, userCountry, targetCurrency);
+    UnpricedProductDetail source = getSource(itemId, blockList);
+    return otProductDetailTransformService.price(source, userCountry, targetCurrency);
   }
 
   /**
    * Fetch essential product details for order placement (optimized, no reviews/recommendations).
-   * Results are cached for improved performance.
+   * Reuses cached display data when it is recent enough, otherwise fetches the order blocks.
    *
    * @param itemId      Product item identifier
    * @param userCountry User's country for pricing calculation
    * @return Essential product detail response for order processing
    */
-  @Cacheable(value = "productDetails", key = "#itemId + '_order_' +#userCountry.name() + '_' + #targetCurrency.code")
   public ProductDetailResponse getProductDetailForOrder(String itemId,
       SupportedCountry userCountry, SupportedCurrency targetCurrency) {
     log.debug("Fetching product detail for order: itemId={}, country={}", itemId, userCountry);
-    String blockList = "Promotions";
-    return fetchAndTransformProductDetail(itemId, blockList, userCountry, targetCurrency);
+    UnpricedProductDetail source = cachedOrderSource(itemId);
+    if (source == null) {
+      source = getSource(itemId, ORDER_BLOCK_LIST);
+    }
+    return otProductDetailTransformService.price(source, userCountry, targetCurrency);
+  }
+
+  /**
+   * Batched {@link #getProductDetailForOrder} for carts and checkouts. All items are looked up in
+   * the cache first; the misses are fetched from the provider in parallel, at most
+   * {@code product.detail.batch-max-parallel} calls at a time, each completed call starting the
+   * next, so a typical cart costs about one provider round-trip: the slowest item, not the sum of
+   * all items. Each miss joins an identical call already in flight or just completed (the dedup
+   * retention window), including single-item lookups.
+   *
+   * @param itemIds     Product item identifiers; duplicates and blanks are ignored
+   * @param userCountry User's country for pricing calculation
+   * @return Details by item id, in request order. Items that could not be fetched are absent
+   */
+  public Map<String, ProductDetailResponse> getProductDetailsForOrder(Collection<String> itemIds,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    Map<String, UnpricedProductDetail> sources = new LinkedHashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String itemId : distinctIds(itemIds)) {
+      UnpricedProductDetail cached = cachedOrderSource(itemId);
+      sources.put(itemId, cached);
+      if (cached == null) {
+        misses.add(itemId);
+      }
+    }
+    log.debug("Fetching product details for order: items={}, cacheMisses={}, country={}",
+        sources.size(), misses.size(), userCountry);
+
+    if (!misses.isEmpty()) {
+      fetchMisses(misses, sources,
+          Math.max(1, productProperties.getDetail().getBatchMaxParallel()));
+    }
+
+    Map<String, ProductDetailResponse> details = new LinkedHashMap<>();
+    sources.forEach((itemId, source) -> {
+      if (source != null) {
+        details.put(itemId, otProductDetailTransformService.price(source, userCountry,
+            targetCurrency));
+      }
+    });
+    return details;
+  }
+
+  /**
+   * Fetches cache misses in parallel, keeping up to {@code maxParallel} calls in flight, and waits
+   * for all of them. Failed items are logged and left null.
+   */
+  private void fetchMisses(List<String> itemIds, Map<String, UnpricedProductDetail> sources,
+      int maxParallel) {
+    Queue<String> pending = new ConcurrentLinkedQueue<>(itemIds);
+    Map<String, UnpricedProductDetail> fetched = new ConcurrentHashMap<>();
+    CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(maxParallel,
+        itemIds.size())];
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = fetchPending(pending, fetched);
+    }
+    CompletableFuture.allOf(lanes).join();
+    sources.putAll(fetched);
+  }
+
+  /**
+   * Fetches queued misses one after another until the queue is empty.
+   */
+  private CompletableFuture<Void> fetchPending(Queue<String> pending,
+      Map<String, UnpricedProductDetail> fetched) {
+    String itemId = pending.poll();
+    if (itemId == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<UnpricedProductDetail> fetch;
+    try {
+      fetch = fetchCoalescedAsync(itemId, ORDER_BLOCK_LIST);
+    } catch (RuntimeException e) {
+      fetch = CompletableFuture.failedFuture(e);
+    }
+    return fetch
+        .handle((source, error) -> {
+          if (error != null) {
+            log.warn("Batched product detail fetch failed: itemId={}, error={}", itemId,
+                error.getCause() != null ? error.getCause().getMessage() : error.getMessage());
+          } else if (source != null) {
+            fetched.put(itemId, source);
+          }
+          return null;
+        })
+        .thenCompose(ignored -> fetchPending(pending, fetched));
+  }
+
+  /**
+   * Parsed description of the product. Descriptions are parsed in the background, so the detail
+   * responses may carry an empty one at first; this waits for the parse. Uses any cached provider
+   * data of the item, otherwise fetches the lightweight order data.
+   *
+   * @param itemId Product item identifier
+   * @return Description paragraphs, empty if the product has no description or it could not be
+   *     parsed
+   */
+  public List<String> getProductDescription(String itemId) {
+    return joinDescription(itemId, descriptionOf(itemId));
+  }
+
+  /**
+   * Parsed descriptions of several products, their parses awaited together rather than one after
+   * the other. A product whose data or description cannot be had gets an empty description.
+   *
+   * @param itemIds Product item identifiers
+   * @return Description paragraphs by item id
+   */
+  public Map<String, List<String>> getProductDescriptions(Collection<String> itemIds) {
+    Map<String, CompletableFuture<List<String>>> pending = new LinkedHashMap<>();
+    for (String itemId : new LinkedHashSet<>(itemIds)) {
+      try {
+        pending.put(itemId, descriptionOf(itemId));
+      } catch (RuntimeException e) {
+        pending.put(itemId, CompletableFuture.failedFuture(e));
+      }
+    }
+    Map<String, List<String>> descriptions = new LinkedHashMap<>();
+    pending.forEach((itemId, description) ->
+        descriptions.put(itemId, joinDescription(itemId, description)));
+    return descriptions;
+  }
+
+  private CompletableFuture<List<String>> descriptionOf(String itemId) {
+    UnpricedProductDetail source = cachedOrderSource(itemId);
+    if (source == null) {
+      source = cachedSource(itemId, buildBlockListForDisplay(itemId));
+    }
+    if (source == null) {
+      source = getSource(itemId, ORDER_BLOCK_LIST);
+    }
+    if (source.descriptionKey() == null) {
+      return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    CompletableFuture<List<String>> description = descriptionService.await(
+        source.descriptionKey());
+    if (description == null) {
+      // Evicted, or the data was shared by another node: fetch and parse here, not coalesced
+      log.debug("Description not available locally, refetching: itemId={}", itemId);
+      source = fetchAndTransformProductDetail(itemId, ORDER_BLOCK_LIST);
+      putSource(itemId, ORDER_BLOCK_LIST, source);
+      description = descriptionService.await(source.descriptionKey());
+    }
+    return description == null
+        ? CompletableFuture.completedFuture(Collections.emptyList())
+        : description;
+  }
+
+  private static List<String> joinDescription(String itemId,
+      CompletableFuture<List<String>> description) {
+    try {
+      return description.join();
+    } catch (CompletionException | CancellationException e) {
+      log.warn("Product description unavailable: itemId={}, error={}", itemId,
+          e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * One page of the product's provider reviews. All reviews of an item are fetched with one
+   * provider call and cached in their own region, so paging never calls the provider again.
+   *
+   * @param itemId Product item identifier
+   * @param page   Page number (0-indexed)
+   * @param size   Page size, capped at 50
+   * @return Page of reviews, with the total number of reviews available
+   */
+  public Page<CustomerReviewView> getProductReviews(String itemId, int page, int size) {
+    int pageNumber = Math.max(page, 0);
+    int pageSize = Math.min(Math.max(size, 1), MAX_REVIEW_PAGE_SIZE);
+    List<CustomerReviewView> reviews = getReviews(itemId);
+
+    int from = (int) Math.min((long) pageNumber * pageSize, reviews.size());
+    int to = Math.min(from + pageSize, reviews.size());
+    return new PageImpl<>(reviews.subList(from, to), PageRequest.of(pageNumber, pageSize),
+        reviews.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<CustomerReviewView> getReviews(String itemId) {
+    Cache cache = cacheManager.getCache(REVIEWS_CACHE);
+    List<CustomerReviewView> reviews = cache == null ? null : cache.get(itemId, List.class);
+    if (reviews != null) {
+      return reviews;
+    }
+
+    reviews = List.copyOf(deduplicationService.deduplicateBlocking(
+        detailKey(itemId, REVIEWS_BLOCK_LIST), REVIEWS_RESULT_TYPE, () -> fetchReviews(itemId)));
+    if (cache != null) {
+      cache.put(itemId, reviews);
+    }
+    return reviews;
+  }
+
+  private List<CustomerReviewView> fetchReviews(String itemId) {
+    JSONObject resultData = fetchResultData(itemId, REVIEWS_BLOCK_LIST);
+    return reviewTransformService.transformProviderReviews(
+        resultData.optJSONObject("ProviderReviews"));
+  }
+
+  /**
+   * Cached order data for the item, or recent display data trimmed to what an order fetch returns.
+   */
+  private UnpricedProductDetail cachedOrderSource(String itemId) {
+    UnpricedProductDetail source = cachedSource(itemId, ORDER_BLOCK_LIST);
+    if (source != null) {
+      refreshIfDue(itemId, ORDER_BLOCK_LIST, source);
+      return source;
+    }
+    UnpricedProductDetail display = cachedSource(itemId, buildBlockListForDisplay(itemId));
+    if (display != null && display.ageMillis()
+        <= productProperties.getDetail().getOrderReuseMaxAge().toMillis()) {
+      log.debug("Reusing display data for order lookup: itemId={}", itemId);
+      return display.forOrder();
+    }
+    return null;
+  }
+
+  private static Set<String> distinctIds(Collection<String> itemIds) {
+    Set<String> ids = new LinkedHashSet<>();
+    for (String itemId : itemIds) {
+      if (itemId != null && !itemId.isBlank()) {
+        ids.add(itemId);
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Cached provider data for the item and block set, fetched on a miss.
+   */
+  private UnpricedProductDetail getSource(String itemId, String blockList) {
+    UnpricedProductDetail cached = cachedSource(itemId, blockList);
+    if (cached != null) {
+      refreshIfDue(itemId, blockList, cached);
+      return cached;
+    }
+    return fetchCoalesced(itemId, blockList);
+  }
+
+  /**
+   * Reloads a hot entry in the background shortly before it expires, so its readers keep being
+   * served from the cache instead of all missing at once.
+   */
+  private void refreshIfDue(String itemId, String blockList, UnpricedProductDetail cached) {
+    earlyRefresh.refreshIfDue(sourceKey(itemId, blockList), cached.fetchedAtMillis(),
+        () -> fetchCoalescedAsync(itemId, blockList));
+  }
+
+  private void putSource(String itemId, String blockList, UnpricedProductDetail source) {
+    Cache cache = cacheManager.getCache(SOURCE_CACHE);
+    if (cache != null) {
+      cache.put(sourceKey(itemId, blockList), source);
+    }
+  }
+
+  private UnpricedProductDetail cachedSource(String itemId, String blockList) {
+    Cache cache = cacheManager.getCache(SOURCE_CACHE);
+    return cache == null ? null : cache.get(sourceKey(itemId, blockList),
+        UnpricedProductDetail.class);
+  }
+
+  private static String sourceKey(String itemId, String blockList) {
+    return itemId + "_" + blockList;
+  }
+
+  /**
+   * Coalesces concurrent cache misses for the same item and block set: one provider call is made
+   * and every waiting request (on this node, or cluster-wide with the Redis lease) shares its
+   * result, whatever country and currency it will be priced in. The loader also caches the
+   * result, so it is written (and broadcast to the other nodes) once per load, not once per
+   * waiting request.
+   */
+  private UnpricedProductDetail fetchCoalesced(String itemId, String blockList) {
+    return deduplicationService.deduplicateBlocking(detailKey(itemId, blockList),
+        DETAIL_RESULT_TYPE, () -> {
+          long started = System.nanoTime();
+          UnpricedProductDetail source = fetchAndTransformProductDetail(itemId, blockList);
+          storeLoaded(itemId, blockList, source, started);
+          return source;
+        });
+  }
+
+  /**
+   * Non-blocking {@link #fetchCoalesced}, sharing its coalescing key.
+   */
+  private CompletableFuture<UnpricedProductDetail> fetchCoalescedAsync(String itemId,
+      String blockList) {
+    return deduplicationService.deduplicate(detailKey(itemId, blockList), DETAIL_RESULT_TYPE,
+        () -> {
+          long started = System.nanoTime();
+          return fetchAndTransformProductDetailAsync(itemId, blockList)
+              .thenApply(source -> storeLoaded(itemId, blockList, source, started));
+        });
+  }
+
+  private UnpricedProductDetail storeLoaded(String itemId, String blockList,
+      UnpricedProductDetail source, long startedNanos) {
+    earlyRefresh.recordFetchMillis(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+    putSource(itemId, blockList, source);
+    return source;
+  }
+
+  private String detailKey(String itemId, String blockList) {
+    return deduplicationService.buildDetailKey(itemId + ":" + blockList);
   }
 
   /**
    * Core method to fetch and transform product details. Implements DRY principle by consolidating
    * common logic.
    *
-   * @param itemId      Product item identifier
-   * @param blockList   Comma-separated list of data blocks to fetch
-   * @param userCountry User's country for pricing calculation
-   * @return Transformed product detail response
+   * @param itemId    Product item identifier
+   * @param blockList Comma-separated list of data blocks to fetch
+   * @return Transformed, not yet priced product detail
    */
-  private ProductDetailResponse fetchAndTransformProductDetail(
+  private UnpricedProductDetail fetchAndTransformProductDetail(
       String itemId,
-      String blockList,
-      SupportedCountry userCountry,
-      SupportedCurrency targetCurrency) {
+      String blockList) {
+    return toUnpricedDetail(fetchResultData(itemId, blockList));
+  }
 
+  /**
+   * Calls the provider and returns the validated result data (Item, plus the requested blocks).
+   */
+  private JSONObject fetchResultData(String itemId, String blockList) {
     // Build request
     JSONObject requestBody = buildRequestBody(itemId, blockList);
 
     // Execute API call
-    JSONObject response = executeProviderRequest(requestBody);
-    System.err.println(response.toString());
+    StructuredHttpResponse response = executeProviderRequest(requestBody);
+
+    return extractValidatedResult(response, itemId);
+  }
 
+  /**
+   * Non-blocking variant of {@link #fetchAndTransformProductDetail}: the response is parsed and
+   * transformed on the transform executor once it arrives.
+   */
+  private CompletableFuture<UnpricedProductDetail> fetchAndTransformProductDetailAsync(
+      String itemId, String blockList) {
+    JSONObject requestBody = buildRequestBody(itemId, blockList);
+    return otRequestExecutor
+        .execute(OTRequestExecutor.OPERATION_DETAIL, OTRequestExecutor.ANY_PROVIDER, requestBody)
+        .exceptionally(ex -> {
+          log.error("Error communicating with {}: {}", SERVICE_NAME, ex.getMessage(), ex);
+          throw new ProviderServiceException(SERVICE_NAME, "Failed to connect to provider", ex);
+        })
+        .thenApplyAsync(response -> toUnpricedDetail(extractValidatedResult(response, itemId)),
+            transformExecutor);
+  }
+
+  /**
+   * Validates a provider response and extracts its result data.
+   */
+  private JSONObject extractValidatedResult(StructuredHttpResponse response, String itemId) {
     // Validate response
     validateResponse(response);
 
@@ -93,8 +480,13 @@ public class OTProductDetailService {
     JSONObject responseBody = parseResponseBody(response, itemId);
 
     // Extract result data
-    JSONObject resultData = extractResultData(responseBody);
+    return extractResultData(responseBody);
+  }
 
+  /**
+   * Transforms provider result data into a not yet priced product detail.
+   */
+  private UnpricedProductDetail toUnpricedDetail(JSONObject resultData) {
     // Extract individual components
     JSONObject item = resultData.optJSONObject("Item");
     JSONObject providerReviews = resultData.optJSONObject("ProviderReviews");
@@ -106,13 +498,13 @@ public class OTProductDetailService {
     }
 
     // Transform and return
-    return otProductDetailTransformService.transform(item, providerReviews, recommendedItems,
-        userCountry, targetCurrency);
+    return otProductDetailTransformService.transformUnpriced(item, providerReviews,
+        recommendedItems);
   }
 
   /**
    * Build block list for customer display based on item type. AliExpress items don't support
-   * RecommendedItems block.
+   * RecommendedItems block. Reviews are served separately by {@link #getProductReviews}.
    *
    * @param itemId Product item identifier
    * @return Comma-separated block list
@@ -120,8 +512,8 @@ public class OTProductDetailService {
   private String buildBlockListForDisplay(String itemId) {
     boolean isAliExpress = itemId.startsWith("az-") || itemId.startsWith("aesg-");
     return isAliExpress
-        ? "Promotions,ProviderReviews"
-        : "Promotions,RecommendedItems,ProviderReviews";
+        ? "Promotions"
+        : "Promotions,RecommendedItems";
   }
 
   /**
@@ -144,16 +536,17 @@ public class OTProductDetailService {
   }
 
   /**
-   * Execute HTTP request to provider API.
+   * Execute HTTP request to provider API with an adaptive deadline (and hedging when enabled).
    *
    * @param requestBody JSON request body
-   * @return JSON response from provider
+   * @return Structured response from provider (body not yet decoded)
    * @throws ProviderServiceException if communication fails
    */
-  private JSONObject executeProviderRequest(JSONObject requestBody) {
+  private StructuredHttpResponse executeProviderRequest(JSONObject requestBody) {
     try {
-      return httpProcessor
-          .executeStructuredRequest(apiUrl, "POST", requestBody.toString(), null)
+      return otRequestExecutor
+          .execute(OTRequestExecutor.OPERATION_DETAIL, OTRequestExecutor.ANY_PROVIDER,
+              requestBody)
           .join();
     } catch (Exception ex) {
       log.error("Error communicating with {}: {}", SERVICE_NAME, ex.getMessage(), ex);
@@ -164,29 +557,26 @@ public class OTProductDetailService {
   /**
    * Validate HTTP response status code.
    *
-   * @param response JSON response from provider
+   * @param response Structured response from provider
    * @throws ProviderServiceException if status code is not 200
    */
-  private void validateResponse(JSONObject response) {
-    String statusCode = response.optString("StatusCode", "0");
-    System.err.println(response);
-
-    if (!STATUS_CODE_SUCCESS.equals(statusCode)) {
-      log.error("Unexpected status code from {}: {}", SERVICE_NAME, statusCode);
+  private void validateResponse(StructuredHttpResponse response) {
+    if (!response.isOk()) {
+      log.error("Unexpected status code from {}: {}", SERVICE_NAME, response.statusCode());
       throw new ProviderServiceException(SERVICE_NAME,
-          String.format("Unexpected status code: %s", statusCode));
+          String.format("Unexpected status code: %s", response.statusCode()));
     }
   }
 
   /**
-   * Parse response body from HTTP response.
+   * Parse response body from HTTP response. The raw payload is decoded exactly once here.
    *
-   * @param response JSON response from provider
+   * @param response Structured response from provider
    * @return Parsed response body
    * @throws ProviderServiceException if result code indicates error
    */
-  private JSONObject parseResponseBody(JSONObject response, String itemId) {
-    JSONObject responseBody = new JSONObject(response.optString("ResponseBody", "{}"));
+  private JSONObject parseResponseBody(StructuredHttpResponse response, String itemId) {
+    JSONObject responseBody = response.body();
     int resultCode = responseBody.optInt("resultCode", -1);
 
     if (resultCode != RESULT_CODE_SUCCESS) {
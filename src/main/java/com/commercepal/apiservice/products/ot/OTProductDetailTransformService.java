@@ -11,14 +11,16 @@ import com.commercepal.apiservice.products.dto.ProductDetailResponse;
 import com.commercepal.apiservice.products.dto.ProductVariantView;
 import com.commercepal.apiservice.products.dto.VariantConfiguratorView;
 import com.commercepal.apiservice.products.dto.VideoView;
+import com.commercepal.apiservice.products.pricing.PricingKernel;
 import com.commercepal.apiservice.products.pricing.ProductPriceService;
+import com.commercepal.apiservice.products.pricing.ProviderPrice;
 import com.commercepal.apiservice.products.service.ReviewTransformService;
 import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
-import com.commercepal.apiservice.utils.CurrencyFormatUtil;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,15 +41,18 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
 
   private final ReviewTransformService reviewTransformService;
   private final OTProductTransformServiceOT otProductTransformService;
+  private final OTProductDescriptionService descriptionService;
 
   public OTProductDetailTransformService(
       ProductPriceService priceService,
       ForeignExchangeService foreignExchangeService,
       ReviewTransformService reviewTransformService,
-      OTProductTransformServiceOT otProductTransformService) {
+      OTProductTransformServiceOT otProductTransformService,
+      OTProductDescriptionService descriptionService) {
     super(priceService, foreignExchangeService);
     this.reviewTransformService = reviewTransformService;
     this.otProductTransformService = otProductTransformService;
+    this.descriptionService = descriptionService;
   }
 
   /**
@@ -63,6 +68,56 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
       JSONObject recommendedItems,
       SupportedCountry userCountry,
       SupportedCurrency targetCurrency) {
+    return price(transformUnpriced(item, providerReviews, recommendedItems), userCountry,
+        targetCurrency);
+  }
+
+  /**
+   * Applies country and currency pricing to a cached, currency-neutral product detail. The
+   * description is filled in once its background parse has finished; until then it is empty and
+   * {@code descriptionPending} is set, the client reading it from the description endpoint.
+   *
+   * @param source      Unpriced product detail
+   * @param userCountry User's country for markup
+   * @return Product detail priced at the current exchange rates
+   */
+  public ProductDetailResponse price(UnpricedProductDetail source, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    ProductDetailResponse detail = source.detail();
+    try {
+      PricingKernel pricingKernel = pricingKernel(userCountry, targetCurrency);
+
+      PricingView pricing = source.basePrice() == null
+          ? emptyPricing(pricingKernel)
+          : pricingKernel.price(source.basePrice());
+
+      List<String> description = descriptionService.getIfParsed(source.descriptionKey());
+
+      return detail.toBuilder()
+          .description(description != null ? description : Collections.emptyList())
+          .descriptionPending(description == null && source.descriptionKey() != null)
+          .pricing(pricing)
+          .variants(priceVariants(detail.variants(), source.variantPrices(), pricingKernel))
+          .recommendedProducts(priceRecommendedProducts(detail.recommendedProducts(),
+              source.recommendedPrices(), pricingKernel))
+          .build();
+    } catch (Exception e) {
+      log.error("Failed to transform product detail for item: {}", detail.id(), e);
+      throw new RuntimeException("Product detail transformation failed", e);
+    }
+  }
+
+  /**
+   * Transform raw OT product detail JSON into a currency-neutral product detail, to be priced per
+   * request with {@link #price}.
+   *
+   * @param item             Raw product JSON from OT API
+   * @param providerReviews  Provider reviews JSON object containing review data
+   * @param recommendedItems Recommended items JSON object containing product recommendations
+   * @return Product detail with pricing unset, plus the provider prices to apply
+   */
+  public UnpricedProductDetail transformUnpriced(JSONObject item, JSONObject providerReviews,
+      JSONObject recommendedItems) {
     try {
       // Extract basic information
       String id = item.optString("Id", "");
@@ -104,36 +159,37 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
       List<ImageView> images = extractAllImages(item.optJSONArray("Pictures"));
       ImageView mainImage = extractMainImage(item.optJSONArray("Pictures"));
       List<VideoView> videos = extractVideos(item.optJSONArray("Videos"));
+      List<ProviderPrice> variantPrices = new ArrayList<>();
       List<ProductVariantView> variants = extractVariants(
           item.optJSONArray("ConfiguredItems"),
           item.optJSONArray("Attributes"),
           promotionMap,
-          userCountry,
-          targetCurrency);
+          variantPrices);
 
       PhysicalParametersView physicalParameters = extractPhysicalParameters(
           item.optJSONObject("PhysicalParameters"));
       MetaView meta = extractMeta(item.optJSONArray("FeaturedValues"));
 
-      // Calculate base product pricing
-      PricingView pricing = calculateBasePricing(item, userCountry, targetCurrency);
+      // Base product price, converted on read
+      ProviderPrice basePrice = extractBasePrice(item);
 
       // Transform customer reviews
       List<CustomerReviewView> customerReviews = reviewTransformService.transformProviderReviews(
           providerReviews);
 
       // Transform recommended products
+      List<ProviderPrice> recommendedPrices = new ArrayList<>();
       List<ProductCardResponse> recommendedProducts = extractRecommendedProducts(recommendedItems,
-          userCountry, targetCurrency);
+          recommendedPrices);
 
-      // Parse description
-      List<String> description = parseDescription(item);
+      // Description is parsed in the background and filled in when priced
+      String descriptionKey = descriptionService.submit(extractDescriptionHtml(item));
 
       // Determine status
       String status = (masterQuantity > 0 && isSellAllowed) ? "AVAILABLE" : "OUT_OF_STOCK";
 
       // Build and return response
-      return ProductDetailResponse.builder()
+      ProductDetailResponse detail = ProductDetailResponse.builder()
           .id(id)
           .title(title)
           .provider(provider)
@@ -144,13 +200,13 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
           .stockLevel(masterQuantity)
           .isSellAllowed(isSellAllowed)
           .stuffStatus(stuffStatus)
-          .pricing(pricing)
+          .pricing(null)
           .images(images)
           .mainImage(mainImage)
           .videos(videos)
           .variants(variants)
           .hasHierarchicalConfigurators(hasHierarchicalConfigurators)
-          .description(description)
+          .description(null)
           .physicalParameters(physicalParameters)
           .meta(meta)
           .customerReviews(customerReviews)
@@ -162,6 +218,8 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
           .updatedTime(updatedTime)
           .build();
 
+      return new UnpricedProductDetail(detail, basePrice, variantPrices, recommendedPrices,
+          descriptionKey, System.currentTimeMillis());
     } catch (Exception e) {
       log.error("Failed to transform product detail for item: {}", item.optString("Id"), e);
       throw new RuntimeException("Product detail transformation failed", e);
@@ -324,8 +382,7 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
       JSONArray configuredItems,
       JSONArray attributes,
       Map<String, JSONObject> promotionMap,
-      SupportedCountry userCountry,
-      SupportedCurrency targetCurrency) {
+      List<ProviderPrice> variantPrices) {
     List<ProductVariantView> variantList = new ArrayList<>();
 
     if (configuredItems == null) {
@@ -352,22 +409,21 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
 
       // Check if this variant has promotion pricing
       JSONObject promoData = promotionMap.get(skuId);
-      PricingView variantPricing = null;
+      ProviderPrice variantPrice = null;
 
       if (promoData != null) {
-        // Calculate pricing with promotion
-        variantPricing = calculateVariantPricing(
+        // Pricing with promotion, converted on read
+        variantPrice = extractVariantPrice(
             configItem.optJSONObject("Price"),
-            promoData.optJSONObject("Price"),
-            userCountry,
-            targetCurrency);
+            promoData.optJSONObject("Price"));
       }
 
+      variantPrices.add(variantPrice);
       variantList.add(ProductVariantView.builder()
           .configId(skuId)
           .quantity(quantity)
           .salesCount(salesCount)
-          .pricing(variantPricing)
+          .pricing(null)
           .configurators(configurators)
           .build());
     }
@@ -478,34 +534,40 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
   }
 
   /**
-   * Calculate base product pricing (without variant-specific pricing). Extracts promotion price
+   * Extract the base product price (without variant-specific pricing). Uses the promotion price
    * from Promotions[0].Price if available.
+   *
+   * @return Base provider price, or null if the item has no base pricing
    */
-  private PricingView calculateBasePricing(JSONObject item, SupportedCountry userCountry,
-      SupportedCurrency targetCurrency) {
+  private ProviderPrice extractBasePrice(JSONObject item) {
     JSONObject regularPriceObj = item.optJSONObject("Price");
 
     // Extract base promotion price from Promotions array
     JSONObject promoPriceObj = extractBasePromotionPrice(item.optJSONArray("Promotions"));
 
     if (regularPriceObj == null || !regularPriceObj.has("OriginalPrice")) {
-      // No base pricing available, return empty pricing
-      return PricingView.builder()
-          .currency(targetCurrency)
-          .currentPrice(BigDecimal.ZERO)
-          .originalPrice(null)
-          .discountAmount(BigDecimal.ZERO)
-          .isOnDiscount(false)
-          .discountPercentage(0)
-          .formattedDiscountPercentage(null)
-          .formattedCurrentPrice(
-              CurrencyFormatUtil.format(BigDecimal.ZERO, targetCurrency.getCode()))
-          .formattedOriginalPrice(null)
-          .formattedDiscountAmount(null)
-          .build();
+      return null;
     }
 
-    return calculatePricing(regularPriceObj, promoPriceObj, userCountry, targetCurrency);
+    return extractProviderPrice(regularPriceObj, promoPriceObj);
+  }
+
+  /**
+   * Pricing shown when the item has no base price.
+   */
+  private PricingView emptyPricing(PricingKernel pricingKernel) {
+    return PricingView.builder()
+        .currency(pricingKernel.currency())
+        .currentPrice(BigDecimal.ZERO)
+        .originalPrice(null)
+        .discountAmount(BigDecimal.ZERO)
+        .isOnDiscount(false)
+        .discountPercentage(0)
+        .formattedDiscountPercentage(null)
+        .formattedCurrentPrice(pricingKernel.format(BigDecimal.ZERO))
+        .formattedOriginalPrice(null)
+        .formattedDiscountAmount(null)
+        .build();
   }
 
   /**
@@ -535,55 +597,79 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
   }
 
   /**
-   * Calculate variant-specific pricing.
+   * Extract variant-specific provider price.
    */
-  private PricingView calculateVariantPricing(
+  private ProviderPrice extractVariantPrice(
       JSONObject regularPriceObj,
-      JSONObject promoPriceObj,
-      SupportedCountry userCountry,
-      SupportedCurrency targetCurrency) {
+      JSONObject promoPriceObj) {
     if (regularPriceObj == null || !regularPriceObj.has("OriginalPrice")) {
       return null; // No pricing for this variant
     }
 
-    return calculatePricing(regularPriceObj, promoPriceObj, userCountry, targetCurrency);
+    return extractProviderPrice(regularPriceObj, promoPriceObj);
   }
 
   /**
-   * Parse product description using OTProductDescriptionParser.
+   * Applies pricing to the variants that have their own provider price.
    */
+  private List<ProductVariantView> priceVariants(List<ProductVariantView> variants,
+      List<ProviderPrice> variantPrices, PricingKernel pricingKernel) {
+    if (variants == null) {
+      return null;
+    }
+    List<ProductVariantView> priced = new ArrayList<>(variants.size());
+    for (int i = 0; i < variants.size(); i++) {
+      ProviderPrice variantPrice = variantPrices.get(i);
+      ProductVariantView variant = variants.get(i);
+      priced.add(variantPrice == null
+          ? variant
+          : variant.toBuilder().pricing(pricingKernel.price(variantPrice)).build());
+    }
+    return priced;
+  }
+
   /**
-   * Parse product description using OTProductDescriptionParser.
+   * Applies pricing to the recommended product cards.
    */
-  private List<String> parseDescription(JSONObject item) {
-    try {
-      // Try to get HTML description from common fields
-      String htmlDescription = item.optString("Description", "");
-
-      if (htmlDescription.isEmpty()) {
-        htmlDescription = item.optString("HtmlDescription", "");
+  private List<ProductCardResponse> priceRecommendedProducts(List<ProductCardResponse> products,
+      List<ProviderPrice> productPrices, PricingKernel pricingKernel) {
+    if (products == null) {
+      return null;
+    }
+    List<ProductCardResponse> priced = new ArrayList<>(products.size());
+    for (int i = 0; i < products.size(); i++) {
+      ProductCardResponse product = products.get(i);
+      try {
+        priced.add(product.toBuilder().pricing(pricingKernel.price(productPrices.get(i))).build());
+      } catch (Exception e) {
+        log.error("Failed to price recommended item {}: {}", product.id(), e.getMessage(), e);
       }
+    }
+    return priced;
+  }
 
-      if (htmlDescription.isEmpty()) {
-        return new ArrayList<>();
-      }
+  /**
+   * Raw HTML description of the item, empty if it has none.
+   */
+  private String extractDescriptionHtml(JSONObject item) {
+    // Try to get HTML description from common fields
+    String htmlDescription = item.optString("Description", "");
 
-      return OTProductDescriptionParser.parseProductDescription(htmlDescription);
-    } catch (Exception e) {
-      log.warn("Failed to parse product description for item: {}", item.optString("Id"), e);
-      return new ArrayList<>();
+    if (htmlDescription.isEmpty()) {
+      htmlDescription = item.optString("HtmlDescription", "");
     }
+    return htmlDescription;
   }
 
   /**
    * Extract and transform recommended products from RecommendedItems JSON.
    *
    * @param recommendedItems Recommended items JSON object
-   * @param userCountry      User's country for pricing calculation
-   * @return List of ProductCardResponse objects
+   * @param productPrices    Receives the provider price of every returned product, in order
+   * @return List of ProductCardResponse objects, pricing unset
    */
   private List<ProductCardResponse> extractRecommendedProducts(JSONObject recommendedItems,
-      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+      List<ProviderPrice> productPrices) {
     List<ProductCardResponse> products = new ArrayList<>();
 
     if (recommendedItems == null || recommendedItems.isEmpty()) {
@@ -605,9 +691,11 @@ public class OTProductDetailTransformService extends OTBaseProductTransformServi
       }
 
       try {
-        ProductCardResponse productCard = otProductTransformService.transform(itemJson,
-            userCountry, targetCurrency);
+        ProviderPrice productPrice = extractProviderPrice(itemJson.optJSONObject("Price"),
+            itemJson.optJSONObject("PromotionPrice"));
+        ProductCardResponse productCard = otProductTransformService.transformUnpriced(itemJson);
         products.add(productCard);
+        productPrices.add(productPrice);
       } catch (Exception e) {
         log.error("Failed to transform recommended item at index {}: {}", i, e.getMessage(), e);
         // Continue processing other items instead of failing completely
@@ -2,18 +2,21 @@ package com.commercepal.apiservice.products.ot;
 
 import com.commercepal.apiservice.products.dto.ProductCardResponse;
 import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.products.pricing.PricingKernel;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
 import com.commercepal.apiservice.shared.enums.SupportedCurrency;
 import com.commercepal.apiservice.shared.exceptions.service.ProviderServiceException;
-import com.commercepal.apiservice.utils.HttpProcessor;
+import com.commercepal.apiservice.utils.StructuredHttpResponse;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -23,11 +26,12 @@ public class OTProductListService {
 
   private static final String SERVICE_NAME = "OT Product List Service";
 
-  private final HttpProcessor httpProcessor;
+  private final OTRequestExecutor otRequestExecutor;
   private final OTProductTransformServiceOT otProductTransformService;
 
-  @Value(value = "${marketplace.provider.url}")
-  private String apiUrl;
+  // CPU-bound parsing/transform runs here, never on the HTTP event loop
+  @Qualifier("transformExecutor")
+  private final Executor transformExecutor;
 
   /**
    * Builds search request with optimized parameter handling.
@@ -61,28 +65,45 @@ public class OTProductListService {
         .put("framePosition", String.valueOf(page));
   }
 
-  public List<ProductCardResponse> getOtProducts(ProductPageRequestDto requestDto,
-      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
-    JSONObject requestBody = buildSearchRequest(requestDto);
-
-    JSONObject response;
+  /**
+   * Searches OT without blocking: the request is sent on the HTTP client's event loop and the
+   * response is parsed and transformed on the transform executor once it arrives.
+   *
+   * @return Future of de-duplicated product cards; fails with {@link ProviderServiceException}
+   */
+  public CompletableFuture<List<ProductCardResponse>> getOtProductsAsync(
+      ProductPageRequestDto requestDto, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    JSONObject requestBody;
     try {
-      response = httpProcessor
-          .executeStructuredRequest(apiUrl, "POST", requestBody.toString(), null)
-          .join();
-    } catch (Exception ex) {
-      log.error("Error communicating with {}: {}", SERVICE_NAME, ex.getMessage(), ex);
-      throw new ProviderServiceException(SERVICE_NAME, "Failed to connect to provider", ex);
+      requestBody = buildSearchRequest(requestDto);
+    } catch (IllegalArgumentException ex) {
+      return CompletableFuture.failedFuture(ex);
     }
 
-    String statusCode = response.optString("StatusCode", "0");
-    if (!"200".equals(statusCode)) {
-      log.error("Unexpected status code from {}: {}", SERVICE_NAME, statusCode);
+    return otRequestExecutor
+        .execute(OTRequestExecutor.OPERATION_SEARCH, latencyKey(requestDto), requestBody)
+        .exceptionally(ex -> {
+          log.error("Error communicating with {}: {}", SERVICE_NAME, ex.getMessage(), ex);
+          throw new ProviderServiceException(SERVICE_NAME, "Failed to connect to provider", ex);
+        })
+        .thenApplyAsync(response -> toProductCards(response, userCountry, targetCurrency),
+            transformExecutor);
+  }
+
+  /**
+   * Validates the OT search response and transforms its items into product cards.
+   */
+  private List<ProductCardResponse> toProductCards(StructuredHttpResponse response,
+      SupportedCountry userCountry, SupportedCurrency targetCurrency) {
+    if (!response.isOk()) {
+      log.error("Unexpected status code from {}: {}", SERVICE_NAME, response.statusCode());
       throw new ProviderServiceException(SERVICE_NAME,
-          String.format("Unexpected status code: %s", statusCode));
+          String.format("Unexpected status code: %s", response.statusCode()));
     }
 
-    JSONObject responseBody = new JSONObject(response.optString("ResponseBody", "{}"));
+    // Single decode of the raw payload, on the transform executor
+    JSONObject responseBody = response.body();
     int resultCode = responseBody.optInt("resultCode", -1);
     if (resultCode != 0) {
       log.warn("{} responded with error resultCode: {}", SERVICE_NAME, resultCode);
@@ -93,6 +114,10 @@ public class OTProductListService {
     List<ProductCardResponse> productList = new ArrayList<>();
     Set<String> seenProductIds = new HashSet<>();
 
+    // One pricing kernel for the whole page
+    PricingKernel pricingKernel = otProductTransformService.pricingKernel(userCountry,
+        targetCurrency);
+
     JSONObject items = responseBody.getJSONObject("body").getJSONObject("Result")
         .getJSONObject("Items");
     items.getJSONArray("Content")
@@ -101,8 +126,8 @@ public class OTProductListService {
 
           double originalPrice = itemInfo.optJSONObject("Price").optDouble("OriginalPrice", 0.0);
           if (originalPrice != 0.0) {
-            ProductCardResponse detail = otProductTransformService.transform(itemInfo, userCountry,
-                targetCurrency);
+            ProductCardResponse detail = otProductTransformService.transform(itemInfo,
+                pricingKernel);
             String productId = detail.id();
 
             if (seenProductIds.add(productId)) {
@@ -114,4 +139,12 @@ public class OTProductListService {
     return productList;
   }
 
+  /**
+   * Latency statistics are kept per provider so each gets its own adaptive deadline.
+   */
+  private static String latencyKey(ProductPageRequestDto requestDto) {
+    String provider = requestDto.provider();
+    return provider == null || provider.isBlank() ? OTRequestExecutor.ANY_PROVIDER : provider;
+  }
+
 }
@@ -4,6 +4,7 @@ import com.commercepal.apiservice.products.dto.ImageView;
 import com.commercepal.apiservice.products.dto.MetaView;
 import com.commercepal.apiservice.products.dto.PricingView;
 import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.products.pricing.PricingKernel;
 import com.commercepal.apiservice.products.pricing.ProductPriceService;
 import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
@@ -34,6 +35,35 @@ public class OTProductTransformServiceOT extends OTBaseProductTransformService {
    */
   public ProductCardResponse transform(JSONObject item, SupportedCountry userCountry,
       SupportedCurrency targetCurrency) {
+    return transform(item, pricingKernel(userCountry, targetCurrency));
+  }
+
+  /**
+   * Transform raw OT product JSON into ProductCardResponse with an already resolved pricing
+   * kernel. Use this when transforming a batch of items for the same country and currency.
+   *
+   * @param item   Raw product JSON from OT API
+   * @param kernel Pricing kernel for the user's country and currency
+   * @return Transformed product card response
+   */
+  public ProductCardResponse transform(JSONObject item, PricingKernel kernel) {
+    PricingView pricing = calculatePricing(item.optJSONObject("Price"),
+        item.optJSONObject("PromotionPrice"), kernel);
+    return buildCard(item, pricing);
+  }
+
+  /**
+   * Transform raw OT product JSON into ProductCardResponse without pricing, for data that is
+   * cached independently of country and currency and priced on read.
+   *
+   * @param item Raw product JSON from OT API
+   * @return Product card with {@code pricing} unset
+   */
+  public ProductCardResponse transformUnpriced(JSONObject item) {
+    return buildCard(item, null);
+  }
+
+  private ProductCardResponse buildCard(JSONObject item, PricingView pricing) {
     // Extract base data
     String id = item.getString("Id");
     String title = item.optString("OriginalTitle", "Untitled Product");
@@ -42,11 +72,6 @@ public class OTProductTransformServiceOT extends OTBaseProductTransformService {
 
     // Build components using base class methods
     ImageView images = extractImages(item.optJSONArray("Pictures"));
-    JSONObject promoPriceObj = item.optJSONObject("PromotionPrice");
-    JSONObject regularPriceObj = item.optJSONObject("Price");
-
-    PricingView pricing = calculatePricing(regularPriceObj, promoPriceObj, userCountry,
-        targetCurrency);
     MetaView meta = extractMeta(item.optJSONArray("FeaturedValues"));
 
     // Build final response
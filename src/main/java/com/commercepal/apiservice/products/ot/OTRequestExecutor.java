@@ -0,0 +1,211 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.ProductMetricsService;
+import com.commercepal.apiservice.products.ProductProperties;
+import com.commercepal.apiservice.utils.HttpProcessor;
+import com.commercepal.apiservice.utils.StructuredHttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency-aware executor for OT provider calls.
+ * <p>
+ * Each call gets an adaptive deadline derived from the live latency histogram of its
+ * operation/provider pair (p99 x factor, clamped to the configured bounds). When hedging is
+ * enabled, a duplicate request is sent once the first one has exceeded the live p95, and whichever
+ * successful answer arrives first wins; the other attempt is cancelled. Hedges are limited to
+ * {@code product.ot.hedging.max-ratio} of the requests per provider.
+ * <p>
+ * Timed-out calls are recorded in the histogram at their elapsed time, so a slowing provider
+ * raises its p99 (and deadline) instead of leaving only its fast answers in the statistics.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OTRequestExecutor {
+
+  public static final String OPERATION_SEARCH = "search";
+  public static final String OPERATION_DETAIL = "detail";
+  public static final String ANY_PROVIDER = "all";
+
+  private final HttpProcessor httpProcessor;
+  private final ProductMetricsService metricsService;
+  private final ProductProperties productProperties;
+
+  private final ConcurrentMap<String, HedgeBudget> hedgeBudgets = new ConcurrentHashMap<>();
+
+  @Value(value = "${marketplace.provider.url}")
+  private String apiUrl;
+
+  /**
+   * Executes an OT request with an adaptive deadline and optional hedging.
+   *
+   * @param operation   Operation name used to key latency statistics (e.g. "search")
+   * @param provider    Provider code, or {@link #ANY_PROVIDER} when unknown
+   * @param requestBody OT request body
+   * @return Structured response whose body is decoded once, on first access (see
+   * {@link StructuredHttpResponse}); completes exceptionally with {@link TimeoutException} when the
+   * deadline passes
+   */
+  public CompletableFuture<StructuredHttpResponse> execute(String operation, String provider,
+      JSONObject requestBody) {
+    String body = requestBody.toString();
+    Duration deadline = resolveDeadline(operation, provider);
+    Duration hedgeDelay = resolveHedgeDelay(operation, provider, deadline);
+    long startTime = System.currentTimeMillis();
+
+    List<CompletableFuture<StructuredHttpResponse>> attempts = new CopyOnWriteArrayList<>();
+    AtomicInteger inFlight = new AtomicInteger(1);
+    CompletableFuture<StructuredHttpResponse> result = new CompletableFuture<>();
+
+    launchAttempt(body, attempts, inFlight, result);
+
+    if (hedgeDelay != null) {
+      HedgeBudget budget = hedgeBudget(provider);
+      CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS)
+          .execute(() -> {
+            if (result.isDone()) {
+              return;
+            }
+            if (!budget.tryWithdraw()) {
+              metricsService.incrementOtHedgesDenied(operation, provider);
+              return;
+            }
+            inFlight.incrementAndGet();
+            metricsService.incrementOtHedgedRequests(operation, provider);
+            log.debug("Hedging {} request for {} after {}ms", operation, provider,
+                hedgeDelay.toMillis());
+            launchAttempt(body, attempts, inFlight, result);
+          });
+    }
+
+    return result
+        .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((response, error) -> {
+          // Cancel the losing or timed-out attempts so their connections are released
+          attempts.forEach(attempt -> attempt.cancel(true));
+
+          if (error == null) {
+            metricsService.recordOtLatency(operation, provider,
+                System.currentTimeMillis() - startTime);
+          } else if (error instanceof TimeoutException) {
+            // Lower bound of the real latency; leaving it out would keep the p99 too low
+            metricsService.recordOtLatency(operation, provider,
+                System.currentTimeMillis() - startTime);
+            metricsService.incrementOtTimeouts(operation, provider);
+            log.warn("OT {} request for {} exceeded adaptive deadline of {}ms", operation,
+                provider, deadline.toMillis());
+          }
+        });
+  }
+
+  private void launchAttempt(String body,
+      List<CompletableFuture<StructuredHttpResponse>> attempts, AtomicInteger inFlight,
+      CompletableFuture<StructuredHttpResponse> result) {
+    CompletableFuture<StructuredHttpResponse> attempt = httpProcessor.executeParsedRequest(apiUrl,
+        "POST", body, null);
+    attempts.add(attempt);
+
+    attempt.whenComplete((response, error) -> {
+      boolean success = error == null && response.isOk();
+      int remaining = inFlight.decrementAndGet();
+
+      if (success) {
+        result.complete(response);
+      } else if (remaining == 0) {
+        // No other attempt can still succeed: surface this failure as-is
+        if (error != null) {
+          result.completeExceptionally(error);
+        } else {
+          result.complete(response);
+        }
+      }
+    });
+  }
+
+  /**
+   * Deadline = live p99 x factor, clamped to [min-timeout, max-timeout]. Falls back to max-timeout
+   * until enough samples were observed.
+   */
+  private Duration resolveDeadline(String operation, String provider) {
+    ProductProperties.AdaptiveTimeout config = productProperties.getOt().getAdaptiveTimeout();
+    if (!config.isEnabled()) {
+      return config.getMaxTimeout();
+    }
+
+    OptionalDouble p99 = metricsService.getOtLatencyPercentile(operation, provider,
+        ProductMetricsService.P99, config.getMinSamples());
+    if (p99.isEmpty()) {
+      return config.getMaxTimeout();
+    }
+
+    long adaptiveMs = (long) Math.ceil(p99.getAsDouble() * config.getP99Factor());
+    long clampedMs = Math.max(config.getMinTimeout().toMillis(),
+        Math.min(config.getMaxTimeout().toMillis(), adaptiveMs));
+    return Duration.ofMillis(clampedMs);
+  }
+
+  /**
+   * Hedge delay = live p95 (at least min-delay). Null when hedging is disabled, not warmed up, or
+   * the hedge could not fire before the deadline.
+   */
+  private Duration resolveHedgeDelay(String operation, String provider, Duration deadline) {
+    ProductProperties.Hedging config = productProperties.getOt().getHedging();
+    if (!config.isEnabled()) {
+      return null;
+    }
+
+    OptionalDouble p95 = metricsService.getOtLatencyPercentile(operation, provider,
+        ProductMetricsService.P95,
+        productProperties.getOt().getAdaptiveTimeout().getMinSamples());
+    if (p95.isEmpty()) {
+      return null;
+    }
+
+    long delayMs = Math.max(config.getMinDelay().toMillis(), (long) p95.getAsDouble());
+    return delayMs < deadline.toMillis() ? Duration.ofMillis(delayMs) : null;
+  }
+
+  /**
+   * Hedge budget of the provider, credited with max-ratio for this request.
+   */
+  private HedgeBudget hedgeBudget(String provider) {
+    ProductProperties.Hedging config = productProperties.getOt().getHedging();
+    HedgeBudget budget = hedgeBudgets.computeIfAbsent(provider, key -> new HedgeBudget());
+    budget.deposit(config.getMaxRatio(), config.getMaxBurst());
+    return budget;
+  }
+
+  /**
+   * Hedges a provider may still send: each request adds max-ratio, each hedge takes one.
+   */
+  private static final class HedgeBudget {
+
+    private double credit;
+
+    synchronized void deposit(double amount, int max) {
+      credit = Math.min(max, credit + amount);
+    }
+
+    synchronized boolean tryWithdraw() {
+      if (credit < 1) {
+        return false;
+      }
+      credit -= 1;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.ProductMetricsService;
+import com.commercepal.apiservice.products.ProductProperties;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Probabilistic early refresh of cached product details.
+ * <p>
+ * Every read of a cached entry may start a background reload, with a chance that rises as the
+ * entry approaches its expiry: a reload starts once
+ * {@code now - recompute x beta x ln(random) >= fetchedAt + ttl}, where {@code recompute} is the
+ * observed duration of a provider fetch and {@code ttl} the lifetime of the data across both cache
+ * tiers. Hot entries are therefore reloaded shortly before they
+ * expire while the old value keeps being served, so their readers never all miss at the same
+ * moment; rarely read entries simply expire. At most one reload per key runs at a time, and a
+ * failed one is not retried before {@code product.detail.early-refresh.failure-backoff}.
+ */
+@Slf4j
+@Component
+public class ProductDetailEarlyRefresh {
+
+  private static final String SOURCE_CACHE = "productDetailSource";
+  private static final double RECOMPUTE_SMOOTHING = 0.2;
+
+  private final ProductProperties.EarlyRefresh properties;
+  private final ProductMetricsService metricsService;
+  private final long ttlMillis;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  // Smoothed duration of a provider fetch; races between writers only lose a sample
+  private volatile double recomputeMillis = 1_000;
+
+  public ProductDetailEarlyRefresh(ProductProperties productProperties,
+      ProductMetricsService metricsService) {
+    this.properties = productProperties.getDetail().getEarlyRefresh();
+    this.metricsService = metricsService;
+    this.ttlMillis = lifetimeMillis(productProperties.getCache());
+  }
+
+  /**
+   * How long fetched data stays cached: an entry read back from L2 is promoted into L1 with its
+   * original fetch time, so with L2 enabled the data lives for the longer of the two TTLs.
+   */
+  private static long lifetimeMillis(ProductProperties.CacheTiers tiers) {
+    ProductProperties.CacheRegion region = tiers.region(SOURCE_CACHE);
+    long l1Millis = region.getL1Ttl().toMillis();
+    Duration l2Ttl = region.getL2Ttl();
+    if (!tiers.isL2Enabled() || l2Ttl == null || l2Ttl.isNegative() || l2Ttl.isZero()) {
+      return l1Millis;
+    }
+    return Math.max(l1Millis, l2Ttl.toMillis());
+  }
+
+  /**
+   * Starts the reload in the background if the entry is due for an early refresh.
+   *
+   * @param key             Cache key of the entry
+   * @param fetchedAtMillis When the cached data was fetched from the provider
+   * @param reload          Reload that stores the new value in the cache itself
+   */
+  public void refreshIfDue(String key, long fetchedAtMillis,
+      Supplier<CompletableFuture<?>> reload) {
+    if (!properties.isEnabled() || !isDue(fetchedAtMillis) || !refreshing.add(key)) {
+      return;
+    }
+    log.debug("Early refresh of cached product detail: {}", key);
+    metricsService.incrementDetailEarlyRefreshStarted();
+
+    CompletableFuture<?> future;
+    try {
+      future = reload.get();
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    future.whenComplete((value, error) -> {
+      if (error == null) {
+        refreshing.remove(key);
+        return;
+      }
+      metricsService.incrementDetailEarlyRefreshFailed();
+      log.debug("Early refresh failed for {}: {}", key, error.getMessage());
+      CompletableFuture.delayedExecutor(properties.getFailureBackoff().toMillis(),
+          TimeUnit.MILLISECONDS).execute(() -> refreshing.remove(key));
+    });
+  }
+
+  /**
+   * Feeds the duration of a provider fetch into the recompute estimate.
+   */
+  public void recordFetchMillis(long millis) {
+    recomputeMillis += (millis - recomputeMillis) * RECOMPUTE_SMOOTHING;
+  }
+
+  private boolean isDue(long fetchedAtMillis) {
+    // In (0, 1], so the logarithm is finite
+    double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+    double headStartMillis = -recomputeMillis * properties.getBeta() * Math.log(random);
+    return System.currentTimeMillis() + headStartMillis >= fetchedAtMillis + ttlMillis;
+  }
+}
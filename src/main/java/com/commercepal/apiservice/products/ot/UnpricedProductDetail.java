@@ -0,0 +1,51 @@
+package com.commercepal.apiservice.products.ot;
+
+import com.commercepal.apiservice.products.dto.ProductDetailResponse;
+import com.commercepal.apiservice.products.pricing.ProviderPrice;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transformed OT product detail without any country or currency applied: the cached form of a
+ * {@code BatchGetItemFullInfo} result. All {@code pricing} fields of {@link #detail} are unset;
+ * the provider prices needed to fill them are kept alongside, so one cached entry can be priced
+ * for every country and currency, always at the current exchange rates.
+ *
+ * @param detail            Product detail with pricing unset
+ * @param basePrice         Provider price of the item, null if the item has none
+ * @param variantPrices     Provider price per entry of {@code detail.variants()}, null entries for
+ *                          variants without own pricing
+ * @param recommendedPrices Provider price per entry of {@code detail.recommendedProducts()}
+ * @param descriptionKey    Key of the description parsed by {@link OTProductDescriptionService};
+ *                          {@code detail.description()} is unset. Null if there is none
+ * @param fetchedAtMillis   When the provider data was fetched (epoch millis)
+ */
+public record UnpricedProductDetail(
+    ProductDetailResponse detail,
+    ProviderPrice basePrice,
+    List<ProviderPrice> variantPrices,
+    List<ProviderPrice> recommendedPrices,
+    String descriptionKey,
+    long fetchedAtMillis) {
+
+  /**
+   * Age of the provider data in milliseconds.
+   */
+  public long ageMillis() {
+    return System.currentTimeMillis() - fetchedAtMillis;
+  }
+
+  /**
+   * The same data as an order lookup (blocks {@code Promotions} only) would have produced: reviews
+   * and recommendations are dropped.
+   */
+  public UnpricedProductDetail forOrder() {
+    ProductDetailResponse orderDetail = detail.toBuilder()
+        .customerReviews(Collections.emptyList())
+        .recommendedProducts(new ArrayList<>())
+        .build();
+    return new UnpricedProductDetail(orderDetail, basePrice, variantPrices,
+        Collections.emptyList(), descriptionKey, fetchedAtMillis);
+  }
+}
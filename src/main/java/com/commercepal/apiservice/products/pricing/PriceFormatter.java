@@ -0,0 +1,109 @@
+package com.commercepal.apiservice.products.pricing;
+
+import com.commercepal.apiservice.utils.CurrencyFormatUtil;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Allocation-light equivalent of {@link CurrencyFormatUtil#format} for the pricing kernel.
+ * <p>
+ * Produces exactly what {@code String.format("%s %,.2f", ...)} produces in the default format
+ * locale, using the same separators and grouping size {@link java.util.Formatter} derives from it,
+ * but writes the digits straight into a char buffer instead of parsing a format string. Anything
+ * the fast path does not model (negative values, non-ASCII digits, grouping other than 3, very
+ * large amounts, or the default locale changing at runtime) is delegated to
+ * {@link CurrencyFormatUtil}, so the output is always identical.
+ */
+final class PriceFormatter {
+
+  private static final long MAX_FAST_UNSCALED = 1_000_000_000_000_000L;
+
+  private final Locale locale;
+  private final boolean fast;
+  private final char groupingSeparator;
+  private final char decimalSeparator;
+
+  private PriceFormatter(Locale locale) {
+    this.locale = locale;
+
+    // Same rules as java.util.Formatter for the ',' flag and the decimal point
+    if (Locale.US.equals(locale)) {
+      this.groupingSeparator = ',';
+      this.decimalSeparator = '.';
+      this.fast = true;
+      return;
+    }
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+    NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+    this.groupingSeparator = symbols.getGroupingSeparator();
+    this.decimalSeparator = symbols.getDecimalSeparator();
+    this.fast = symbols.getZeroDigit() == '0'
+        && numberFormat instanceof DecimalFormat decimalFormat
+        && decimalFormat.isGroupingUsed()
+        && decimalFormat.getGroupingSize() == 3;
+  }
+
+  static PriceFormatter forDefaultLocale() {
+    return new PriceFormatter(Locale.getDefault(Locale.Category.FORMAT));
+  }
+
+  /**
+   * Same as {@code CurrencyFormatUtil.format(price, symbol)}.
+   *
+   * @param prefix {@code symbol + " "}, precomputed by the caller
+   */
+  String format(String prefix, BigDecimal price, String symbol) {
+    BigDecimal scaled = price.setScale(2, RoundingMode.HALF_UP);
+    if (!fastPathApplies() || scaled.signum() < 0) {
+      return CurrencyFormatUtil.format(price, symbol);
+    }
+    long unscaled = scaled.unscaledValue().longValue();
+    if (scaled.precision() > 18 || unscaled >= MAX_FAST_UNSCALED) {
+      return CurrencyFormatUtil.format(price, symbol);
+    }
+
+    long integerPart = unscaled / 100;
+    int fraction = (int) (unscaled % 100);
+
+    // Digits of the integer part, right to left, with a separator every three digits
+    char[] digits = new char[26];
+    int pos = digits.length;
+    int count = 0;
+    do {
+      if (count > 0 && count % 3 == 0) {
+        digits[--pos] = groupingSeparator;
+      }
+      digits[--pos] = (char) ('0' + (integerPart % 10));
+      integerPart /= 10;
+      count++;
+    } while (integerPart > 0);
+
+    int integerLength = digits.length - pos;
+    char[] out = new char[prefix.length() + integerLength + 3];
+    prefix.getChars(0, prefix.length(), out, 0);
+    System.arraycopy(digits, pos, out, prefix.length(), integerLength);
+    int tail = prefix.length() + integerLength;
+    out[tail] = decimalSeparator;
+    out[tail + 1] = (char) ('0' + fraction / 10);
+    out[tail + 2] = (char) ('0' + fraction % 10);
+    return new String(out);
+  }
+
+  /**
+   * Same as {@code String.format("-%d%%", percent)}.
+   */
+  String formatDiscountPercentage(int percent) {
+    if (!fastPathApplies()) {
+      return String.format("-%d%%", percent);
+    }
+    return "-" + percent + "%";
+  }
+
+  private boolean fastPathApplies() {
+    return fast && Locale.getDefault(Locale.Category.FORMAT) == locale;
+  }
+}
@@ -0,0 +1,153 @@
+package com.commercepal.apiservice.products.pricing;
+
+import com.commercepal.apiservice.products.dto.PricingView;
+import com.commercepal.apiservice.products.dto.PricingViewProvider;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Pricing for one country and currency, with everything that does not depend on the item resolved
+ * up front: exchange rate, markup rate, currency prefix and number formatter.
+ * <p>
+ * Obtain one from {@link ProductPriceService#pricingKernel} per batch (a search page, a product
+ * detail with its variants) and price every item of the batch with it. The arithmetic is the same
+ * sequence of operations and roundings as the original per-item pricing, so results are identical
+ * to the last digit; the rate and markup cannot be folded into one multiplier because the
+ * converted price and the converted markup are each rounded to cents before they are added.
+ */
+public final class PricingKernel {
+
+  private static final int SCALE = 2;
+  private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+  private final SupportedCountry country;
+  private final SupportedCurrency currency;
+  private final BigDecimal exchangeRate;
+  private final BigDecimal markupRate;
+  private final long fxRateVersion;
+  private final String currencyCode;
+  private final String currencyPrefix;
+  private final PriceFormatter formatter;
+
+  PricingKernel(SupportedCountry country, SupportedCurrency currency, BigDecimal exchangeRate,
+      BigDecimal markupRate, long fxRateVersion) {
+    this.country = country;
+    this.currency = currency;
+    this.exchangeRate = exchangeRate;
+    this.markupRate = markupRate;
+    this.fxRateVersion = fxRateVersion;
+    this.currencyCode = currency.getCode();
+    this.currencyPrefix = currencyCode + " ";
+    this.formatter = PriceFormatter.forDefaultLocale();
+  }
+
+  public SupportedCountry country() {
+    return country;
+  }
+
+  public SupportedCurrency currency() {
+    return currency;
+  }
+
+  public long fxRateVersion() {
+    return fxRateVersion;
+  }
+
+  BigDecimal exchangeRate() {
+    return exchangeRate;
+  }
+
+  /**
+   * Prices one item.
+   *
+   * @param originalUsd      Regular provider price
+   * @param promoUsd         Promotion provider price (nullable)
+   * @param providerCurrency Provider currency code, reported as-is
+   */
+  public PricingView price(BigDecimal originalUsd, BigDecimal promoUsd, String providerCurrency) {
+    BigDecimal originalMarkup = markup(originalUsd);
+    BigDecimal finalOriginalPrice = convert(originalUsd, originalMarkup);
+
+    BigDecimal effectiveUsd;
+    BigDecimal unitMarkup;
+    BigDecimal finalCurrentPrice;
+    if (promoUsd != null && promoUsd.compareTo(originalUsd) < 0) {
+      effectiveUsd = promoUsd;
+      unitMarkup = markup(promoUsd);
+      finalCurrentPrice = convert(promoUsd, unitMarkup);
+    } else {
+      effectiveUsd = originalUsd;
+      unitMarkup = originalMarkup;
+      finalCurrentPrice = finalOriginalPrice;
+    }
+
+    boolean hasDiscount = finalOriginalPrice.compareTo(finalCurrentPrice) > 0;
+
+    BigDecimal discountAmount = BigDecimal.ZERO;
+    int discountPercent = 0;
+    String formattedDiscountAmount = null;
+    String formattedDiscountPercentage = null;
+    if (hasDiscount) {
+      discountAmount = finalOriginalPrice.subtract(finalCurrentPrice);
+      formattedDiscountAmount = "Save " + format(discountAmount);
+      discountPercent = discountAmount
+          .divide(finalOriginalPrice, 2, ROUNDING_MODE)
+          .multiply(HUNDRED)
+          .intValue();
+      formattedDiscountPercentage = formatter.formatDiscountPercentage(discountPercent);
+    }
+
+    // Canonical constructors: no builder objects on the per-item path
+    PricingViewProvider provider = new PricingViewProvider(providerCurrency, effectiveUsd,
+        unitMarkup);
+    return new PricingView(
+        currency,
+        finalCurrentPrice,
+        hasDiscount ? finalOriginalPrice : null,
+        discountAmount,
+        hasDiscount,
+        discountPercent,
+        formattedDiscountPercentage,
+        format(finalCurrentPrice),
+        hasDiscount ? format(finalOriginalPrice) : null,
+        formattedDiscountAmount,
+        provider,
+        fxRateVersion);
+  }
+
+  /**
+   * Prices one item from its unconverted provider price.
+   */
+  public PricingView price(ProviderPrice providerPrice) {
+    return price(providerPrice.originalPrice(), providerPrice.promoPrice(),
+        providerPrice.currencyCode());
+  }
+
+  /**
+   * Converts a USD amount and adds the country markup, both in the target currency.
+   */
+  public BigDecimal convertAndMarkup(BigDecimal usdAmount) {
+    return convert(usdAmount, markup(usdAmount));
+  }
+
+  /**
+   * Formats an amount in the kernel's currency, identical to {@code CurrencyFormatUtil.format}.
+   */
+  public String format(BigDecimal amount) {
+    return formatter.format(currencyPrefix, amount, currencyCode);
+  }
+
+  private BigDecimal markup(BigDecimal usdAmount) {
+    return usdAmount.multiply(markupRate).setScale(SCALE, ROUNDING_MODE);
+  }
+
+  private BigDecimal convert(BigDecimal usdAmount, BigDecimal usdMarkup) {
+    BigDecimal convertedAmount = usdAmount.multiply(exchangeRate).setScale(SCALE, ROUNDING_MODE);
+    BigDecimal markupInLocalCurrency = usdMarkup.multiply(exchangeRate)
+        .setScale(SCALE, ROUNDING_MODE);
+    return convertedAmount.add(markupInLocalCurrency).setScale(SCALE, ROUNDING_MODE);
+  }
+}
@@ -1,11 +1,14 @@
 package com.commercepal.apiservice.products.pricing;
 
+import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeRateSnapshot;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -28,10 +31,39 @@ public final class ProductPriceService {
     COUNTRY_MARKUPS.put(SupportedCountry.UNITED_ARAB_EMIRATES, BigDecimal.valueOf(0.01)); // 1%
   }
 
+  private static final int CURRENCY_COUNT = SupportedCurrency.values().length;
+
+  // Compiled kernels by (country, currency) slot, replaced when the exchange rate changes
+  private final AtomicReferenceArray<PricingKernel> pricingKernels = new AtomicReferenceArray<>(
+      SupportedCountry.values().length * CURRENCY_COUNT);
+
   private static BigDecimal getMarkupRate(SupportedCountry country) {
     return COUNTRY_MARKUPS.getOrDefault(country, DEFAULT_MARKUP_RATE);
   }
 
+  /**
+   * Pricing kernel for a country and currency at the given exchange rates. Kernels are compiled
+   * once per pair and rate snapshot and then shared, so this is cheap enough to call per batch.
+   *
+   * @throws IllegalStateException if the snapshot has no rate for the currency
+   */
+  public PricingKernel pricingKernel(SupportedCountry country, SupportedCurrency currency,
+      ForeignExchangeRateSnapshot rates) {
+    SupportedCountry targetCountry = Objects.requireNonNullElse(country,
+        SupportedCountry.INTERNATIONAL);
+    BigDecimal exchangeRate = rates.usdToTarget(currency);
+
+    int slot = targetCountry.ordinal() * CURRENCY_COUNT + currency.ordinal();
+    PricingKernel kernel = pricingKernels.get(slot);
+    if (kernel == null || kernel.exchangeRate() != exchangeRate
+        || kernel.fxRateVersion() != rates.getVersion()) {
+      kernel = new PricingKernel(targetCountry, currency, exchangeRate,
+          getMarkupRate(targetCountry), rates.getVersion());
+      pricingKernels.set(slot, kernel);
+    }
+    return kernel;
+  }
+
   /**
    * Calculates markup amount for a single unit price based on delivery country.
    */
@@ -0,0 +1,16 @@
+package com.commercepal.apiservice.products.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Unconverted provider price of an item or variant: the input of {@link PricingKernel#price}.
+ * Kept with cached provider data so it can be priced for any country and currency on read.
+ *
+ * @param originalPrice Regular provider price
+ * @param promoPrice    Promotion provider price, null when there is none
+ * @param currencyCode  Provider currency code
+ */
+public record ProviderPrice(BigDecimal originalPrice, BigDecimal promoPrice,
+                            String currencyCode) {
+
+}
@@ -0,0 +1,37 @@
+package com.commercepal.apiservice.scheduler;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds cart.refresh.* from application.yml (env placeholders resolved by Spring). Tuning knobs
+ * for {@link CartRefreshScheduler}; see the "cart" section there.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cart.refresh")
+public class CartRefreshProperties {
+
+  /**
+   * cart.refresh.enabled (off by default: runs are not coordinated across instances, so enable it
+   * on one instance only)
+   */
+  private boolean enabled = false;
+
+  /** cart.refresh.lookback (carts modified within this window are refreshed) */
+  private Duration lookback = Duration.ofHours(24);
+
+  /** cart.refresh.quiet-period (carts modified more recently are left to the user's session) */
+  private Duration quietPeriod = Duration.ofSeconds(30);
+
+  /** cart.refresh.chunk-size (carts loaded and saved per transaction) */
+  private int chunkSize = 100;
+
+  /** cart.refresh.recheck-after (items whose price was checked more recently are skipped) */
+  private Duration recheckAfter = Duration.ofMinutes(30);
+
+  /** cart.refresh.provider-budget (product lookups per run; the rest waits for the next run) */
+  private int providerBudget = 2000;
+}
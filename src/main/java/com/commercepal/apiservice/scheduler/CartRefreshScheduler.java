@@ -1,81 +1,248 @@
 package com.commercepal.apiservice.scheduler;
 
+import com.commercepal.apiservice.cart.hot.HotCartStore;
 import com.commercepal.apiservice.cart.model.Cart;
 import com.commercepal.apiservice.cart.model.CartItem;
 import com.commercepal.apiservice.cart.model.StockStatus;
 import com.commercepal.apiservice.cart.repository.CartRepository;
+import com.commercepal.apiservice.cart.service.CartVersionCache;
 import com.commercepal.apiservice.products.dto.ProductDetailResponse;
 import com.commercepal.apiservice.products.ot.OTProductDetailService;
 import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Scheduler to refresh cart item details (price, stock, etc.) asynchronously.
  * <p>
- * Ensures eventual consistency for items added via "Fast Add".
+ * Ensures eventual consistency for items added via "Fast Add". Carts are processed in keyset-paged
+ * chunks of {@code cart.refresh.chunk-size}. Each chunk is read in one short transaction, its
+ * products are looked up in parallel with no transaction open (one batched lookup per country and
+ * currency, bounded by {@code product.detail.batch-max-parallel}), and the changes are saved in a
+ * second short transaction. Items whose price was checked within
+ * {@code cart.refresh.recheck-after} are skipped, and a run stops once it has used
+ * {@code cart.refresh.provider-budget} lookups; the next run picks up the items left unchecked.
+ * Items whose lookup failed are marked as checked too, so they are retried after
+ * {@code cart.refresh.recheck-after} rather than on every run.
+ * Carts currently held in the {@link HotCartStore} are skipped, as their database copy is behind.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CartRefreshScheduler {
 
+  private static final String ADHOC_PREFIX = "adhoc-";
+
   private final CartRepository cartRepository;
   private final OTProductDetailService productDetailService;
+  private final TransactionTemplate transactionTemplate;
+  private final CartRefreshProperties properties;
+  private final HotCartStore hotCartStore;
+  private final CartVersionCache cartVersionCache;
+
+  private final Timer runDuration;
+  private final Counter cartsProcessed;
+  private final Counter cartsUpdated;
+  private final Counter itemsRefreshed;
+  private final Counter itemsFailed;
+  private final Counter itemsSkipped;
+  private final AtomicLong runCartsProcessed = new AtomicLong();
+
+  public CartRefreshScheduler(CartRepository cartRepository,
+      OTProductDetailService productDetailService, TransactionTemplate transactionTemplate,
+      CartRefreshProperties properties, HotCartStore hotCartStore,
+      CartVersionCache cartVersionCache, MeterRegistry meterRegistry) {
+    this.cartRepository = cartRepository;
+    this.productDetailService = productDetailService;
+    this.transactionTemplate = transactionTemplate;
+    this.properties = properties;
+    this.hotCartStore = hotCartStore;
+    this.cartVersionCache = cartVersionCache;
+
+    this.runDuration = Timer.builder("cart.refresh.run.duration")
+        .description("Duration of scheduled cart refresh runs")
+        .register(meterRegistry);
+    this.cartsProcessed = cartCounter(meterRegistry, "processed");
+    this.cartsUpdated = cartCounter(meterRegistry, "updated");
+    this.itemsRefreshed = itemCounter(meterRegistry, "refreshed");
+    this.itemsFailed = itemCounter(meterRegistry, "failed");
+    this.itemsSkipped = itemCounter(meterRegistry, "skipped");
+    Gauge.builder("cart.refresh.run.carts", runCartsProcessed, AtomicLong::get)
+        .description("Carts processed by the current (or last) refresh run")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Country and currency the items of a cart are priced in.
+   */
+  private record PricingContext(SupportedCountry country, SupportedCurrency currency) {
+
+    static PricingContext of(Cart cart) {
+      return new PricingContext(SupportedCountry.fromCode(cart.getCountry()), cart.getCurrency());
+    }
+  }
 
   /**
-   * Refresh active carts every 5 minutes. Looks for carts updated in the last 24 hours but ignoring
-   * very recent ones (last 30s) to avoid race conditions with ongoing user sessions.
+   * Refresh active carts every 5 minutes. Looks for carts updated within {@code lookback} (24
+   * hours) but ignoring very recent ones ({@code quiet-period}, 30s) to avoid race conditions with
+   * ongoing user sessions.
    */
   @Scheduled(fixedDelay = 300000) // 5 minutes
-  @Transactional
   public void refreshActiveCarts() {
+    if (!properties.isEnabled()) {
+      return;
+    }
     log.info("Starting scheduled cart refresh job...");
+    runCartsProcessed.set(0);
+    Timer.Sample sample = Timer.start();
 
-    LocalDateTime end = LocalDateTime.now().minusSeconds(30);
-    LocalDateTime start = end.minusHours(24);
+    LocalDateTime end = LocalDateTime.now().minus(properties.getQuietPeriod());
+    LocalDateTime start = end.minus(properties.getLookback());
+    int chunkSize = Math.max(1, properties.getChunkSize());
+    int budget = properties.getProviderBudget();
 
-    List<Cart> activeCarts = cartRepository.findActiveCartsModifiedBetween(start, end);
+    long afterId = 0;
+    int lookups = 0;
+    int chunks = 0;
+    while (lookups < budget) {
+      List<Long> cartIds = cartRepository.findActiveCartIdsModifiedBetween(start, end, afterId,
+          PageRequest.of(0, chunkSize));
+      if (cartIds.isEmpty()) {
+        break;
+      }
+      afterId = cartIds.get(cartIds.size() - 1);
+      lookups += refreshChunk(cartIds);
+      chunks++;
+      log.info("Cart refresh progress: chunks={}, carts={}, lookups={}/{}", chunks,
+          runCartsProcessed.get(), lookups, budget);
+    }
 
-    if (activeCarts.isEmpty()) {
-      log.info("No active carts to refresh.");
-      return;
+    long nanos = sample.stop(runDuration);
+    if (lookups >= budget) {
+      log.info("Cart refresh job stopped at the provider budget ({} lookups) after {} carts, {} ms",
+          budget, runCartsProcessed.get(), nanos / 1_000_000);
+    } else {
+      log.info("Cart refresh job completed: carts={}, lookups={}, {} ms",
+          runCartsProcessed.get(), lookups, nanos / 1_000_000);
+    }
+  }
+
+  /**
+   * Refreshes one chunk of carts.
+   *
+   * @return Number of product lookups made
+   */
+  private int refreshChunk(List<Long> cartIds) {
+    LocalDateTime checkCutoff = LocalDateTime.now().minus(properties.getRecheckAfter());
+
+    // Read what needs refreshing, grouped by pricing context
+    Map<PricingContext, Set<String>> lookups = transactionTemplate.execute(status -> {
+      Map<PricingContext, Set<String>> due = new HashMap<>();
+      for (Cart cart : cartRepository.findAllWithItemsByIdIn(cartIds)) {
+        if (isHot(cart)) {
+          continue;
+        }
+        for (CartItem item : cart.getItems()) {
+          if (isDue(item, checkCutoff)) {
+            due.computeIfAbsent(PricingContext.of(cart), context -> new HashSet<>())
+                .add(item.getProductId());
+          }
+        }
+      }
+      return due;
+    });
+
+    // Look up outside any transaction
+    Map<PricingContext, Map<String, ProductDetailResponse>> products = new HashMap<>();
+    int lookupCount = 0;
+    for (Map.Entry<PricingContext, Set<String>> entry : lookups.entrySet()) {
+      PricingContext context = entry.getKey();
+      products.put(context, productDetailService.getProductDetailsForOrder(entry.getValue(),
+          context.country(), context.currency()));
+      lookupCount += entry.getValue().size();
     }
 
-    log.info("Found {} active carts to refresh.", activeCarts.size());
+    // Apply in one short transaction; checked items are flushed (batched) on commit
+    List<Cart> updated = transactionTemplate.execute(status -> {
+      LocalDateTime checkedAt = LocalDateTime.now();
+      List<Cart> changed = new ArrayList<>();
+      for (Cart cart : cartRepository.findAllWithItemsByIdIn(cartIds)) {
+        // Also checked here: it may have become hot during the lookups
+        if (isHot(cart)) {
+          continue;
+        }
+        PricingContext context = PricingContext.of(cart);
+        if (refreshCart(cart, lookups.getOrDefault(context, Set.of()),
+            products.getOrDefault(context, Map.of()), checkCutoff, checkedAt)) {
+          changed.add(cart);
+        }
+        cartsProcessed.increment();
+        runCartsProcessed.incrementAndGet();
+      }
+      return changed;
+    });
 
-    for (Cart cart : activeCarts) {
-      refreshCart(cart);
+    // New content versions, once committed
+    for (Cart cart : updated) {
+      if (cart.getCustomer() != null) {
+        cartVersionCache.record(cart.getCustomer().getId(), cart.getId(),
+            cart.getContentVersion());
+      }
     }
+    return lookupCount;
+  }
+
+  private boolean isHot(Cart cart) {
+    return cart.getCustomer() != null && hotCartStore.isHot(cart.getCustomer().getId());
+  }
 
-    log.info("Cart refresh job completed.");
+  private static boolean isDue(CartItem item, LocalDateTime checkCutoff) {
+    // Ad-hoc items have no real product ID
+    if (item.getProductId() == null || item.getProductId().startsWith(ADHOC_PREFIX)) {
+      return false;
+    }
+    return item.getLastPriceCheckAt() == null || item.getLastPriceCheckAt().isBefore(checkCutoff);
   }
 
-  private void refreshCart(Cart cart) {
+  /**
+   * @return Whether the cart changed
+   */
+  private boolean refreshCart(Cart cart, Set<String> requested,
+      Map<String, ProductDetailResponse> products, LocalDateTime checkCutoff,
+      LocalDateTime checkedAt) {
     log.debug("Refreshing cart ID: {}", cart.getId());
-    boolean cartChanged = false;
+    Set<CartItem> changedItems = new LinkedHashSet<>();
 
     for (CartItem item : cart.getItems()) {
-      // optimized: if item was updated very recently (e.g. via validation), skip?
-      // For now, refresh all items in the cart.
-
-      // Skip ad-hoc items that don't have a real product ID
-      if (item.getProductId() != null && item.getProductId().startsWith("adhoc-")) {
+      // Skip items checked recently (or meanwhile, e.g. via validation) and ad-hoc items
+      if (!isDue(item, checkCutoff) || !requested.contains(item.getProductId())) {
+        itemsSkipped.increment();
         continue;
       }
 
       try {
-        // Fetch fresh details
-        ProductDetailResponse product = productDetailService.getProductDetailForOrder(
-            item.getProductId(),
-            SupportedCountry.fromCode(cart.getCountry()),
-            cart.getCurrency());
+        // Fresh details from the batched lookup
+        ProductDetailResponse product = products.get(item.getProductId());
+        if (product == null) {
+          throw new IllegalStateException("Product details unavailable");
+        }
 
         // Update Price
         BigDecimal currentPrice = product.pricing().currentPrice();
@@ -89,25 +256,25 @@ public class CartRefreshScheduler {
               && currentPrice.compareTo(item.getPriceWhenAdded()) < 0) {
             item.setPriceDropped(true);
           }
-          cartChanged = true;
+          changedItems.add(item);
         }
 
         // Update Name (if missing or potentially outdated)
         if (product.title() != null && !product.title().equals(item.getProductName())) {
           item.setProductName(product.title());
-          cartChanged = true;
+          changedItems.add(item);
         }
 
         // Update Image if missing
         if (item.getProductImageUrl() == null && product.mainImage() != null) {
           item.setProductImageUrl(product.mainImage().main());
-          cartChanged = true;
+          changedItems.add(item);
         }
 
         // Update Provider if missing
         if (item.getProvider() == null && product.provider() != null) {
           item.setProvider(product.provider());
-          cartChanged = true;
+          changedItems.add(item);
         }
 
         // Update Stock Status
@@ -117,27 +284,38 @@ public class CartRefreshScheduler {
         if (item.getStockStatus() != StockStatus.IN_STOCK) {
           item.setStockStatus(StockStatus.IN_STOCK);
           item.setIsAvailable(true);
-          cartChanged = true;
+          changedItems.add(item);
         }
 
+        // Checked: skipped until cart.refresh.recheck-after has passed
+        item.setLastPriceCheckAt(checkedAt);
+        itemsRefreshed.increment();
+
       } catch (Exception e) {
         log.warn("Failed to refresh item {} in cart {}: {}", item.getProductId(), cart.getId(),
             e.getMessage());
-        // Mark unavailable if persistent error?
-        // For now, just log.
+        itemsFailed.increment();
         // Could set stock status to UNKNOWN or OUT_OF_STOCK safely.
         if (item.getStockStatus() != StockStatus.UNKNOWN) {
           item.setStockStatus(StockStatus.UNKNOWN);
-          cartChanged = true;
+          changedItems.add(item);
         }
+        // Backs off like a checked item; otherwise it stays due and, as runs restart from the
+        // first cart, failing items would use up the budget before later carts are reached
+        item.setLastPriceCheckAt(checkedAt);
       }
     }
 
-    if (cartChanged) {
-      calculateAndUpdateTotals(cart);
-      cartRepository.save(cart);
-      log.debug("Saved updates for cart ID: {}", cart.getId());
+    if (changedItems.isEmpty()) {
+      return false;
     }
+    cart.nextContentVersion();
+    changedItems.forEach(cart::markChanged);
+    calculateAndUpdateTotals(cart);
+    cartRepository.save(cart);
+    cartsUpdated.increment();
+    log.debug("Saved updates for cart ID: {}", cart.getId());
+    return true;
   }
 
   private void calculateAndUpdateTotals(Cart cart) {
@@ -153,4 +331,18 @@ public class CartRefreshScheduler {
     cart.setTotalItems(totalItems);
     cart.setEstimatedTotal(subtotal);
   }
+
+  private static Counter cartCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("cart.refresh.carts")
+        .description("Carts handled by the scheduled refresh")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Counter itemCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("cart.refresh.items")
+        .description("Cart items handled by the scheduled refresh")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
 }
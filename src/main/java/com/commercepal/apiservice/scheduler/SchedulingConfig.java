@@ -0,0 +1,16 @@
+package com.commercepal.apiservice.scheduler;
+
+import com.commercepal.apiservice.cart.hot.HotCartStore;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods application-wide (pool: spring.task.scheduling.*), e.g.
+ * {@link CartRefreshScheduler} and the write-back of {@link HotCartStore#flushDue()}, which relies
+ * on it. Each job has its own enabled switch; keep this even with the cart refresh disabled.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -0,0 +1,13 @@
+package com.commercepal.apiservice.settings.foreign_exchange;
+
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.math.BigDecimal;
+
+/**
+ * Published by {@link ForeignExchangeService#setRate} when a rate is created or changed.
+ */
+public record ForeignExchangeRateChangedEvent(SupportedCurrency baseCurrency,
+                                              SupportedCurrency targetCurrency,
+                                              BigDecimal rate) {
+
+}
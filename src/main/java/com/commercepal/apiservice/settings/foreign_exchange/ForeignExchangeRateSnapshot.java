@@ -0,0 +1,81 @@
+package com.commercepal.apiservice.settings.foreign_exchange;
+
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable table of USD based exchange rates, as loaded from the database at one point in time.
+ * <p>
+ * Rates are held in an array indexed by currency ordinal, so a lookup is a plain array read with
+ * no locking and no allocation. The version is derived from the rows themselves (latest
+ * modification time, epoch millis), so every node that loaded the same rates reports the same
+ * version.
+ */
+public final class ForeignExchangeRateSnapshot {
+
+  private static final SupportedCurrency[] CURRENCIES = SupportedCurrency.values();
+
+  @Getter
+  private final long version;
+  @Getter
+  private final Instant loadedAt;
+  private final long loadedAtNanos;
+  private final BigDecimal[] usdRates;
+
+  private ForeignExchangeRateSnapshot(long version, BigDecimal[] usdRates) {
+    this.version = version;
+    this.loadedAt = Instant.now();
+    this.loadedAtNanos = System.nanoTime();
+    this.usdRates = usdRates;
+  }
+
+  /**
+   * Builds a snapshot from USD to target rates. USD itself is always present with rate 1.
+   */
+  public static ForeignExchangeRateSnapshot of(long version,
+      Map<SupportedCurrency, BigDecimal> usdToTargetRates) {
+    BigDecimal[] rates = new BigDecimal[CURRENCIES.length];
+    usdToTargetRates.forEach((currency, rate) -> rates[currency.ordinal()] = rate);
+    rates[SupportedCurrency.USD.ordinal()] = BigDecimal.ONE;
+    return new ForeignExchangeRateSnapshot(version, rates);
+  }
+
+  /**
+   * Nanos since this snapshot was loaded.
+   */
+  long ageNanos() {
+    return System.nanoTime() - loadedAtNanos;
+  }
+
+  /**
+   * Units of the target currency per one USD.
+   *
+   * @throws IllegalStateException if the snapshot has no rate for the currency
+   */
+  public BigDecimal usdToTarget(SupportedCurrency targetCurrency) {
+    BigDecimal rate = usdRates[targetCurrency.ordinal()];
+    if (rate == null) {
+      throw new IllegalStateException(
+          String.format("Foreign exchange rate not found for USD -> %s", targetCurrency));
+    }
+    return rate;
+  }
+
+  /**
+   * All rates of the snapshot, USD included.
+   */
+  public Map<SupportedCurrency, BigDecimal> asMap() {
+    Map<SupportedCurrency, BigDecimal> rates = new EnumMap<>(SupportedCurrency.class);
+    for (SupportedCurrency currency : CURRENCIES) {
+      if (usdRates[currency.ordinal()] != null) {
+        rates.put(currency, usdRates[currency.ordinal()]);
+      }
+    }
+    return Collections.unmodifiableMap(rates);
+  }
+}
@@ -0,0 +1,214 @@
+package com.commercepal.apiservice.settings.foreign_exchange;
+
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory exchange rate table serving {@link ForeignExchangeService} reads.
+ * <p>
+ * Holds the current {@link ForeignExchangeRateSnapshot} in a volatile field: readers never lock
+ * and never touch the database, writers build a complete new snapshot and swap it in one write.
+ * The table is loaded once the application is ready (after the rate seeder), reloaded when a
+ * {@code setRate} transaction commits, and kept in sync across nodes by a Redis broadcast. A
+ * snapshot older than {@code foreign-exchange.snapshot.max-age} is reloaded in the background, so
+ * a missed broadcast only delays a change, it never leaves a node on old rates for good.
+ */
+@Slf4j
+@Component
+public class ForeignExchangeRateTable {
+
+  static final String CHANNEL = "foreign-exchange:rates-changed";
+
+  private final ForeignExchangeRepository rateRepository;
+  private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+  private final ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+  private final long maxAgeNanos;
+  private final boolean broadcast;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  private volatile ForeignExchangeRateSnapshot snapshot;
+  private RedisMessageListenerContainer listenerContainer;
+
+  public ForeignExchangeRateTable(ForeignExchangeRepository rateRepository,
+      ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+      ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+      @Value("${foreign-exchange.snapshot.max-age:60s}") Duration maxAge,
+      @Value("${foreign-exchange.snapshot.broadcast:true}") boolean broadcast) {
+    this.rateRepository = rateRepository;
+    this.redisTemplateProvider = redisTemplateProvider;
+    this.connectionFactoryProvider = connectionFactoryProvider;
+    this.maxAgeNanos = maxAge.toNanos();
+    this.broadcast = broadcast;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      reload();
+    } catch (RuntimeException e) {
+      log.error("[FOREIGN_EXCHANGE] Initial rate snapshot load failed, retrying on first use", e);
+    }
+    if (broadcast) {
+      subscribe();
+    }
+  }
+
+  /**
+   * Current snapshot. Lock-free; loads synchronously only if nothing has been loaded yet.
+   */
+  public ForeignExchangeRateSnapshot current() {
+    ForeignExchangeRateSnapshot current = snapshot;
+    if (current == null) {
+      return reload();
+    }
+    if (current.ageNanos() > maxAgeNanos) {
+      refreshInBackground();
+    }
+    return current;
+  }
+
+  /**
+   * Loads all USD based rates and swaps them in as the new snapshot.
+   */
+  public synchronized ForeignExchangeRateSnapshot reload() {
+    List<ForeignExchange> rows = rateRepository.findByBaseCurrency(SupportedCurrency.USD);
+
+    Map<SupportedCurrency, BigDecimal> rates = new EnumMap<>(SupportedCurrency.class);
+    long version = 0;
+    for (ForeignExchange row : rows) {
+      BigDecimal rate = row.getRate();
+      if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
+        log.error("[FOREIGN_EXCHANGE] Invalid exchange rate value {} for USD -> {}, skipped", rate,
+            row.getTargetCurrency());
+        continue;
+      }
+      rates.put(row.getTargetCurrency(), rate);
+      version = Math.max(version, modifiedAtMillis(row));
+    }
+
+    ForeignExchangeRateSnapshot previous = snapshot;
+    ForeignExchangeRateSnapshot loaded = ForeignExchangeRateSnapshot.of(version, rates);
+    snapshot = loaded;
+
+    if (previous == null || previous.getVersion() != version) {
+      log.info("[FOREIGN_EXCHANGE] Rate snapshot v{} active: {}", version, loaded.asMap());
+    }
+    return loaded;
+  }
+
+  /**
+   * Swaps in the new rates once the {@code setRate} transaction has committed (or right away when
+   * it ran without one), then tells the other nodes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRateChanged(ForeignExchangeRateChangedEvent event) {
+    ForeignExchangeRateSnapshot loaded = reload();
+    if (broadcast) {
+      publish(loaded.getVersion());
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (listenerContainer != null) {
+      listenerContainer.stop();
+    }
+  }
+
+  private void refreshInBackground() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    CompletableFuture.runAsync(() -> {
+      try {
+        reload();
+      } catch (RuntimeException e) {
+        log.warn("[FOREIGN_EXCHANGE] Rate snapshot refresh failed, keeping v{}: {}",
+            snapshot.getVersion(), e.getMessage());
+      } finally {
+        refreshing.set(false);
+      }
+    });
+  }
+
+  private void publish(long version) {
+    StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+    if (redis == null) {
+      return;
+    }
+    try {
+      redis.convertAndSend(CHANNEL, Long.toString(version));
+    } catch (RuntimeException e) {
+      log.warn("[FOREIGN_EXCHANGE] Could not broadcast rate snapshot v{}: {}", version,
+          e.getMessage());
+    }
+  }
+
+  private void subscribe() {
+    RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+    if (connectionFactory == null) {
+      log.info("[FOREIGN_EXCHANGE] Redis not configured, rate snapshot relies on max-age refresh");
+      return;
+    }
+    try {
+      RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+      container.setConnectionFactory(connectionFactory);
+      container.addMessageListener((message, pattern) -> onRemoteChange(message),
+          new ChannelTopic(CHANNEL));
+      container.afterPropertiesSet();
+      container.start();
+      listenerContainer = container;
+    } catch (RuntimeException e) {
+      log.warn("[FOREIGN_EXCHANGE] Could not subscribe to rate changes: {}", e.getMessage());
+    }
+  }
+
+  private void onRemoteChange(Message message) {
+    long version;
+    try {
+      version = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+    } catch (NumberFormatException e) {
+      version = Long.MAX_VALUE;
+    }
+
+    ForeignExchangeRateSnapshot current = snapshot;
+    if (current != null && current.getVersion() >= version) {
+      // Our own broadcast, or already loaded
+      return;
+    }
+    try {
+      reload();
+    } catch (RuntimeException e) {
+      log.warn("[FOREIGN_EXCHANGE] Rate snapshot reload after broadcast failed: {}",
+          e.getMessage());
+    }
+  }
+
+  private static long modifiedAtMillis(ForeignExchange row) {
+    LocalDateTime modifiedAt = row.getUpdatedAt() != null ? row.getUpdatedAt()
+        : row.getCreatedAt();
+    return modifiedAt == null ? 0 : modifiedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+}
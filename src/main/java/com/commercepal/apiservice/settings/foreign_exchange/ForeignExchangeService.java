@@ -17,9 +17,11 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -32,6 +34,8 @@ public class ForeignExchangeService {
   private final ForeignExchangeRepository rateRepository;
   private final ForeignExchangeHistoryRepository historyRepository;
   private final CurrentUserService currentUserService;
+  private final ForeignExchangeRateTable rateTable;
+  private final ApplicationEventPublisher eventPublisher;
 
   public Set<SupportedCurrency> getSupportedTargetCurrency() {
     log.debug("[FOREIGN_EXCHANGE] Getting supported target currencies");
@@ -57,35 +61,19 @@ public class ForeignExchangeService {
       return BigDecimal.ONE;
     }
 
-    ForeignExchange foreignExchange = rateRepository
-        .findByBaseCurrencyAndTargetCurrency(SupportedCurrency.USD, target)
-        .orElseThrow(() -> {
-          log.error("[FOREIGN_EXCHANGE] Rate not found for USD -> {}", target);
-          return new IllegalStateException("Foreign Exchange rate not found for USD -> " + target);
-        });
+    BigDecimal rate = rateTable.current().usdToTarget(target);
 
-    BigDecimal rate = foreignExchange.getRate();
-
-    if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
-      log.error("[FOREIGN_EXCHANGE] Invalid rate value {} for USD -> {}", rate, target);
-      throw new IllegalStateException(
-          "Invalid foreign exchange rate for USD -> " + target + ": " + rate);
-    }
-
-    BigDecimal result = fromTargetToUSD
+    return fromTargetToUSD
         ? BigDecimal.ONE.divide(rate, 6, RoundingMode.HALF_UP)
         : rate;
-
-    log.info("[FOREIGN_EXCHANGE] Retrieved rate {} for {} -> USD: {}",
-        result, target.getCode(), fromTargetToUSD);
-    return result;
   }
 
   /**
    * Gets the exchange rate from USD to the specified target currency.
    * <p>
    * This method always uses USD as the base currency. If the target currency is USD, it returns
-   * 1.0. For other currencies, it retrieves the rate from the database.
+   * 1.0. For other currencies, it reads the current in-memory rate snapshot (no database access,
+   * no logging), so it is safe to call once per priced item.
    * </p>
    *
    * @param targetCurrency The target currency to convert to (e.g., ETB, KES, AED, SOS)
@@ -94,36 +82,15 @@ public class ForeignExchangeService {
    * @throws IllegalStateException if the exchange rate is not found or is invalid
    */
   public BigDecimal getUsdToTargetRate(SupportedCurrency targetCurrency) {
-    log.debug("[FOREIGN_EXCHANGE] Getting USD to target rate for: {}", targetCurrency);
-
-    // Handle USD to USD conversion
-    if (targetCurrency == SupportedCurrency.USD) {
-      log.debug("[FOREIGN_EXCHANGE] USD to USD conversion, returning 1.0");
-      return BigDecimal.ONE;
-    }
-
-    // Retrieve exchange rate from database
-    ForeignExchange foreignExchange = rateRepository
-        .findByBaseCurrencyAndTargetCurrency(SupportedCurrency.USD, targetCurrency)
-        .orElseThrow(() -> {
-          log.error("[FOREIGN_EXCHANGE] Exchange rate not found for USD -> {}", targetCurrency);
-          return new IllegalStateException(
-              String.format("Foreign exchange rate not found for USD -> %s", targetCurrency));
-        });
-
-    BigDecimal rate = foreignExchange.getRate();
-
-    // Validate rate is positive
-    if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
-      log.error("[FOREIGN_EXCHANGE] Invalid exchange rate value {} for USD -> {}", rate,
-          targetCurrency);
-      throw new IllegalStateException(
-          String.format("Invalid foreign exchange rate for USD -> %s: %s", targetCurrency, rate));
-    }
+    return rateTable.current().usdToTarget(targetCurrency);
+  }
 
-    log.info("[FOREIGN_EXCHANGE] Retrieved exchange rate: 1 USD = {} {}", rate,
-        targetCurrency.getCode());
-    return rate;
+  /**
+   * Current rate snapshot. Callers converting several amounts should read the rates from one
+   * snapshot and report its version alongside the converted prices.
+   */
+  public ForeignExchangeRateSnapshot getRateSnapshot() {
+    return rateTable.current();
   }
 
   /**
@@ -151,14 +118,17 @@ public class ForeignExchangeService {
       return BigDecimal.ONE;
     }
 
+    // Read both legs from the same snapshot
+    ForeignExchangeRateSnapshot snapshot = rateTable.current();
+
     // Base is USD: direct lookup
     if (baseCurrency == SupportedCurrency.USD) {
-      return getUsdToTargetRate(targetCurrency);
+      return snapshot.usdToTarget(targetCurrency);
     }
 
     // Target is USD: get inverse of USD -> base
     if (targetCurrency == SupportedCurrency.USD) {
-      BigDecimal baseToUsdRate = getUsdToTargetRate(baseCurrency);
+      BigDecimal baseToUsdRate = snapshot.usdToTarget(baseCurrency);
       BigDecimal usdToBaseRate = BigDecimal.ONE.divide(baseToUsdRate, 6, RoundingMode.HALF_UP);
       log.info("[FOREIGN_EXCHANGE] Retrieved exchange rate: 1 {} = {} USD",
           baseCurrency.getCode(), usdToBaseRate);
@@ -166,8 +136,8 @@ public class ForeignExchangeService {
     }
 
     // Both are non-USD: convert via USD (base -> USD -> target)
-    BigDecimal baseToUsdRate = getUsdToTargetRate(baseCurrency);
-    BigDecimal usdToTargetRate = getUsdToTargetRate(targetCurrency);
+    BigDecimal baseToUsdRate = snapshot.usdToTarget(baseCurrency);
+    BigDecimal usdToTargetRate = snapshot.usdToTarget(targetCurrency);
 
     // If 1 base = baseToUsdRate USD, and 1 USD = usdToTargetRate target,
     // then 1 base = usdToTargetRate / baseToUsdRate target
@@ -177,6 +147,11 @@ public class ForeignExchangeService {
     return baseToTargetRate;
   }
 
+  /**
+   * Creates or updates a USD based rate and records its history. The in-memory rate snapshot is
+   * swapped once the transaction commits, on this node and, via broadcast, on all others.
+   */
+  @Transactional
   public ForeignExchangeResponse setRate(ForeignExchangeRequest dto) {
     log.info("[FOREIGN_EXCHANGE] Setting rate request received: {} -> {} = {}",
         dto.baseCurrency(), dto.targetCurrency(), dto.rate());
@@ -244,6 +219,9 @@ public class ForeignExchangeService {
     log.info("[FOREIGN_EXCHANGE] History record created: ID={}, Changed by: {}",
         history.getId(), updatedBy);
 
+    eventPublisher.publishEvent(new ForeignExchangeRateChangedEvent(
+        saved.getBaseCurrency(), saved.getTargetCurrency(), saved.getRate()));
+
     return ForeignExchangeMapper.toResponse(saved);
   }
 
@@ -312,19 +290,7 @@ public class ForeignExchangeService {
   public Map<SupportedCurrency, BigDecimal> getUsdBasedExchangeRates() {
     log.debug("[FOREIGN_EXCHANGE] Getting all USD-based exchange rates");
 
-    Map<SupportedCurrency, BigDecimal> rates = new HashMap<>();
-
-    rates.put(SupportedCurrency.USD, BigDecimal.ONE);
-    log.debug("[FOREIGN_EXCHANGE] Added USD base rate: 1.0");
-
-    List<ForeignExchange> usdRates = rateRepository.findByBaseCurrency(SupportedCurrency.USD);
-    log.debug("[FOREIGN_EXCHANGE] Found {} USD-based rates in database", usdRates.size());
-
-    for (ForeignExchange rate : usdRates) {
-      rates.put(rate.getTargetCurrency(), rate.getRate());
-      log.trace("[FOREIGN_EXCHANGE] Added rate: USD -> {} = {}",
-          rate.getTargetCurrency(), rate.getRate());
-    }
+    Map<SupportedCurrency, BigDecimal> rates = new HashMap<>(rateTable.current().asMap());
 
     log.info("[FOREIGN_EXCHANGE] Retrieved {} USD-based exchange rates", rates.size());
     return rates;
@@ -87,7 +87,7 @@ public class SecurityConfig {
     // API SECURITY FILTER CHAIN
     // ------------------------------------------------------------------------
     @Bean
-    @Order(1)
+    @Order(2)
     public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
 
         http
@@ -136,18 +136,30 @@ public class SecurityConfig {
     // ------------------------------------------------------------------------
     // ACTUATOR SECURITY FILTER CHAIN
     // ------------------------------------------------------------------------
+    // Ordered before the API chain, whose "/**" matcher would otherwise take
+    // actuator requests and permit them all.
     @Bean
-    @Order(2)
+    @Order(1)
     public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
 
         http
                 .securityMatcher(SecurityConfigConstants.ACTUATOR_SECURITY_MATCHER)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(authenticationEntryPoint))
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll())
+                        .requestMatchers(SecurityConfigConstants.ACTUATOR_PUBLIC_ENDPOINTS).permitAll()
+                        .requestMatchers(SecurityConfigConstants.ACTUATOR_SECURED_ENDPOINTS)
+                        .hasAnyAuthority(SecurityConfigConstants.ADMIN_ROLES)
+                        .anyRequest().denyAll())
                 .httpBasic(httpBasic -> httpBasic.realmName(SecurityConfigConstants.ACTUATOR_REALM))
-                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(
+                        new JwtAuthenticationFilter(
+                                jwtTokenProvider,
+                                userDetailsService,
+                                securityAuditService),
+                        UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -20,6 +20,9 @@ final class SecurityConfigConstants {
       "/api/v1/credentials/password/reset",
       "/api/v1/products",
       "/api/v1/products/{id}",
+      "/api/v1/products/{id}/description",
+      "/api/v1/products/{id}/reviews",
+      "/api/v1/products/search/stream",
       "/api/v1/products/featured",
       "/api/v1/products/sku/**",
       "/api/v1/products/category/**",
@@ -62,6 +65,7 @@ final class SecurityConfigConstants {
   };
   static final String[] ACTUATOR_PUBLIC_ENDPOINTS = {
       "/actuator/health",
+      "/actuator/health/**",
       "/actuator/info"
   };
   static final String[] ACTUATOR_SECURED_ENDPOINTS = {
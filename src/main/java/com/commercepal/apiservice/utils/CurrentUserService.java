@@ -11,6 +11,9 @@ import com.commercepal.apiservice.users.customer.CustomerRepository;
 import com.commercepal.apiservice.users.role.RoleCode;
 import com.commercepal.apiservice.users.staff.Staff;
 import com.commercepal.apiservice.users.staff.StaffRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
 import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +37,15 @@ public class CurrentUserService {
   private final StaffRepository staffRepository;
   private final AffiliateRepository affiliateRepository;
 
+  /**
+   * Customer id by credential id; the link never changes, so it is kept for lookups that need only
+   * the id (e.g. conditional cart reads)
+   */
+  private final Cache<Long, Long> customerIdsByCredential = Caffeine.newBuilder()
+      .maximumSize(100_000)
+      .expireAfterAccess(Duration.ofHours(1))
+      .build();
+
   /**
    * Get the current authenticated user (Credential) from Spring Security context.
    *
@@ -110,6 +122,18 @@ public class CurrentUserService {
         });
   }
 
+  /**
+   * Get the customer ID of the authenticated user, without loading the customer once known.
+   *
+   * @return customer ID
+   * @throws UnauthorizedException if not authenticated
+   * @throws ForbiddenException    if current user context cannot be resolved
+   */
+  public Long getCurrentCustomerId() {
+    return customerIdsByCredential.get(getCurrentUserId(),
+        credentialId -> getCurrentCustomer().getId());
+  }
+
   /**
    * Get current affiliate profile entity for the authenticated user.
    *
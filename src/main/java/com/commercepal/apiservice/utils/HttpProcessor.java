@@ -132,19 +132,7 @@ public class HttpProcessor {
   public CompletableFuture<JSONObject> executeStructuredRequest(String url, String method, String body, Map<String, String> headers) {
     log.debug("Executing {} request to: {}", method, url);
 
-    WebClient.RequestHeadersSpec<?> requestSpec = switch (method.toUpperCase()) {
-      case "POST" -> webClient.post().uri(url).bodyValue(body != null ? body : "");
-      case "PUT" -> webClient.put().uri(url).bodyValue(body != null ? body : "");
-      case "PATCH" -> webClient.patch().uri(url).bodyValue(body != null ? body : "");
-      case "DELETE" -> webClient.delete().uri(url);
-      default -> webClient.get().uri(url);
-    };
-
-    if (headers != null) {
-      requestSpec.headers(h -> applyHeaders(h, headers));
-    }
-
-    return requestSpec
+    return buildRequestSpec(url, method, body, headers)
         .exchangeToMono(resp -> {
           // HttpStatusCode is returned now
           var statusCode = resp.statusCode();
@@ -167,6 +155,32 @@ public class HttpProcessor {
 
   }
 
+  /**
+   * Structured request whose body is kept as received and decoded at most once, on first access
+   * (see {@link StructuredHttpResponse}). Preferred over {@link #executeStructuredRequest} for large
+   * JSON payloads: it skips the String copy and the wrapper-object round trip.
+   */
+  public CompletableFuture<StructuredHttpResponse> executeParsedRequest(String url, String method, String body, Map<String, String> headers) {
+    log.debug("Executing {} request to: {}", method, url);
+
+    return buildRequestSpec(url, method, body, headers)
+        .exchangeToMono(resp -> {
+          var statusCode = resp.statusCode();
+          HttpHeaders responseHeaders = resp.headers().asHttpHeaders();
+
+          return resp.bodyToMono(byte[].class)
+              .defaultIfEmpty(new byte[0])
+              .map(bytes -> new StructuredHttpResponse(statusCode.value(), statusCode.toString(),
+                  responseHeaders, bytes, null));
+        })
+        .retryWhen(buildRetrySpec())
+        .doOnSuccess(result -> log.info("Request completed: url={}, status={}, bytes={}", url,
+            result.statusCode(), result.bodyLength()))
+        .doOnError(err -> log.error("Request failed: url={}, error={}", url, err.getMessage()))
+        .onErrorResume(err -> Mono.just(StructuredHttpResponse.error(err.getMessage())))
+        .toFuture();
+  }
+
   @Deprecated(since = "2.0.0", forRemoval = true)
   public String processProperRequest(String url, String body, Map<String, String> headers) {
     try {
@@ -184,6 +198,22 @@ public class HttpProcessor {
 
   // ======================= Private Helpers =======================
 
+  private WebClient.RequestHeadersSpec<?> buildRequestSpec(String url, String method, String body, Map<String, String> headers) {
+    WebClient.RequestHeadersSpec<?> requestSpec = switch (method.toUpperCase()) {
+      case "POST" -> webClient.post().uri(url).bodyValue(body != null ? body : "");
+      case "PUT" -> webClient.put().uri(url).bodyValue(body != null ? body : "");
+      case "PATCH" -> webClient.patch().uri(url).bodyValue(body != null ? body : "");
+      case "DELETE" -> webClient.delete().uri(url);
+      default -> webClient.get().uri(url);
+    };
+
+    if (headers != null) {
+      requestSpec.headers(h -> applyHeaders(h, headers));
+    }
+
+    return requestSpec;
+  }
+
   private Mono<String> executeRequest(String url, WebClient.RequestHeadersUriSpec<?> requestSpec, Map<String, String> headers) {
     return requestSpec.uri(url)
         .headers(h -> applyHeaders(h, headers))
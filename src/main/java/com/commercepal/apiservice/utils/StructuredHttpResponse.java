@@ -0,0 +1,110 @@
+package com.commercepal.apiservice.utils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Structured HTTP response returned by {@link HttpProcessor#executeParsedRequest}.
+ * <p>
+ * Holds the status, headers and the raw body bytes exactly as received. The JSON body is decoded
+ * lazily, straight from the bytes by a streaming tokenizer, and only once: no intermediate
+ * {@code String} copy of the payload is made, and repeated {@link #body()} calls return the same
+ * instance. Decoding therefore happens on whichever thread first asks for the body, not on the HTTP
+ * event loop.
+ * <p>
+ * Transport failures are represented like in the legacy structured API: status code
+ * {@value #STATUS_CODE_ERROR} with the error message as {@link #errorMessage()}.
+ */
+public final class StructuredHttpResponse {
+
+  public static final int STATUS_CODE_ERROR = 999;
+
+  private static final byte[] EMPTY_BODY = new byte[0];
+
+  private final int statusCode;
+  private final String statusText;
+  private final HttpHeaders headers;
+  private final byte[] rawBody;
+  private final String errorMessage;
+
+  private volatile JSONObject parsedBody;
+
+  StructuredHttpResponse(int statusCode, String statusText, HttpHeaders headers, byte[] rawBody,
+      String errorMessage) {
+    this.statusCode = statusCode;
+    this.statusText = statusText;
+    this.headers = headers != null ? headers : HttpHeaders.EMPTY;
+    this.rawBody = rawBody != null ? rawBody : EMPTY_BODY;
+    this.errorMessage = errorMessage;
+  }
+
+  static StructuredHttpResponse error(String errorMessage) {
+    return new StructuredHttpResponse(STATUS_CODE_ERROR, "Error", HttpHeaders.EMPTY, EMPTY_BODY,
+        errorMessage);
+  }
+
+  public int statusCode() {
+    return statusCode;
+  }
+
+  public String statusText() {
+    return statusText;
+  }
+
+  public HttpHeaders headers() {
+    return headers;
+  }
+
+  /**
+   * True for HTTP 200, the only status the providers use for a usable payload.
+   */
+  public boolean isOk() {
+    return statusCode == HttpStatus.OK.value();
+  }
+
+  /**
+   * Error message of a transport failure, or null when a response was received.
+   */
+  public String errorMessage() {
+    return errorMessage;
+  }
+
+  /**
+   * Body size in bytes as received.
+   */
+  public int bodyLength() {
+    return rawBody.length;
+  }
+
+  /**
+   * JSON body, decoded on first access and memoized. An empty body yields an empty object.
+   *
+   * @throws org.json.JSONException if the body is not a JSON object
+   */
+  public JSONObject body() {
+    JSONObject result = parsedBody;
+    if (result == null) {
+      synchronized (this) {
+        result = parsedBody;
+        if (result == null) {
+          result = rawBody.length == 0
+              ? new JSONObject()
+              : new JSONObject(new JSONTokener(new ByteArrayInputStream(rawBody)));
+          parsedBody = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Body as text, for logging and non-JSON payloads. Allocates a copy; prefer {@link #body()}.
+   */
+  public String bodyAsString() {
+    return errorMessage != null ? errorMessage : new String(rawBody, StandardCharsets.UTF_8);
+  }
+}
@@ -37,6 +37,22 @@ public class ProductPagedResponse<T> {
         .build();
   }
 
+  public static <T> ProductPagedResponse<T> from(int page, List<T> items, String nextCursor) {
+    int safePage = Math.max(page, 0);
+    List<T> safeItems = items == null ? Collections.emptyList() : items;
+
+    return ProductPagedResponse.<T>builder()
+        .items(safeItems)
+        .pagination(PaginationMeta.builder()
+            .page(safePage)
+            .size(safeItems.size())
+            .hasNext(nextCursor != null)
+            .hasPrevious(safePage > 0)
+            .nextCursor(nextCursor)
+            .build())
+        .build();
+  }
+
   @Getter
   @Setter
   @AllArgsConstructor
@@ -48,5 +64,7 @@ public class ProductPagedResponse<T> {
     private int size;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Opaque continuation token for cursor-paged results
+    private String nextCursor;
   }
 }
@@ -65,6 +65,12 @@ public class ResponseWrapper<T> {
         new ResponseWrapper<>(ProductPagedResponse.from(page, size, items)));
   }
 
+  public static <T> ResponseEntity<ResponseWrapper<ProductPagedResponse<T>>> successProducts(
+      int page, List<T> items, String nextCursor) {
+    return ResponseEntity.ok(
+        new ResponseWrapper<>(ProductPagedResponse.from(page, items, nextCursor)));
+  }
+
   public static <T> ResponseEntity<ResponseWrapper<T>> created(T data) {
     return ResponseEntity.status(HttpStatus.CREATED).body(new ResponseWrapper<>(data));
   }
@@ -0,0 +1,186 @@
+package com.commercepal.apiservice.cart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.commercepal.apiservice.cart.dto.CartBatchRequest;
+import com.commercepal.apiservice.cart.dto.CartItemOperation;
+import com.commercepal.apiservice.cart.dto.CartItemOperation.Type;
+import com.commercepal.apiservice.cart.dto.CartResponse;
+import com.commercepal.apiservice.cart.hot.HotCartStore;
+import com.commercepal.apiservice.cart.model.Cart;
+import com.commercepal.apiservice.cart.model.CartItem;
+import com.commercepal.apiservice.cart.model.CartStatus;
+import com.commercepal.apiservice.cart.repository.CartItemRepository;
+import com.commercepal.apiservice.cart.repository.CartRepository;
+import com.commercepal.apiservice.products.ot.OTProductDetailService;
+import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeService;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.shared.exceptions.resource.ResourceNotFoundException;
+import com.commercepal.apiservice.users.customer.Customer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CartService#applyBatch} on the database path (hot cart store disabled).
+ */
+@ExtendWith(MockitoExtension.class)
+class CartServiceBatchTest {
+
+  private static final Long CUSTOMER_ID = 7L;
+
+  @Mock
+  private CartRepository cartRepository;
+  @Mock
+  private CartItemRepository cartItemRepository;
+  @Mock
+  private OTProductDetailService productDetailService;
+  @Mock
+  private CartMapper cartMapper;
+  @Mock
+  private ForeignExchangeService foreignExchangeService;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+  @Mock
+  private HotCartStore hotCartStore;
+  @Mock
+  private CartVersionCache cartVersionCache;
+
+  @InjectMocks
+  private CartService cartService;
+
+  private final Customer customer = Customer.builder().id(CUSTOMER_ID).build();
+  private Cart cart;
+  private CartItem red;
+  private CartItem blue;
+  private CartItem other;
+
+  @BeforeEach
+  void setUp() {
+    cart = Cart.builder()
+        .status(CartStatus.ACTIVE)
+        .currency(SupportedCurrency.ETB)
+        .country(SupportedCountry.ETHIOPIA.getCode())
+        .build();
+    cart.setId(11L);
+    red = addItem(1L, "P-1", "red", 2, "10.00");
+    blue = addItem(2L, "P-1", "blue", 1, "10.00");
+    other = addItem(3L, "P-2", null, 1, "5.00");
+
+    when(cartRepository.findActiveCartByCustomerId(CUSTOMER_ID)).thenReturn(Optional.of(cart));
+    // Runs the callback in place; an exception leaving it is what rolls the transaction back
+    when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  void mergesIntoTheItemWithTheTargetVariant() {
+    whenSaved();
+    when(productDetailService.getProductDetailsForOrder(Set.of("P-1"),
+        SupportedCountry.ETHIOPIA, SupportedCurrency.ETB)).thenReturn(Map.of());
+
+    CartResponse response = cartService.applyBatch(customer, batch(
+        new CartItemOperation(Type.UPDATE, red.getId(), null, "blue")));
+
+    // Soft-deleted, not removed, so the merged item is kept for its history
+    assertThat(red.isDeleted()).isTrue();
+    assertThat(red.getDeletedBy()).isEqualTo("customer");
+    assertThat(cart.getItems()).contains(red);
+    assertThat(blue.getQuantity()).isEqualTo(3);
+    assertThat(blue.getChangedInVersion()).isEqualTo(cart.getContentVersion());
+    // Totals leave the merged item out
+    assertThat(cart.getTotalItems()).isEqualTo(4);
+    assertThat(cart.getSubtotal()).isEqualByComparingTo("35.00");
+    assertThat(response.totalItems()).isEqualTo(4);
+    verify(cartVersionCache).record(CUSTOMER_ID, cart.getId(), cart.getContentVersion());
+  }
+
+  @Test
+  void appliesOperationsInOrderAndTotalsOnce() {
+    whenSaved();
+
+    cartService.applyBatch(customer, batch(
+        new CartItemOperation(Type.UPDATE, other.getId(), 4, null),
+        new CartItemOperation(Type.REMOVE, blue.getId(), null, null)));
+
+    assertThat(cart.getItems()).containsExactly(red, other);
+    assertThat(other.getQuantity()).isEqualTo(4);
+    assertThat(cart.getTotalItems()).isEqualTo(6);
+    assertThat(cart.getSubtotal()).isEqualByComparingTo("40.00");
+    verify(cartRepository).save(cart);
+    verifyNoInteractions(productDetailService);
+  }
+
+  @Test
+  void failsTheWholeBatchOnAnUnknownItem() {
+    assertThatThrownBy(() -> cartService.applyBatch(customer, batch(
+        new CartItemOperation(Type.UPDATE, other.getId(), 4, null),
+        new CartItemOperation(Type.REMOVE, 99L, null, null))))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessage("Cart item not found: 99");
+
+    verify(cartRepository, never()).save(any());
+    verifyNoInteractions(cartVersionCache);
+  }
+
+  @Test
+  void doesNotOperateOnAnItemMergedEarlierInTheBatch() {
+    when(productDetailService.getProductDetailsForOrder(Set.of("P-1"),
+        SupportedCountry.ETHIOPIA, SupportedCurrency.ETB)).thenReturn(Map.of());
+
+    assertThatThrownBy(() -> cartService.applyBatch(customer, batch(
+        new CartItemOperation(Type.UPDATE, red.getId(), null, "blue"),
+        new CartItemOperation(Type.UPDATE, red.getId(), 5, null))))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessage("Cart item not found: " + red.getId());
+
+    verify(cartRepository, never()).save(any());
+    verifyNoInteractions(cartVersionCache);
+  }
+
+  private CartItem addItem(Long id, String productId, String configId, int quantity,
+      String unitPrice) {
+    CartItem item = CartItem.builder()
+        .productId(productId)
+        .configId(configId)
+        .quantity(quantity)
+        .currency(SupportedCurrency.ETB)
+        .unitPrice(new BigDecimal(unitPrice))
+        .currentPrice(new BigDecimal(unitPrice))
+        .build();
+    item.setId(id);
+    cart.addItem(item);
+    return item;
+  }
+
+  private void whenSaved() {
+    when(cartRepository.save(cart)).thenReturn(cart);
+    when(cartMapper.toCartResponse(cart)).thenAnswer(invocation -> CartResponse.builder()
+        .cartId(cart.getId())
+        .version(cart.getContentVersion())
+        .totalItems(cart.getTotalItems())
+        .subtotal(cart.getSubtotal())
+        .build());
+  }
+
+  private static CartBatchRequest batch(CartItemOperation... operations) {
+    return new CartBatchRequest(List.of(operations));
+  }
+}
@@ -0,0 +1,115 @@
+package com.commercepal.apiservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactRedisSerializerTest {
+
+  private static final int COMPRESSION_THRESHOLD = 1024;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CompactRedisSerializer serializer = new CompactRedisSerializer(true,
+      COMPRESSION_THRESHOLD, 1, meterRegistry);
+
+  @Test
+  void roundTripsSmallValueUncompressed() {
+    ProductCardResponse card = card("abc-1");
+
+    byte[] bytes = serializer.serialize(card);
+
+    assertThat(Arrays.copyOf(bytes, 4)).containsExactly(0x00, 0xC5, 1, 0);
+    assertThat(serializer.deserialize(bytes)).isEqualTo(card);
+  }
+
+  @Test
+  void roundTripsLargeValueDeflated() {
+    ArrayList<ProductCardResponse> cards = cards(200);
+
+    byte[] bytes = serializer.serialize(cards);
+
+    assertThat(Arrays.copyOf(bytes, 4)).containsExactly(0x00, 0xC5, 1, 0x01);
+    assertThat(bytes.length).isLessThan(new GenericJackson2JsonRedisSerializer()
+        .serialize(cards).length / 4);
+    assertThat(serializer.deserialize(bytes)).isEqualTo(cards);
+    assertThat(meterRegistry.get("cache.redis.serializer.saved.bytes").counter().count())
+        .isGreaterThan(0.0);
+  }
+
+  @Test
+  void readsEntriesWrittenAsJson() {
+    ArrayList<ProductCardResponse> cards = cards(3);
+    byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(cards);
+
+    assertThat(serializer.deserialize(legacy)).isEqualTo(cards);
+    assertThat(readCount("json")).isEqualTo(1.0);
+  }
+
+  @Test
+  void writesJsonWhenCompactIsOff() {
+    CompactRedisSerializer jsonWriter = new CompactRedisSerializer(false, COMPRESSION_THRESHOLD,
+        1, new SimpleMeterRegistry());
+    ArrayList<ProductCardResponse> cards = cards(200);
+
+    byte[] bytes = jsonWriter.serialize(cards);
+
+    assertThat(bytes).isEqualTo(new GenericJackson2JsonRedisSerializer().serialize(cards));
+    // Rolling back to JSON leaves entries readable by compact nodes and vice versa
+    assertThat(serializer.deserialize(bytes)).isEqualTo(cards);
+    assertThat(jsonWriter.deserialize(serializer.serialize(cards))).isEqualTo(cards);
+  }
+
+  @Test
+  void readsUnknownFormatVersionAsMiss() {
+    byte[] bytes = serializer.serialize(card("abc-1"));
+    bytes[2] = 2;
+
+    assertThat(serializer.deserialize(bytes)).isNull();
+    assertThat(readCount("unknown-version")).isEqualTo(1.0);
+  }
+
+  @Test
+  void readsMissingValueAsNull() {
+    assertThat(serializer.deserialize(null)).isNull();
+    assertThat(serializer.deserialize(new byte[0])).isNull();
+  }
+
+  @Test
+  void rejectsTruncatedCompressedEntry() {
+    byte[] bytes = serializer.serialize(cards(200));
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+    assertThatThrownBy(() -> serializer.deserialize(truncated))
+        .isInstanceOf(SerializationException.class);
+  }
+
+  private double readCount(String format) {
+    return meterRegistry.get("cache.redis.serializer.reads").tag("format", format).counter()
+        .count();
+  }
+
+  private static ArrayList<ProductCardResponse> cards(int count) {
+    ArrayList<ProductCardResponse> cards = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      cards.add(card("abc-" + i));
+    }
+    return cards;
+  }
+
+  private static ProductCardResponse card(String id) {
+    return ProductCardResponse.builder()
+        .id(id)
+        .title("Wireless noise cancelling headphones " + id)
+        .provider("Aliexpress")
+        .status("ACTIVE")
+        .stockLevel(12)
+        .build();
+  }
+}
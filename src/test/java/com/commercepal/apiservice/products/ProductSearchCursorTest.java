@@ -0,0 +1,142 @@
+package com.commercepal.apiservice.products;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.commercepal.apiservice.products.ProductSearchCursor.Position;
+import com.commercepal.apiservice.products.dto.ProductPageRequestDto;
+import com.commercepal.apiservice.shared.enums.Provider;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.shared.exceptions.business.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ProductSearchCursorTest {
+
+  private static final String FINGERPRINT = "5f3a9c1e07b2d486";
+
+  @Test
+  void decodesWhatItEncodes() {
+    Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+    positions.put(Provider.AMAZON, new Position(2, 17, false));
+    positions.put(Provider.ALIEXPRESS, new Position(0, 40, true));
+    positions.put(Provider.SHEIN, new Position(11, 0, false));
+    ProductSearchCursor cursor = new ProductSearchCursor(FINGERPRINT, 7, positions);
+
+    String token = cursor.encode();
+
+    assertThat(token).matches("[A-Za-z0-9_-]+");
+    assertThat(ProductSearchCursor.decode(token, FINGERPRINT)).isEqualTo(cursor);
+  }
+
+  @Test
+  void decodesCursorWithoutProviders() {
+    ProductSearchCursor cursor = new ProductSearchCursor(FINGERPRINT, 0, Map.of());
+
+    assertThat(ProductSearchCursor.decode(cursor.encode(), FINGERPRINT)).isEqualTo(cursor);
+  }
+
+  @Test
+  void rejectsCursorOfAnotherQuery() {
+    String token = ProductSearchCursor.start(FINGERPRINT, 1, 12, 40, List.of(Provider.AMAZON))
+        .encode();
+
+    assertThatThrownBy(() -> ProductSearchCursor.decode(token, "0badf00d0badf00d"))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessage("Search cursor does not belong to this query");
+  }
+
+  @Test
+  void rejectsCursorWhoseFingerprintWasEdited() {
+    String token = ProductSearchCursor.start(FINGERPRINT, 1, 12, 40, List.of(Provider.AMAZON))
+        .encode();
+    String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    String edited = encode(raw.replace(FINGERPRINT, "0badf00d0badf00d"));
+
+    assertThatThrownBy(() -> ProductSearchCursor.decode(edited, FINGERPRINT))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessage("Search cursor does not belong to this query");
+  }
+
+  static Stream<String> malformedTokens() {
+    return Stream.of(
+        "",
+        "not a token!",
+        "%%%",
+        encode("v2;" + FINGERPRINT + ";1;AMAZON:0:12"),
+        encode("v1;" + FINGERPRINT + ";1"),
+        encode("v1;" + FINGERPRINT + ";1;AMAZON:0:12;extra"),
+        encode("v1;" + FINGERPRINT + ";one;AMAZON:0:12"),
+        encode("v1;" + FINGERPRINT + ";1;EBAY:0:12"),
+        encode("v1;" + FINGERPRINT + ";1;AMAZON:0"),
+        encode("v1;" + FINGERPRINT + ";1;AMAZON:zero:12"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("malformedTokens")
+  void rejectsMalformedCursor(String token) {
+    assertThatThrownBy(() -> ProductSearchCursor.decode(token, FINGERPRINT))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessage("Invalid search cursor");
+  }
+
+  @Test
+  void startsEveryProviderAtPageTimesShare() {
+    ProductSearchCursor cursor = ProductSearchCursor.start(FINGERPRINT, 4, 12, 40,
+        List.of(Provider.AMAZON, Provider.SHEIN));
+
+    assertThat(cursor.page()).isEqualTo(4);
+    assertThat(cursor.positions()).containsOnlyKeys(Provider.AMAZON, Provider.SHEIN);
+    // Item 48 is the ninth item of the second provider page
+    assertThat(cursor.positions().get(Provider.AMAZON)).isEqualTo(new Position(1, 8, false));
+    assertThat(cursor.positions().get(Provider.SHEIN)).isEqualTo(new Position(1, 8, false));
+    assertThat(cursor.isExhausted()).isFalse();
+  }
+
+  @Test
+  void isExhaustedOnlyWhenEveryProviderIs() {
+    Map<Provider, Position> positions = new EnumMap<>(Provider.class);
+    positions.put(Provider.AMAZON, new Position(3, 5, true));
+    positions.put(Provider.ALIBABA, new Position(1, 0, false));
+
+    assertThat(new ProductSearchCursor(FINGERPRINT, 2, positions).isExhausted()).isFalse();
+
+    positions.put(Provider.ALIBABA, new Position(1, 9, true));
+    assertThat(new ProductSearchCursor(FINGERPRINT, 2, positions).isExhausted()).isTrue();
+  }
+
+  @Test
+  void fingerprintIgnoresPageOnly() {
+    ProductPageRequestDto request = request(0, "Laptop");
+    String fingerprint = ProductSearchCursor.fingerprint(request, SupportedCountry.ETHIOPIA,
+        SupportedCurrency.ETB);
+
+    assertThat(fingerprint).matches("[0-9a-f]{16}");
+    assertThat(ProductSearchCursor.fingerprint(request(5, "Laptop"), SupportedCountry.ETHIOPIA,
+        SupportedCurrency.ETB)).isEqualTo(fingerprint);
+    assertThat(ProductSearchCursor.fingerprint(request(0, "Phone"), SupportedCountry.ETHIOPIA,
+        SupportedCurrency.ETB)).isNotEqualTo(fingerprint);
+    assertThat(ProductSearchCursor.fingerprint(request, SupportedCountry.KENYA,
+        SupportedCurrency.ETB)).isNotEqualTo(fingerprint);
+    assertThat(ProductSearchCursor.fingerprint(request, SupportedCountry.ETHIOPIA,
+        SupportedCurrency.USD)).isNotEqualTo(fingerprint);
+  }
+
+  private static ProductPageRequestDto request(int page, String query) {
+    return new ProductPageRequestDto(page, 24, query, null, null, null, null, null, null, null,
+        null, null, null);
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
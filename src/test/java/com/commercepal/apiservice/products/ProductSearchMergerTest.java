@@ -0,0 +1,121 @@
+package com.commercepal.apiservice.products;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercepal.apiservice.products.ProductSearchCursor.Position;
+import com.commercepal.apiservice.products.ProductSearchMerger.BufferedItem;
+import com.commercepal.apiservice.products.ProductSearchMerger.MergeResult;
+import com.commercepal.apiservice.products.ProductSearchMerger.ProviderBuffer;
+import com.commercepal.apiservice.products.dto.ProductCardResponse;
+import com.commercepal.apiservice.shared.enums.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchMergerTest {
+
+  private static final int BUFFER_SIZE = 4;
+
+  @Test
+  void interleavesProvidersByRankThenProviderOrder() {
+    MergeResult result = ProductSearchMerger.merge(List.of(
+        buffer(Provider.AMAZON, new Position(0, 0, false), Map.of(0, 4)),
+        buffer(Provider.SHEIN, new Position(0, 2, false), Map.of(0, 4))), 5, BUFFER_SIZE);
+
+    assertThat(ids(result)).containsExactly(
+        "AMAZON-0-0", "SHEIN-0-2", "AMAZON-0-1", "SHEIN-0-3", "AMAZON-0-2");
+  }
+
+  @Test
+  void stopsAtTheLimit() {
+    MergeResult result = ProductSearchMerger.merge(List.of(
+        buffer(Provider.AMAZON, new Position(0, 0, false), Map.of(0, 4, 1, 4))), 3, BUFFER_SIZE);
+
+    assertThat(ids(result)).containsExactly("AMAZON-0-0", "AMAZON-0-1", "AMAZON-0-2");
+    assertThat(result.positions()).containsEntry(Provider.AMAZON, new Position(0, 3, false));
+  }
+
+  @Test
+  void skipsDuplicatesButCountsThemAsConsumed() {
+    ProductCardResponse shared = item("shared");
+    ProviderBuffer amazon = new ProviderBuffer(Provider.AMAZON, new Position(0, 0, false),
+        List.of(new BufferedItem(shared, 0, 0), new BufferedItem(item("a"), 0, 1)),
+        Map.of(0, 2));
+    ProviderBuffer shein = new ProviderBuffer(Provider.SHEIN, new Position(0, 0, false),
+        List.of(new BufferedItem(shared, 0, 0), new BufferedItem(item("b"), 0, 1),
+            new BufferedItem(item("c"), 0, 2)),
+        Map.of(0, 3));
+
+    MergeResult result = ProductSearchMerger.merge(List.of(amazon, shein), 3, BUFFER_SIZE);
+
+    assertThat(ids(result)).containsExactly("shared", "a", "b");
+    // The skipped copy is behind SHEIN's position, so it is not shown on a later page either
+    assertThat(result.positions()).containsEntry(Provider.SHEIN, new Position(0, 2, false));
+  }
+
+  @Test
+  void fillsThePageFromOtherProvidersWhenOneRunsOut() {
+    MergeResult result = ProductSearchMerger.merge(List.of(
+        buffer(Provider.AMAZON, new Position(0, 0, false), Map.of(0, 1)),
+        buffer(Provider.SHEIN, new Position(0, 0, false), Map.of(0, 4, 1, 4))), 4, BUFFER_SIZE);
+
+    assertThat(ids(result)).containsExactly(
+        "AMAZON-0-0", "SHEIN-0-0", "SHEIN-0-1", "SHEIN-0-2");
+    // A short page that is used up ends the provider's results
+    assertThat(result.positions()).containsEntry(Provider.AMAZON, new Position(0, 1, true));
+    assertThat(result.positions()).containsEntry(Provider.SHEIN, new Position(0, 3, false));
+  }
+
+  @Test
+  void rollsOverToTheNextProviderPageWhenAFullPageIsUsedUp() {
+    ProviderBuffer amazon = buffer(Provider.AMAZON, new Position(0, 2, false),
+        Map.of(0, 4, 1, 4));
+
+    assertThat(ProductSearchMerger.merge(List.of(amazon), 2, BUFFER_SIZE).positions())
+        .containsEntry(Provider.AMAZON, new Position(1, 0, false));
+    assertThat(ProductSearchMerger.merge(List.of(amazon), 3, BUFFER_SIZE).positions())
+        .containsEntry(Provider.AMAZON, new Position(1, 1, false));
+  }
+
+  @Test
+  void keepsThePositionOfAProviderWithoutResults() {
+    // A failed page (length 0) and a page that was not loaded are both retried next time
+    MergeResult result = ProductSearchMerger.merge(List.of(
+        buffer(Provider.AMAZON, new Position(3, 1, false), Map.of(3, 0)),
+        buffer(Provider.ALIBABA, new Position(2, 3, false), Map.of()),
+        buffer(Provider.SHEIN, new Position(0, 0, false), Map.of(0, 4))), 2, BUFFER_SIZE);
+
+    assertThat(ids(result)).containsExactly("SHEIN-0-0", "SHEIN-0-1");
+    assertThat(result.positions())
+        .containsEntry(Provider.AMAZON, new Position(3, 1, false))
+        .containsEntry(Provider.ALIBABA, new Position(2, 3, false))
+        .containsEntry(Provider.SHEIN, new Position(0, 2, false));
+  }
+
+  /**
+   * Buffer holding every item of the given provider pages from the start position on, with ids
+   * {@code PROVIDER-page-index}.
+   */
+  private static ProviderBuffer buffer(Provider provider, Position start,
+      Map<Integer, Integer> pageLengths) {
+    List<BufferedItem> items = new ArrayList<>();
+    new TreeMap<>(pageLengths).forEach((page, length) -> {
+      for (int index = page == start.providerPage() ? start.offset() : 0; index < length;
+          index++) {
+        items.add(new BufferedItem(item(provider.name() + "-" + page + "-" + index), page,
+            index));
+      }
+    });
+    return new ProviderBuffer(provider, start, items, pageLengths);
+  }
+
+  private static ProductCardResponse item(String id) {
+    return ProductCardResponse.builder().id(id).title("Item " + id).build();
+  }
+
+  private static List<String> ids(MergeResult result) {
+    return result.items().stream().map(ProductCardResponse::id).toList();
+  }
+}
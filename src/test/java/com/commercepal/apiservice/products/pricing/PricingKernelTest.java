@@ -0,0 +1,264 @@
+package com.commercepal.apiservice.products.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercepal.apiservice.products.dto.PricingView;
+import com.commercepal.apiservice.products.dto.PricingViewProvider;
+import com.commercepal.apiservice.settings.foreign_exchange.ForeignExchangeRateSnapshot;
+import com.commercepal.apiservice.shared.enums.SupportedCountry;
+import com.commercepal.apiservice.shared.enums.SupportedCurrency;
+import com.commercepal.apiservice.utils.CurrencyFormatUtil;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * {@link PricingKernel} and {@link PriceFormatter} against the per-item pricing they replaced
+ * ({@code OTBaseProductTransformService.calculatePricing}), which is reproduced here as the
+ * reference: every field must match exactly, scale included.
+ */
+class PricingKernelTest {
+
+  private static final long FX_VERSION = 1_718_000_000_000L;
+
+  // Rates with more decimals than the prices, so that every conversion rounds
+  private static final ForeignExchangeRateSnapshot RATES = ForeignExchangeRateSnapshot.of(
+      FX_VERSION, Map.of(
+          SupportedCurrency.ETB, new BigDecimal("57.1234"),
+          SupportedCurrency.AED, new BigDecimal("3.6725"),
+          SupportedCurrency.KES, new BigDecimal("129.455"),
+          SupportedCurrency.SOS, new BigDecimal("571.05")));
+
+  // Half-cent and other rounding edges, zero and amounts needing several grouping separators
+  private static final List<String> PRICES = List.of("0", "0.01", "0.005", "0.015", "0.125",
+      "1.005", "2.675", "9.99", "19.995", "333.33", "1000", "1234.565", "99999.995",
+      "1234567.89");
+
+  private final ProductPriceService priceService = new ProductPriceService();
+  private final Locale defaultFormatLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+  @AfterEach
+  void restoreLocale() {
+    Locale.setDefault(Locale.Category.FORMAT, defaultFormatLocale);
+  }
+
+  static Stream<Arguments> pricingCases() {
+    List<Arguments> cases = new ArrayList<>();
+    for (SupportedCountry country : SupportedCountry.values()) {
+      for (SupportedCurrency currency : SupportedCurrency.values()) {
+        for (String price : PRICES) {
+          BigDecimal original = new BigDecimal(price);
+          // No promotion, a lower one, an equal one and a higher (ignored) one
+          cases.add(Arguments.of(country, currency, original, null));
+          cases.add(Arguments.of(country, currency, original,
+              original.multiply(new BigDecimal("0.63")).setScale(3, RoundingMode.DOWN)));
+          cases.add(Arguments.of(country, currency, original, original));
+          cases.add(Arguments.of(country, currency, original, original.add(BigDecimal.ONE)));
+        }
+      }
+    }
+    return cases.stream();
+  }
+
+  @ParameterizedTest
+  @MethodSource("pricingCases")
+  void pricesExactlyAsPerItemPricing(SupportedCountry country, SupportedCurrency currency,
+      BigDecimal originalUsd, BigDecimal promoUsd) {
+    Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+    PricingKernel kernel = priceService.pricingKernel(country, currency, RATES);
+
+    PricingView actual = kernel.price(originalUsd, promoUsd, "CNY");
+
+    assertThat(actual)
+        .usingRecursiveComparison()
+        .ignoringFields("fxRateVersion")
+        .withStrictTypeChecking()
+        .isEqualTo(perItemPricing(originalUsd, promoUsd, "CNY", country, currency));
+    assertThat(actual.fxRateVersion()).isEqualTo(FX_VERSION);
+  }
+
+  @Test
+  void pricesProviderPricesLikeTheirComponents() {
+    PricingKernel kernel = priceService.pricingKernel(SupportedCountry.KENYA,
+        SupportedCurrency.KES, RATES);
+    ProviderPrice providerPrice = new ProviderPrice(new BigDecimal("12.34"),
+        new BigDecimal("9.87"), "USD");
+
+    assertThat(kernel.price(providerPrice)).isEqualTo(
+        kernel.price(new BigDecimal("12.34"), new BigDecimal("9.87"), "USD"));
+  }
+
+  @Test
+  void convertsAndMarksUpLikePerItemPricing() {
+    for (SupportedCountry country : SupportedCountry.values()) {
+      PricingKernel kernel = priceService.pricingKernel(country, SupportedCurrency.ETB, RATES);
+      for (String price : PRICES) {
+        BigDecimal usd = new BigDecimal(price);
+        assertThat(kernel.convertAndMarkup(usd))
+            .isEqualTo(perItemConvertAndMarkup(usd, RATES.usdToTarget(SupportedCurrency.ETB),
+                country));
+      }
+    }
+  }
+
+  @Test
+  void reusesKernelUntilRatesChange() {
+    PricingKernel first = priceService.pricingKernel(SupportedCountry.ETHIOPIA,
+        SupportedCurrency.ETB, RATES);
+
+    assertThat(priceService.pricingKernel(SupportedCountry.ETHIOPIA, SupportedCurrency.ETB,
+        RATES)).isSameAs(first);
+
+    ForeignExchangeRateSnapshot changed = ForeignExchangeRateSnapshot.of(FX_VERSION + 1,
+        Map.of(SupportedCurrency.ETB, new BigDecimal("58.00")));
+    PricingKernel second = priceService.pricingKernel(SupportedCountry.ETHIOPIA,
+        SupportedCurrency.ETB, changed);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.fxRateVersion()).isEqualTo(FX_VERSION + 1);
+  }
+
+  @Test
+  void nullCountryIsPricedAsInternational() {
+    BigDecimal price = new BigDecimal("19.995");
+
+    assertThat(priceService.pricingKernel(null, SupportedCurrency.USD, RATES)
+        .price(price, null, "USD"))
+        .isEqualTo(priceService.pricingKernel(SupportedCountry.INTERNATIONAL,
+            SupportedCurrency.USD, RATES).price(price, null, "USD"));
+  }
+
+  static Stream<Arguments> formattingCases() {
+    List<Arguments> cases = new ArrayList<>();
+    List<Locale> locales = List.of(Locale.US, Locale.GERMANY, Locale.FRANCE,
+        Locale.forLanguageTag("de-CH"), Locale.forLanguageTag("en-IN"),
+        Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("th-TH-u-nu-thai"));
+    List<String> amounts = new ArrayList<>(PRICES);
+    amounts.addAll(List.of("-0.005", "-1234.5", "0.994", "0.995", "999.999",
+        "9999999999999999.99", "123456789012345678901.5"));
+    for (Locale locale : locales) {
+      for (String amount : amounts) {
+        cases.add(Arguments.of(locale, new BigDecimal(amount)));
+      }
+    }
+    return cases.stream();
+  }
+
+  @ParameterizedTest
+  @MethodSource("formattingCases")
+  void formatsExactlyAsCurrencyFormatUtil(Locale locale, BigDecimal amount) {
+    Locale.setDefault(Locale.Category.FORMAT, locale);
+    PriceFormatter formatter = PriceFormatter.forDefaultLocale();
+
+    assertThat(formatter.format("ETB ", amount, "ETB"))
+        .isEqualTo(CurrencyFormatUtil.format(amount, "ETB"));
+  }
+
+  @Test
+  void followsDefaultLocaleChangedAfterCreation() {
+    Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+    PriceFormatter formatter = PriceFormatter.forDefaultLocale();
+
+    Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+
+    BigDecimal amount = new BigDecimal("1234.5");
+    assertThat(formatter.format("USD ", amount, "USD"))
+        .isEqualTo(CurrencyFormatUtil.format(amount, "USD"));
+    assertThat(formatter.formatDiscountPercentage(17)).isEqualTo(String.format("-%d%%", 17));
+  }
+
+  @Test
+  void formatsDiscountPercentageAsStringFormat() {
+    Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+    PriceFormatter formatter = PriceFormatter.forDefaultLocale();
+
+    for (int percent : new int[]{0, 1, 17, 99, 100}) {
+      assertThat(formatter.formatDiscountPercentage(percent))
+          .isEqualTo(String.format("-%d%%", percent));
+    }
+  }
+
+  // The per-item pricing the kernel replaced, minus the JSON parsing and FX lookup around it
+  private PricingView perItemPricing(BigDecimal rawOriginalUsd, BigDecimal rawPromoUsd,
+      String originalCurrencyCode, SupportedCountry userCountry,
+      SupportedCurrency targetCurrency) {
+    BigDecimal exchangeRate = RATES.usdToTarget(targetCurrency);
+
+    BigDecimal finalOriginalPrice = perItemConvertAndMarkup(rawOriginalUsd, exchangeRate,
+        userCountry);
+
+    BigDecimal effectiveUsdToConvert =
+        (rawPromoUsd != null && rawPromoUsd.compareTo(rawOriginalUsd) < 0)
+            ? rawPromoUsd
+            : rawOriginalUsd;
+
+    BigDecimal finalCurrentPrice = perItemConvertAndMarkup(effectiveUsdToConvert, exchangeRate,
+        userCountry);
+
+    boolean hasDiscount = finalOriginalPrice.compareTo(finalCurrentPrice) > 0;
+
+    BigDecimal discountAmount = BigDecimal.ZERO;
+    int discountPercent = 0;
+    String formattedDiscountAmount = null;
+    String formattedDiscountPercentage = null;
+
+    String currencyCode = targetCurrency.getCode();
+
+    if (hasDiscount) {
+      discountAmount = finalOriginalPrice.subtract(finalCurrentPrice);
+      String formattedAmount = CurrencyFormatUtil.format(discountAmount, currencyCode);
+      formattedDiscountAmount = "Save " + formattedAmount;
+
+      discountPercent = finalOriginalPrice.subtract(finalCurrentPrice)
+          .divide(finalOriginalPrice, 2, RoundingMode.HALF_UP)
+          .multiply(BigDecimal.valueOf(100))
+          .intValue();
+
+      formattedDiscountPercentage = String.format("-%d%%", discountPercent);
+    }
+
+    BigDecimal unitMarkup = priceService.calculateBaseMarkup(effectiveUsdToConvert, userCountry);
+
+    PricingViewProvider pricingViewProvider = PricingViewProvider.builder()
+        .providerCurrency(originalCurrencyCode)
+        .providerUnitPrice(effectiveUsdToConvert)
+        .unitMarkup(unitMarkup)
+        .build();
+
+    return PricingView.builder()
+        .currency(targetCurrency)
+        .currentPrice(finalCurrentPrice)
+        .originalPrice(hasDiscount ? finalOriginalPrice : null)
+        .discountAmount(discountAmount)
+        .isOnDiscount(hasDiscount)
+        .discountPercentage(discountPercent)
+        .formattedDiscountPercentage(formattedDiscountPercentage)
+        .formattedCurrentPrice(CurrencyFormatUtil.format(finalCurrentPrice, currencyCode))
+        .formattedOriginalPrice(
+            hasDiscount ? CurrencyFormatUtil.format(finalOriginalPrice, currencyCode) : null)
+        .formattedDiscountAmount(formattedDiscountAmount)
+        .pricingViewProvider(pricingViewProvider)
+        .build();
+  }
+
+  private BigDecimal perItemConvertAndMarkup(BigDecimal usdAmount, BigDecimal exchangeRate,
+      SupportedCountry country) {
+    BigDecimal convertedAmount = usdAmount.multiply(exchangeRate)
+        .setScale(2, RoundingMode.HALF_UP);
+
+    BigDecimal markup = priceService.calculateBaseMarkup(usdAmount, country);
+    BigDecimal markupInLocalCurrency = markup.multiply(exchangeRate)
+        .setScale(2, RoundingMode.HALF_UP);
+
+    return convertedAmount.add(markupInLocalCurrency)
+        .setScale(2, RoundingMode.HALF_UP);
+  }
+}